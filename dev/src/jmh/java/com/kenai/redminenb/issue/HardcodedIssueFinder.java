@@ -0,0 +1,394 @@
+/*
+ * Copyright 2026 RedmineNB contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kenai.redminenb.issue;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The issue reference scanner with hardcoded keywords ("bug", "issue",
+ * "duplicate of"), as it was before the keywords were compiled into
+ * {@link IssueReferenceKeywords}. It is kept unchanged as baseline for
+ * {@link IssueFinderBenchmark}.
+ */
+final class HardcodedIssueFinder {
+
+   private static final int[] EMPTY_INT_ARR = new int[0];
+
+   private final Impl impl = new Impl();
+
+   int[] getIssueSpans(CharSequence text) {
+      int[] result = impl.findBoundaries(text);
+      return (result != null) ? result : EMPTY_INT_ARR;
+   }
+
+   //--------------------------------------------------------------------------
+   @SuppressFBWarnings(value="DM_CONVERT_CASE", justification = "Relevent case are only invoked with enabled asserts and words are expected to be only english")
+   private static final class Impl {
+
+      /*
+       * This implementation is quite simple because of two preconditions:
+       *
+       * #1 - all defined bug-words ("bug", "issue") and all words of the bug
+       * number prefix ("duplicate of") consist of lowercase characters from the
+       * basic latin alphabet (a-z), no spaces #2 - all words that make a
+       * defined bug number prefix ("duplicate of") are unique
+       *
+       * This implementation relies on these preconditions and will may not work
+       * correctly if one or more of the preconditions are not met.
+       *
+       *
+       * Note that although all the bug words and the bug number prefix must be
+       * defined as lowercase, the implementation ignores case of characters
+       * that are passed to input of the finder, as long as these are from the
+       * basic latin alphabet. All letters that do not belong to the basic latin
+       * alphabet are considered as garbage, no matter what is their case.
+       */
+      private static final String[] BUGWORDS = new String[]{"bug", "issue"}; //NOI18N
+      private static final String BUG_NUMBER_PREFIX = "duplicate of"; //NOI18N
+      private static final String[] BUGNUM_PREFIX_PARTS;
+      private static final String PUNCT_CHARS = ".,:;()[]{}";         //NOI18N
+      private static final int LOWER_A = 'a';     //automatic conversion to int
+      private static final int LOWER_Z = 'z';     //automatic conversion to int
+      private static final int INIT = 0;
+      private static final int CHARS = 1;
+      private static final int HASH = 2;
+      private static final int HASH_SPC = 3;
+      private static final int NUM = 4;
+      private static final int BUGWORD = 5;
+      private static final int BUGWORD_NL = 6;
+      private static final int STAR = 7;
+      private static final int GARBAGE = 8;
+      /**
+       * Initial size of the span buffer (two spans)
+       */
+      private static final int INITIAL_BUFFER_SIZE = 4;
+      /**
+       * Span buffers larger than this are not kept after a scan
+       */
+      private static final int MAX_RETAINED_BUFFER_SIZE = 1024;
+      private CharSequence str;
+      private int pos;
+      private int state;
+
+      static {
+         BUGNUM_PREFIX_PARTS = BUG_NUMBER_PREFIX.split(" ");         //NOI18N
+
+         boolean asserts = false;
+         assert asserts = true;
+         if (asserts) {
+            /*
+             * Checks that precondition #1 is met - all bugwords the bug number
+             * prefix are lowercase:
+             */
+            for (int i = 0; i < BUGWORDS.length; i++) {
+               assert BUGWORDS[i].equals(
+                       BUGWORDS[i].toLowerCase());
+            }
+            for (int i = 0; i < BUGNUM_PREFIX_PARTS.length; i++) {
+               assert BUGNUM_PREFIX_PARTS[i].equals(
+                       BUGNUM_PREFIX_PARTS[i].toLowerCase());
+            }
+
+            /*
+             * Checks that precondition #2 is met - all elements of
+             * BUGNUM_PREFIX_PARTS are unique:
+             */
+            Set<String> bugnumPrefixPartsSet = new HashSet<>(7);
+            bugnumPrefixPartsSet.addAll(Arrays.asList(BUGNUM_PREFIX_PARTS));
+            assert bugnumPrefixPartsSet.size() == BUGNUM_PREFIX_PARTS.length;
+         }
+      }
+      /**
+       * how many parts of the bugnum prefix ({@code "duplicate of"}) have been
+       * already parsed
+       */
+      private int bugnumPrefixPartsProcessed;
+      int startOfWord;
+      int start;
+      /**
+       * span buffer, holds pairs of start and end positions, the buffer
+       * survives the scan and is reused by the next scan
+       */
+      int[] spans = new int[INITIAL_BUFFER_SIZE];
+      int spanCount;
+
+      private Impl() {
+      }
+
+      private int[] findBoundaries(CharSequence str) {
+         reset();
+
+         this.str = str;
+
+         for (pos = 0; pos < str.length(); pos++) {
+            handleChar(str.charAt(pos));
+         }
+         if (state == NUM) {
+            storeResult(start, pos);
+         }
+         int[] result = (spanCount == 0) ? null : Arrays.copyOf(spans, spanCount);
+         this.str = null;
+         if (spans.length > MAX_RETAINED_BUFFER_SIZE) {
+            spans = new int[INITIAL_BUFFER_SIZE];
+         }
+         return result;
+      }
+
+      private void reset() {
+         str = null;
+         pos = 0;
+         state = INIT;
+
+         bugnumPrefixPartsProcessed = 0;
+
+         startOfWord = -1;
+         start = -1;
+
+         spanCount = 0;
+      }
+
+      private void handleChar(int c) {
+         int newState;
+         boolean keepCountingBugwords = false;
+         switch (state) {
+            case INIT:
+               if (c == '#') {
+                  rememberIsStart();
+                  newState = HASH;
+               } else if (isLetter(c)) {
+                  rememberIsStart();
+                  newState = CHARS;
+               } else {
+                  newState = getInitialState(c);
+               }
+               break;
+            case CHARS:
+               if (isLetter(c)) {
+                  newState = CHARS;
+                  keepCountingBugwords = true;
+               } else if ((c == ' ') || (c == '\t') || (c == '\r') || (c == '\n')) {
+                  if ((bugnumPrefixPartsProcessed == 0) && isBugword()
+                          || tryHandleBugnumPrefixPart()) {
+                     newState = ((c == ' ') || (c == '\t')) ? BUGWORD
+                             : BUGWORD_NL;
+                     keepCountingBugwords = true;
+                  } else {
+                     newState = getInitialState(c);
+                  }
+               } else {
+                  newState = getInitialState(c);
+               }
+               break;
+            case HASH:
+            case HASH_SPC:
+               if ((c == ' ') || (c == '\t')) {
+                  newState = HASH_SPC;
+               } else if (isDigit(c)) {
+                  newState = NUM;
+               } else {
+                  newState = getInitialState(c);
+               }
+               break;
+            case NUM:
+               if (isDigit(c)) {
+                  newState = NUM;
+               } else {
+                  newState = getInitialState(c);
+               }
+               break;
+            case BUGWORD:
+            case BUGWORD_NL:
+               if ((state == BUGWORD_NL) && (c == '*')) {
+                  keepCountingBugwords = true;
+                  newState = STAR;
+               } else if ((c == ' ') || (c == '\t')) {
+                  keepCountingBugwords = true;
+                  newState = state;
+               } else if ((c == '\r') || (c == '\n')) {
+                  keepCountingBugwords = true;
+                  newState = BUGWORD_NL;
+               } else if (c == '#') {
+                  newState = HASH;
+                  if (isBugnumPrefix()) {
+                     start = pos;        //exclude "duplicate of"
+                  }
+               } else if (isDigit(c)) {
+                  if (isPartialBugnumPrefix()) {
+                     newState = getInitialState(c);
+                  } else {
+                     newState = NUM;
+                     if (isFullBugnumPrefix()) {
+                        start = pos;    //exclude "duplicate of"
+                     }
+                  }
+               } else if (isLetter(c)) {
+                  newState = CHARS;
+                  if (isPartialBugnumPrefix()) {
+                     keepCountingBugwords = true;
+                     startOfWord = pos;
+                  } else {
+                     /*
+                      * relies on precondition #2 (see top of the class)
+                      */
+                     rememberIsStart();
+                  }
+               } else {
+                  newState = getInitialState(c);
+               }
+
+               break;
+            case STAR:
+               if ((c == ' ') || (c == '\t')) {
+                  keepCountingBugwords = true;
+                  newState = BUGWORD;
+               } else if ((c == '\r') || (c == '\n')) {
+                  keepCountingBugwords = true;
+                  newState = BUGWORD_NL;
+               } else {
+                  newState = getInitialState(c);
+               }
+               break;
+            case GARBAGE:
+               newState = getInitialState(c);
+               break;
+            default:
+               assert false;
+               newState = getInitialState(c);
+               break;
+         }
+         if ((state == NUM) && (newState != NUM)) {
+            if (isSpaceOrPunct(c)) {
+               storeResult(start, pos);
+            }
+         }
+         if ((newState == INIT) || (newState == GARBAGE)) {
+            start = -1;
+         }
+         if (!keepCountingBugwords) {
+            bugnumPrefixPartsProcessed = 0;
+         }
+         state = newState;
+      }
+
+      private int getInitialState(int c) {
+         return isSpaceOrPunct(c) ? INIT : GARBAGE;
+      }
+
+      private void rememberIsStart() {
+         start = pos;
+         startOfWord = pos;
+      }
+
+      private void storeResult(int start, int end) {
+         assert (start != -1);
+         if (spanCount + 2 > spans.length) {
+            spans = Arrays.copyOf(spans, spans.length * 2);
+         }
+         spans[spanCount++] = start;
+         spans[spanCount++] = end;
+      }
+
+      private static boolean isLetter(int c) {
+         /*
+          * relies on precondition #1 (see the top of the class)
+          */
+         c |= 0x20;
+         return ((c >= LOWER_A) && (c <= LOWER_Z));
+      }
+
+      private static boolean isDigit(int c) {
+         return ((c >= '0') && (c <= '9'));
+      }
+
+      private static boolean isSpaceOrPunct(int c) {
+         return (c == '\r') || (c == '\n')
+                 || Character.isSpaceChar(c) || isPunct(c);
+      }
+
+      private static boolean isPunct(int c) {
+         return PUNCT_CHARS.indexOf(c) != -1;
+      }
+
+      private boolean isBugword() {
+         /*
+          * relies on precondition #1 (see the top of the class)
+          */
+         for (int i = 0; i < BUGWORDS.length; i++) {
+            if (equalsIgnoreCase(BUGWORDS[i], str, start, pos)) {
+               return true;
+            }
+         }
+         return false;
+      }
+
+      private boolean tryHandleBugnumPrefixPart() {
+         if ((bugnumPrefixPartsProcessed < BUGNUM_PREFIX_PARTS.length)
+                 && equalsIgnoreCase(BUGNUM_PREFIX_PARTS[bugnumPrefixPartsProcessed], str, startOfWord, pos)) {
+            bugnumPrefixPartsProcessed++;
+            return true;
+         } else if ((bugnumPrefixPartsProcessed != 0)
+                 && equalsIgnoreCase(BUGNUM_PREFIX_PARTS[0], str, startOfWord, pos)) {
+            /*
+             * handles strings such as "duplicate duplicate of"
+             */
+            bugnumPrefixPartsProcessed = 1;
+            start = startOfWord;
+            return true;
+         } else {
+            return false;
+         }
+      }
+
+      private boolean isBugnumPrefix() {
+         return (bugnumPrefixPartsProcessed != 0);
+      }
+
+      private boolean isPartialBugnumPrefix() {
+         return (bugnumPrefixPartsProcessed > 0)
+                 && (bugnumPrefixPartsProcessed < BUGNUM_PREFIX_PARTS.length);
+      }
+
+      private boolean isFullBugnumPrefix() {
+         return bugnumPrefixPartsProcessed == BUGNUM_PREFIX_PARTS.length;
+      }
+   }
+
+   /**
+    * Compares the region {@code [start, end)} of {@code str} with the
+    * pattern without copying the region.
+    */
+   private static boolean equalsIgnoreCase(CharSequence pattern, CharSequence str, int start, int end) {
+      final int patternLength = pattern.length();
+
+      if (end - start != patternLength) {
+         return false;
+      }
+
+      /*
+       * relies on precondition #1 (see the top of the class)
+       */
+      for (int i = 0; i < patternLength; i++) {
+         if ((str.charAt(start + i) | 0x20) != pattern.charAt(i)) {
+            return false;
+         }
+      }
+
+      return true;
+   }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 RedmineNB contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kenai.redminenb.issue;
+
+import com.kenai.redminenb.RedmineConfig;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Hyperlinking of issue references, run for every line shown in the output
+ * window and the versioning history, up to multi-megabyte VCS logs.
+ *
+ * <p>The configurable finder is measured with the three default keywords
+ * and with 16 keywords. {@link HardcodedIssueFinder}, the implementation
+ * with the hardcoded default keywords it replaced, is measured as baseline
+ * (its results do not depend on the keyword count). Run for example
+ * {@code mvn -Pbenchmarks verify -Djmh.include=IssueFinder}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class IssueFinderBenchmark {
+
+    private static final String[] ADDITIONAL_KEYWORDS = {
+        "refs", "references", "fixes", "fixed", "fix", "closes", "closed", // NOI18N
+        "close", "resolves", "resolved", "task", "see", "related to" // NOI18N
+    };
+
+    /**
+     * Length of the scanned text, 8388608 is an 8 MB log.
+     */
+    @Param({"80", "4096", "8388608"})
+    public int length;
+
+    /**
+     * Number of configured keywords, 3 are the defaults.
+     */
+    @Param({"3", "16"})
+    public int keywordCount;
+
+    private final RedmineIssueFinder finder = new RedmineIssueFinder();
+    private final HardcodedIssueFinder hardcodedFinder = new HardcodedIssueFinder();
+    private IssueReferenceKeywords keywords;
+    private String plain;
+    private String references;
+
+    @Setup
+    public void setup() {
+        StringBuilder definition = new StringBuilder(RedmineConfig.DEFAULT_ISSUE_REFERENCE_KEYWORDS);
+        for (int i = 0; i < keywordCount - 3; i++) {
+            definition.append(", ").append(ADDITIONAL_KEYWORDS[i]); // NOI18N
+        }
+        keywords = IssueReferenceKeywords.compile(definition.toString());
+
+        StringBuilder noRefs = new StringBuilder(length + 64);
+        StringBuilder refs = new StringBuilder(length + 64);
+        int i = 0;
+        while (noRefs.length() < length || refs.length() < length) {
+            noRefs.append("Merge branch 'master' into feature ").append(i).append(' '); // NOI18N
+            refs.append("Fixes issue #").append(1000 + i).append(", see bug ").append(2000 + i) // NOI18N
+                    .append(", refs #").append(3000 + i).append(". "); // NOI18N
+            i++;
+        }
+        plain = noRefs.substring(0, length);
+        references = refs.substring(0, length);
+    }
+
+    @Benchmark
+    public int[] noReferences() {
+        return finder.getIssueSpans(plain, keywords);
+    }
+
+    @Benchmark
+    public int[] withReferences() {
+        return finder.getIssueSpans(references, keywords);
+    }
+
+    @Benchmark
+    public int[] hardcodedNoReferences() {
+        return hardcodedFinder.getIssueSpans(plain);
+    }
+
+    @Benchmark
+    public int[] hardcodedWithReferences() {
+        return hardcodedFinder.getIssueSpans(references);
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 RedmineNB contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kenai.redminenb.issue;
+
+import com.kenai.redminenb.RedmineConnector;
+import com.kenai.redminenb.api.AuthMode;
+import com.kenai.redminenb.repository.FakeRedmineServer;
+import com.kenai.redminenb.repository.RedmineRepository;
+import com.taskadapter.redmineapi.Include;
+import com.taskadapter.redmineapi.RedmineException;
+import com.taskadapter.redmineapi.bean.Journal;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.netbeans.modules.bugtracking.spi.RepositoryInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Rendering of the journal of an issue with hundreds of entries, as done
+ * when the issue is opened.
+ *
+ * <p>The issue is loaded from a {@link FakeRedmineServer}, the metadata used
+ * to format the journal details is loaded during setup, so only the
+ * formatting is measured. The notes are rendered once during setup too and
+ * are then served by the markup cache of the repository - the textile
+ * conversion itself is measured by {@code TextileBenchmark}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JournalDisplayBenchmark {
+
+    @Param({"100", "500"})
+    public int journals;
+
+    private File configDir;
+    private FakeRedmineServer server;
+    private RedmineRepository repository;
+    private RedmineIssue issue;
+    private List<Journal> journalList;
+
+    @Setup
+    public void setup() throws IOException, RedmineException {
+        System.setProperty("java.awt.headless", "true"); // NOI18N
+        configDir = Files.createTempDirectory("redminenb-jmh").toFile(); // NOI18N
+        System.setProperty("netbeans.t9y.redmine.nb.config.path", configDir.getAbsolutePath()); // NOI18N
+
+        server = new FakeRedmineServer();
+        server.setIssueCount(10);
+        server.setProjectCount(2);
+        server.setJournalsPerIssue(journals);
+        server.start();
+
+        repository = new RedmineRepository(new RepositoryInfo(
+                "benchmark" + System.nanoTime(), RedmineConnector.ID, // NOI18N
+                server.getUrl(), "Benchmark", "Benchmark", // NOI18N
+                null, null, null, null));
+        repository.setAuthMode(AuthMode.AccessKey);
+        repository.setAccessKey(FakeRedmineServer.API_KEY);
+
+        issue = new RedmineIssue(repository, repository.getIssueManager()
+                .getIssueById(1, Include.journals));
+        journalList = new ArrayList<>(issue.getIssue().getJournals());
+        // Load metadata and fill the markup cache
+        JournalDisplay.buildJournalData(issue, journalList, 0, journalList.size());
+    }
+
+    @TearDown
+    public void tearDown() {
+        repository.remove();
+        server.stop();
+        deleteRecursively(configDir);
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        if (!file.delete()) {
+            file.deleteOnExit();
+        }
+    }
+
+    @Benchmark
+    public List<JournalDisplay.JournalData> buildJournalData() {
+        return JournalDisplay.buildJournalData(issue, journalList, 0, journalList.size());
+    }
+}
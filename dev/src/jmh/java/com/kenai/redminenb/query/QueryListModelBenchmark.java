@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 RedmineNB contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kenai.redminenb.query;
+
+import com.kenai.redminenb.RedmineConnector;
+import com.kenai.redminenb.issue.RedmineIssue;
+import com.kenai.redminenb.repository.RedmineRepository;
+import com.taskadapter.redmineapi.bean.Issue;
+import com.taskadapter.redmineapi.bean.IssueCategoryFactory;
+import com.taskadapter.redmineapi.bean.IssueFactory;
+import com.taskadapter.redmineapi.bean.TrackerFactory;
+import com.taskadapter.redmineapi.bean.VersionFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javax.swing.RowSorter;
+import javax.swing.SortOrder;
+import javax.swing.table.TableRowSorter;
+import org.netbeans.modules.bugtracking.spi.RepositoryInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cell access of the issue table model while the table is sorted - the row
+ * sorter reads every cell of the sort column on each sort.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class QueryListModelBenchmark {
+
+    private static final String[] STATUSES = {"New", "In Progress", "Resolved", "Closed"}; // NOI18N
+
+    @Param({"1000", "10000"})
+    public int issues;
+
+    /**
+     * Sort column: id, summary, assignee (new User per cell) and project
+     * (new Project per cell).
+     */
+    @Param({"0", "1", "5", "8"})
+    public int column;
+
+    private RedmineRepository repository;
+    private QueryListModel model;
+    private TableRowSorter<QueryListModel> sorter;
+    private boolean ascending;
+
+    @Setup
+    public void setup() {
+        System.setProperty("java.awt.headless", "true"); // NOI18N
+        repository = new RedmineRepository(new RepositoryInfo(
+                "benchmark" + System.nanoTime(), RedmineConnector.ID, // NOI18N
+                "http://localhost/redmine", "Benchmark", "Benchmark", // NOI18N
+                null, null, null, null));
+        Random random = new Random(4711);
+        List<RedmineIssue> issueList = new ArrayList<>(issues);
+        for (int i = 1; i <= issues; i++) {
+            Issue issue = IssueFactory.create(i);
+            issue.setSubject("Issue " + Integer.toString(random.nextInt(issues * 10), 36)); // NOI18N
+            issue.setTracker(TrackerFactory.create(1 + i % 3, "Tracker " + (i % 3))); // NOI18N
+            issue.setStatusName(STATUSES[i % STATUSES.length]);
+            if (i % 5 != 0) {
+                int assignee = random.nextInt(100);
+                issue.setAssigneeId(assignee);
+                issue.setAssigneeName("User " + assignee); // NOI18N
+            }
+            issue.setCategory(IssueCategoryFactory.create(i % 7));
+            issue.setTargetVersion(VersionFactory.create(i % 11));
+            int project = random.nextInt(40);
+            issue.setProjectId(project);
+            issue.setProjectName("Project " + project); // NOI18N
+            issueList.add(new RedmineIssue(repository, issue));
+        }
+        Collections.shuffle(issueList, random);
+        model = new QueryListModel();
+        model.setIssues(issueList);
+        // Same sorter as the issue table (JTable#setAutoCreateRowSorter)
+        sorter = new TableRowSorter<>(model);
+    }
+
+    @TearDown
+    public void tearDown() {
+        repository.remove();
+    }
+
+    @Benchmark
+    public int sort() {
+        ascending = !ascending;
+        sorter.setSortKeys(Collections.singletonList(new RowSorter.SortKey(
+                column, ascending ? SortOrder.ASCENDING : SortOrder.DESCENDING)));
+        return sorter.convertRowIndexToModel(0);
+    }
+
+    @Benchmark
+    public int scanColumn() {
+        int hash = 0;
+        for (int row = 0; row < model.getRowCount(); row++) {
+            Object value = model.getValueAt(row, column);
+            if (value != null) {
+                hash += value.hashCode();
+            }
+        }
+        return hash;
+    }
+}
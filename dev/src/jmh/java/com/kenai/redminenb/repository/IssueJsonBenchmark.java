@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 RedmineNB contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kenai.redminenb.repository;
+
+import com.taskadapter.redmineapi.bean.Issue;
+import java.util.concurrent.TimeUnit;
+import org.json.JSONException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Serialization of issues to and from the persistent issue store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class IssueJsonBenchmark {
+
+    @Param({"0", "20"})
+    public int journals;
+
+    private Issue issue;
+    private String json;
+
+    @Setup
+    public void setup() throws JSONException {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"id\":4711,\"subject\":\"Query refresh hangs\",") // NOI18N
+                .append("\"description\":\"Refreshing a saved query blocks the issue table.\",") // NOI18N
+                .append("\"project\":{\"id\":3,\"name\":\"RedmineNB\"},") // NOI18N
+                .append("\"tracker\":{\"id\":1,\"name\":\"Bug\"},") // NOI18N
+                .append("\"status\":{\"id\":2,\"name\":\"In Progress\"},") // NOI18N
+                .append("\"priority\":{\"id\":4,\"name\":\"Normal\"},") // NOI18N
+                .append("\"author\":{\"id\":1,\"name\":\"Jane Doe\"},") // NOI18N
+                .append("\"assigned_to\":{\"id\":2,\"name\":\"John Doe\"},") // NOI18N
+                .append("\"done_ratio\":30,") // NOI18N
+                .append("\"created_on\":\"2016-01-04T10:15:00Z\",") // NOI18N
+                .append("\"updated_on\":\"2016-02-01T08:00:00Z\",") // NOI18N
+                .append("\"journals\":["); // NOI18N
+        for (int i = 0; i < journals; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"id\":").append(100 + i) // NOI18N
+                    .append(",\"user\":{\"id\":2,\"name\":\"John Doe\"}") // NOI18N
+                    .append(",\"notes\":\"Still reproducible with build ").append(i).append(".\"") // NOI18N
+                    .append(",\"created_on\":\"2016-01-05T10:15:00Z\"") // NOI18N
+                    .append(",\"details\":[{\"property\":\"attr\",\"name\":\"status_id\",\"old_value\":\"1\",\"new_value\":\"2\"}]}"); // NOI18N
+        }
+        sb.append("]}"); // NOI18N
+        issue = IssueJson.fromJson(sb.toString());
+        json = IssueJson.toJson(issue);
+    }
+
+    @Benchmark
+    public String write() throws JSONException {
+        return IssueJson.toJson(issue);
+    }
+
+    @Benchmark
+    public Issue read() throws JSONException {
+        return IssueJson.fromJson(json);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 RedmineNB contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kenai.redminenb.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Id lookups in metadata lists (users, versions, categories), indexed
+ * against the linear scan they replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class IdIndexBenchmark {
+
+    private static final class Item {
+
+        final Integer id;
+
+        Item(Integer id) {
+            this.id = id;
+        }
+    }
+
+    @Param({"10", "1000"})
+    public int size;
+
+    private List<Item> items;
+    private IdIndex<Item> index;
+    private int next;
+
+    @Setup
+    public void setup() {
+        items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(new Item(i * 7));
+        }
+        index = new IdIndex<>(new IdIndex.IdFunction<Item>() {
+            @Override
+            public Integer getId(Item item) {
+                return item.id;
+            }
+        });
+        index.get(items, 0);
+    }
+
+    private int nextId() {
+        next = (next + 1) % size;
+        return next * 7;
+    }
+
+    @Benchmark
+    public Item indexed() {
+        return index.get(items, nextId());
+    }
+
+    @Benchmark
+    public Item linear() {
+        int id = nextId();
+        for (Item item : items) {
+            if (item.id != null && item.id == id) {
+                return item;
+            }
+        }
+        return null;
+    }
+}
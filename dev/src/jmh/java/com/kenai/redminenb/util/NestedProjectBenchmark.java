@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 RedmineNB contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kenai.redminenb.util;
+
+import com.kenai.redminenb.repository.RedmineRepository;
+import com.taskadapter.redmineapi.bean.Project;
+import com.taskadapter.redmineapi.bean.ProjectFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sorting and labelling of the project tree, as done when the project list
+ * of the query editor is filled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class NestedProjectBenchmark {
+
+    @Param({"100", "2000"})
+    public int projects;
+
+    @Param({"1", "4"})
+    public int depth;
+
+    private List<NestedProject> unsorted;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(4711);
+        List<Project> projectList = new ArrayList<>(projects);
+        for (int i = 1; i <= projects; i++) {
+            Project p = ProjectFactory.create(i);
+            p.setName("Project " + Integer.toString(random.nextInt(projects * 10), 36)); // NOI18N
+            // Each level holds the children of the previous one
+            int level = (i - 1) * depth / projects;
+            if (level > 0) {
+                int levelStart = (level - 1) * projects / depth + 1;
+                p.setParentId(levelStart + random.nextInt(Math.max(1, projects / depth)));
+            }
+            projectList.add(p);
+        }
+        unsorted = new ArrayList<>(RedmineRepository.convertProjectList(projectList).values());
+        Collections.shuffle(unsorted, random);
+    }
+
+    @Benchmark
+    public List<NestedProject> sort() {
+        List<NestedProject> sorted = new ArrayList<>(unsorted);
+        Collections.sort(sorted);
+        return sorted;
+    }
+
+    @Benchmark
+    public List<String> sortAndLabel() {
+        List<NestedProject> sorted = sort();
+        List<String> labels = new ArrayList<>(sorted.size());
+        for (NestedProject np : sorted) {
+            labels.add(np.toString());
+        }
+        return labels;
+    }
+}
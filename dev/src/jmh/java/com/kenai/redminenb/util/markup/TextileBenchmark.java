@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 RedmineNB contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kenai.redminenb.util.markup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Textile rendering of descriptions and journal notes, uncached, batched
+ * and through a warm {@link TextileCache}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TextileBenchmark {
+
+    private static final String NOTE
+            = "h3. Steps\n\n" // NOI18N
+            + "# Open the *issue* view\n" // NOI18N
+            + "# Click _Refresh_ while the query is running\n\n" // NOI18N
+            + "Stack trace: @java.lang.IllegalStateException@ in \"RedmineQuery\":http://example.org/redmine\n\n" // NOI18N
+            + "|_. Version |_. Result |\n| 1.12 | broken |\n| 1.11 | works |\n\n" // NOI18N
+            + "<pre>\nat com.kenai.redminenb.query.RedmineQuery.refresh(RedmineQuery.java:120)\n</pre>\n"; // NOI18N
+
+    @Param({"1", "50"})
+    public int notes;
+
+    private List<String> textiles;
+    private TextileCache cache;
+
+    @Setup
+    public void setup() {
+        textiles = new ArrayList<>(notes);
+        for (int i = 0; i < notes; i++) {
+            textiles.add(NOTE + "\nNote " + i); // NOI18N
+        }
+        cache = new TextileCache(Long.MAX_VALUE);
+        cache.convertToHTML(textiles);
+    }
+
+    @Benchmark
+    public List<String> sequential() {
+        List<String> result = new ArrayList<>(textiles.size());
+        for (String textile : textiles) {
+            result.add(TextileUtil.convertToHTML(textile));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<String> batch() {
+        return TextileUtil.convertToHTML(textiles);
+    }
+
+    @Benchmark
+    public List<String> cached() {
+        return cache.convertToHTML(textiles);
+    }
+}
@@ -1,6 +1,8 @@
 
 package com.kenai.redminenb;
 
+import com.kenai.redminenb.diagnostics.RedmineMetrics;
+import com.kenai.redminenb.repository.IssueStore;
 import javax.swing.UIManager;
 import org.openide.modules.ModuleInstall;
 
@@ -8,6 +10,7 @@ public class Installer extends ModuleInstall {
 
     @Override
     public void restored() {
+        RedmineMetrics.register();
         // Support for dark LAFs (derive JXMonthView colors from "default" swing
         // colors
         Boolean dark = (Boolean) UIManager.get("nb.dark.theme");
@@ -22,4 +25,14 @@ public class Installer extends ModuleInstall {
         }
     }
 
+    @Override
+    public void close() {
+        IssueStore.saveAll();
+    }
+
+    @Override
+    public void uninstalled() {
+        RedmineMetrics.unregister();
+    }
+
 }
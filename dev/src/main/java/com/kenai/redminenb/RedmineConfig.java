@@ -29,6 +29,7 @@ import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.prefs.BackingStoreException;
+import java.util.prefs.PreferenceChangeListener;
 import java.util.prefs.Preferences;
 import javax.swing.Icon;
 import javax.xml.bind.JAXBContext;
@@ -56,12 +57,39 @@ public class RedmineConfig {
     private static final String DELIMITER = "<=>";                                   // NOI18N
     private static final String CHECK_UPDATES = "redmine.check_updates";             // NOI18N
     private static final String LAST_CHANGE_FROM = "redmine.last_change_from";       // NOI18N
+    private static final String HTTP_MAX_PER_ROUTE = "redmine.http_max_per_route";   // NOI18N
+    private static final String HTTP_MAX_TOTAL = "redmine.http_max_total";           // NOI18N
+    private static final String HTTP_IDLE_TIMEOUT = "redmine.http_idle_timeout";     // NOI18N
+    private static final String HTTP_CACHE_ENTRIES = "redmine.http_cache_entries";   // NOI18N
+    private static final String HTTP_CACHE_DISK = "redmine.http_cache_disk";         // NOI18N
+    private static final String HTTP_COMPRESSION = "redmine.http_compression_";      // NOI18N
+    private static final String QUERY_PAGE_PARALLELISM = "redmine.query_page_parallelism"; // NOI18N
+    private static final String QUERY_FULL_REFRESH_INT = "redmine.query_full_refresh"; // NOI18N
+    private static final String METADATA_TTL = "redmine.metadata_ttl";               // NOI18N
+    private static final String MEMBERSHIP_PARALLELISM = "redmine.membership_parallelism"; // NOI18N
+    private static final String REPOSITORY_WORKERS = "redmine.repository_workers"; // NOI18N
+    private static final String MAX_WORKERS = "redmine.max_workers"; // NOI18N
+    public static final String ISSUE_REFERENCE_KEYWORDS = "redmine.issue_reference_keywords"; // NOI18N
+    private static final String MARKUP_CACHE_SIZE = "redmine.markup_cache_size"; // NOI18N
     private static final String ACTIONITEMISSUES_STORAGE = "actionitemissues"; //NOI18N
     private static final String ACTIONITEMISSUES_STORAGE_FILE = ACTIONITEMISSUES_STORAGE
             + ".data"; //NOI18N
     //
     public static final int DEFAULT_QUERY_REFRESH = 30;
     public static final int DEFAULT_ISSUE_REFRESH = 15;
+    public static final int DEFAULT_HTTP_MAX_PER_ROUTE = 8;
+    public static final int DEFAULT_HTTP_MAX_TOTAL = 32;
+    public static final int DEFAULT_HTTP_IDLE_TIMEOUT = 60;
+    public static final int DEFAULT_HTTP_CACHE_ENTRIES = 1000;
+    public static final boolean DEFAULT_HTTP_CACHE_DISK = false;
+    public static final int DEFAULT_QUERY_PAGE_PARALLELISM = 4;
+    public static final int DEFAULT_QUERY_FULL_REFRESH = 120;
+    public static final int DEFAULT_METADATA_TTL = 24 * 60;
+    public static final int DEFAULT_MEMBERSHIP_PARALLELISM = 4;
+    public static final int DEFAULT_REPOSITORY_WORKERS = 4;
+    public static final int DEFAULT_MAX_WORKERS = 16;
+    public static final String DEFAULT_ISSUE_REFERENCE_KEYWORDS = "bug, issue, duplicate of"; // NOI18N
+    public static final int DEFAULT_MARKUP_CACHE_SIZE = 4096;
     //
     private static final JAXBContext jaxbContext;
 
@@ -92,6 +120,19 @@ public class RedmineConfig {
         return NbPreferences.forModule(RedmineConfig.class);
     }
 
+    /**
+     * Listen for changes of the configuration, the keys of the events are
+     * the public key constants of this class. Events are delivered
+     * asynchronously.
+     */
+    public void addPreferenceChangeListener(PreferenceChangeListener l) {
+        getPreferences().addPreferenceChangeListener(l);
+    }
+
+    public void removePreferenceChangeListener(PreferenceChangeListener l) {
+        getPreferences().removePreferenceChangeListener(l);
+    }
+
     public void setQueryRefreshInterval(int i) {
         getPreferences().putInt(QUERY_REFRESH_INT, i);
     }
@@ -120,6 +161,173 @@ public class RedmineConfig {
         return getPreferences().getBoolean(QUERY_AUTO_REFRESH + queryName, false);
     }
 
+    /**
+     * @return maximum number of pooled connections to one redmine server
+     */
+    public int getHttpMaxConnectionsPerRoute() {
+        return Math.max(1, getPreferences().getInt(HTTP_MAX_PER_ROUTE, DEFAULT_HTTP_MAX_PER_ROUTE));
+    }
+
+    public void setHttpMaxConnectionsPerRoute(int i) {
+        getPreferences().putInt(HTTP_MAX_PER_ROUTE, i);
+    }
+
+    /**
+     * @return maximum number of pooled connections per server pool (covers
+     * proxied routes)
+     */
+    public int getHttpMaxConnectionsTotal() {
+        return Math.max(1, getPreferences().getInt(HTTP_MAX_TOTAL, DEFAULT_HTTP_MAX_TOTAL));
+    }
+
+    public void setHttpMaxConnectionsTotal(int i) {
+        getPreferences().putInt(HTTP_MAX_TOTAL, i);
+    }
+
+    /**
+     * @return time in seconds after which idle pooled connections are closed
+     */
+    public int getHttpIdleConnectionTimeout() {
+        return Math.max(1, getPreferences().getInt(HTTP_IDLE_TIMEOUT, DEFAULT_HTTP_IDLE_TIMEOUT));
+    }
+
+    public void setHttpIdleConnectionTimeout(int i) {
+        getPreferences().putInt(HTTP_IDLE_TIMEOUT, i);
+    }
+
+    /**
+     * @return maximum number of responses held by the HTTP cache of one
+     * redmine server - a value less or equal zero disables the cache
+     */
+    public int getHttpCacheEntries() {
+        return getPreferences().getInt(HTTP_CACHE_ENTRIES, DEFAULT_HTTP_CACHE_ENTRIES);
+    }
+
+    public void setHttpCacheEntries(int i) {
+        getPreferences().putInt(HTTP_CACHE_ENTRIES, i);
+    }
+
+    /**
+     * @return true if the bodies of cached HTTP responses are held on disk
+     * instead of in memory
+     */
+    public boolean isHttpCacheOnDisk() {
+        return getPreferences().getBoolean(HTTP_CACHE_DISK, DEFAULT_HTTP_CACHE_DISK);
+    }
+
+    public void setHttpCacheOnDisk(boolean b) {
+        getPreferences().putBoolean(HTTP_CACHE_DISK, b);
+    }
+
+    /**
+     * @param server scheme, host and port of the redmine server
+     * @return true if compressed responses are requested from the server
+     */
+    public boolean isHttpCompression(String server) {
+        return getPreferences().getBoolean(HTTP_COMPRESSION + server, true);
+    }
+
+    public void setHttpCompression(String server, boolean b) {
+        getPreferences().putBoolean(HTTP_COMPRESSION + server, b);
+    }
+
+    /**
+     * @return number of result pages of a query fetched concurrently, a
+     * value of 1 fetches the pages sequentially
+     */
+    public int getQueryPageFetchParallelism() {
+        return getPreferences().getInt(QUERY_PAGE_PARALLELISM, DEFAULT_QUERY_PAGE_PARALLELISM);
+    }
+
+    public void setQueryPageFetchParallelism(int i) {
+        getPreferences().putInt(QUERY_PAGE_PARALLELISM, i);
+    }
+
+    /**
+     * @return interval in minutes after which an automatic query refresh
+     * reloads the complete result instead of only the updated issues, a
+     * value of 0 disables delta refreshes
+     */
+    public int getQueryFullRefreshInterval() {
+        return getPreferences().getInt(QUERY_FULL_REFRESH_INT, DEFAULT_QUERY_FULL_REFRESH);
+    }
+
+    public void setQueryFullRefreshInterval(int i) {
+        getPreferences().putInt(QUERY_FULL_REFRESH_INT, i);
+    }
+
+    /**
+     * @return time in minutes after which cached server metadata (trackers,
+     * statuses, priorities, ...) is revalidated in the background
+     */
+    public int getMetadataTimeToLive() {
+        return getPreferences().getInt(METADATA_TTL, DEFAULT_METADATA_TTL);
+    }
+
+    public void setMetadataTimeToLive(int i) {
+        getPreferences().putInt(METADATA_TTL, i);
+    }
+
+    /**
+     * @return number of project memberships fetched concurrently
+     */
+    public int getMembershipLoadParallelism() {
+        return getPreferences().getInt(MEMBERSHIP_PARALLELISM, DEFAULT_MEMBERSHIP_PARALLELISM);
+    }
+
+    public void setMembershipLoadParallelism(int i) {
+        getPreferences().putInt(MEMBERSHIP_PARALLELISM, i);
+    }
+
+    /**
+     * @return number of worker threads of the request processor of one
+     * repository
+     */
+    public int getRepositoryWorkers() {
+        return getPreferences().getInt(REPOSITORY_WORKERS, DEFAULT_REPOSITORY_WORKERS);
+    }
+
+    public void setRepositoryWorkers(int i) {
+        getPreferences().putInt(REPOSITORY_WORKERS, i);
+    }
+
+    /**
+     * @return maximum number of worker threads of all repository request
+     * processors together
+     */
+    public int getMaxWorkers() {
+        return getPreferences().getInt(MAX_WORKERS, DEFAULT_MAX_WORKERS);
+    }
+
+    public void setMaxWorkers(int i) {
+        getPreferences().putInt(MAX_WORKERS, i);
+    }
+
+    /**
+     * @return comma separated list of keywords, that introduce an issue
+     * number in texts (for example "refs" in "refs #123"), words of
+     * multi-word keywords are separated by spaces
+     */
+    public String getIssueReferenceKeywords() {
+        return getPreferences().get(ISSUE_REFERENCE_KEYWORDS, DEFAULT_ISSUE_REFERENCE_KEYWORDS);
+    }
+
+    public void setIssueReferenceKeywords(String keywords) {
+        getPreferences().put(ISSUE_REFERENCE_KEYWORDS, keywords);
+    }
+
+    /**
+     * @return size in KiB of the rendered journal notes and descriptions
+     * cached per repository - a value less or equal zero disables the cache
+     */
+    public int getMarkupCacheSize() {
+        return getPreferences().getInt(MARKUP_CACHE_SIZE, DEFAULT_MARKUP_CACHE_SIZE);
+    }
+
+    public void setMarkupCacheSize(int i) {
+        getPreferences().putInt(MARKUP_CACHE_SIZE, i);
+    }
+
     public void putQuery(RedmineRepository repository, RedmineQuery query) {
         putQuery(repository, new RedmineQueryXml(query), query.getDisplayName());
     }
@@ -327,6 +535,13 @@ public class RedmineConfig {
         }
     }
 
+    /**
+     * @return directory holding locally cached server data
+     */
+    public File getCacheDirectory() {
+        return new File(getConfigPath(), "cache"); // NOI18N
+    }
+
     /**
      * Loads issues from a permanent storage
      *
@@ -0,0 +1,298 @@
+/*
+ * Copyright 2026 RedmineNB contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kenai.redminenb.diagnostics;
+
+import java.awt.BorderLayout;
+import java.awt.FlowLayout;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.Collections;
+import java.util.List;
+import javax.swing.BoxLayout;
+import javax.swing.JButton;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JSplitPane;
+import javax.swing.JTable;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.table.AbstractTableModel;
+import org.openide.awt.ActionID;
+import org.openide.awt.ActionReference;
+import org.openide.util.NbBundle.Messages;
+import org.openide.util.RequestProcessor;
+import org.openide.windows.TopComponent;
+
+/**
+ * Shows the latency statistics and cache/transfer counters of the module.
+ */
+@TopComponent.Description(
+        preferredID = DiagnosticsTopComponent.PREFERRED_ID,
+        iconBase = "com/kenai/redminenb/resources/redmine.png",
+        persistenceType = TopComponent.PERSISTENCE_NEVER
+)
+@TopComponent.Registration(mode = "output", openAtStartup = false)
+@ActionID(category = "Window", id = "com.kenai.redminenb.diagnostics.DiagnosticsTopComponent")
+@ActionReference(path = "Menu/Window/Tools", position = 1042)
+@TopComponent.OpenActionRegistration(
+        displayName = "#CTL_DiagnosticsAction",
+        preferredID = DiagnosticsTopComponent.PREFERRED_ID
+)
+@Messages({
+    "CTL_DiagnosticsAction=Redmine Diagnostics",
+    "CTL_DiagnosticsTopComponent=Redmine Diagnostics",
+    "BTN_Refresh=Refresh",
+    "BTN_ResetLatencies=Reset latencies",
+    "COL_Operation=Operation",
+    "COL_Count=Count",
+    "COL_Errors=Errors",
+    "COL_Mean=Mean (ms)",
+    "COL_P50=p50 (ms)",
+    "COL_P95=p95 (ms)",
+    "COL_Max=Max (ms)",
+    "COL_Total=Total (ms)",
+    "COL_Repository=Repository",
+    "COL_IssueCache=Issue cache hits",
+    "COL_IssueStore=Issue store hits",
+    "COL_MetadataCache=Metadata cache hits",
+    "COL_ProjectCache=Project cache hits",
+    "COL_MarkupCache=Markup cache hits",
+    "COL_Responses=Responses",
+    "COL_NotModified=Not modified",
+    "COL_Compressed=Compressed",
+    "COL_Received=Received (KiB)",
+    "COL_Decoded=Decoded (KiB)",
+    "COL_Saved=Saved (KiB)",
+    "# {0} - ratio",
+    "MSG_Ratio={0,number,percent}"
+})
+public final class DiagnosticsTopComponent extends TopComponent {
+    static final String PREFERRED_ID = "RedmineDiagnosticsTopComponent"; // NOI18N
+    private static final int REFRESH_INTERVAL = 2000;
+    private static final RequestProcessor RP = new RequestProcessor(DiagnosticsTopComponent.class);
+
+    private final LatencyTableModel latencyModel = new LatencyTableModel();
+    private final RepositoryTableModel repositoryModel = new RepositoryTableModel();
+    private final RedmineMetrics metrics = new RedmineMetrics();
+    private final Timer refreshTimer = new Timer(REFRESH_INTERVAL, new ActionListener() {
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            refresh();
+        }
+    });
+
+    public DiagnosticsTopComponent() {
+        setName(Bundle.CTL_DiagnosticsTopComponent());
+        setLayout(new BorderLayout());
+
+        JButton refreshButton = new JButton(Bundle.BTN_Refresh());
+        refreshButton.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                refresh();
+            }
+        });
+        JButton resetButton = new JButton(Bundle.BTN_ResetLatencies());
+        resetButton.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                metrics.resetLatencies();
+                refresh();
+            }
+        });
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.LEADING));
+        buttons.add(refreshButton);
+        buttons.add(resetButton);
+
+        JTable latencyTable = new JTable(latencyModel);
+        latencyTable.setAutoCreateRowSorter(true);
+        JTable repositoryTable = new JTable(repositoryModel);
+        repositoryTable.setAutoCreateRowSorter(true);
+        JSplitPane split = new JSplitPane(JSplitPane.VERTICAL_SPLIT,
+                new JScrollPane(latencyTable), new JScrollPane(repositoryTable));
+        split.setResizeWeight(0.7);
+
+        JPanel top = new JPanel();
+        top.setLayout(new BoxLayout(top, BoxLayout.Y_AXIS));
+        top.add(buttons);
+        add(top, BorderLayout.NORTH);
+        add(split, BorderLayout.CENTER);
+    }
+
+    @Override
+    protected void componentOpened() {
+        refresh();
+        refreshTimer.start();
+    }
+
+    @Override
+    protected void componentClosed() {
+        refreshTimer.stop();
+    }
+
+    /**
+     * Collect the metrics outside the EDT - the repository caches may be
+     * locked while they are written.
+     */
+    private void refresh() {
+        RP.post(new Runnable() {
+            @Override
+            public void run() {
+                final List<LatencyStats> latencies = metrics.getLatencies();
+                final List<RepositoryMetrics> repositories = metrics.getRepositories();
+                SwingUtilities.invokeLater(new Runnable() {
+                    @Override
+                    public void run() {
+                        latencyModel.setRows(latencies);
+                        repositoryModel.setRows(repositories);
+                    }
+                });
+            }
+        });
+    }
+
+    private static String ratio(double ratio) {
+        return Bundle.MSG_Ratio(ratio);
+    }
+
+    private static long kib(long bytes) {
+        return bytes / 1024;
+    }
+
+    private static class LatencyTableModel extends AbstractTableModel {
+        private final String[] columns = {Bundle.COL_Operation(), Bundle.COL_Count(),
+            Bundle.COL_Errors(), Bundle.COL_Mean(), Bundle.COL_P50(), Bundle.COL_P95(),
+            Bundle.COL_Max(), Bundle.COL_Total()};
+        private final Class<?>[] columnClasses = {String.class, Long.class,
+            Long.class, Double.class, Long.class, Long.class, Long.class, Long.class};
+        private List<LatencyStats> rows = Collections.emptyList();
+
+        void setRows(List<LatencyStats> rows) {
+            this.rows = rows;
+            fireTableDataChanged();
+        }
+
+        @Override
+        public int getRowCount() {
+            return rows.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return columns.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return columns[column];
+        }
+
+        @Override
+        public Class<?> getColumnClass(int columnIndex) {
+            return columnClasses[columnIndex];
+        }
+
+        @Override
+        public Object getValueAt(int rowIndex, int columnIndex) {
+            LatencyStats stats = rows.get(rowIndex);
+            switch (columnIndex) {
+                case 0:
+                    return stats.getName();
+                case 1:
+                    return stats.getCount();
+                case 2:
+                    return stats.getErrorCount();
+                case 3:
+                    return Math.round(stats.getMeanMillis() * 10) / 10d;
+                case 4:
+                    return stats.getP50Millis();
+                case 5:
+                    return stats.getP95Millis();
+                case 6:
+                    return stats.getMaxMillis();
+                default:
+                    return stats.getTotalMillis();
+            }
+        }
+    }
+
+    private static class RepositoryTableModel extends AbstractTableModel {
+        private final String[] columns = {Bundle.COL_Repository(), Bundle.COL_IssueCache(),
+            Bundle.COL_IssueStore(), Bundle.COL_MetadataCache(), Bundle.COL_ProjectCache(),
+            Bundle.COL_MarkupCache(), Bundle.COL_Responses(), Bundle.COL_NotModified(), Bundle.COL_Compressed(),
+            Bundle.COL_Received(), Bundle.COL_Decoded(), Bundle.COL_Saved()};
+        private final Class<?>[] columnClasses = {String.class, String.class,
+            String.class, String.class, String.class, String.class, Long.class, String.class,
+            Long.class, Long.class, Long.class, Long.class};
+        private List<RepositoryMetrics> rows = Collections.emptyList();
+
+        void setRows(List<RepositoryMetrics> rows) {
+            this.rows = rows;
+            fireTableDataChanged();
+        }
+
+        @Override
+        public int getRowCount() {
+            return rows.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return columns.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return columns[column];
+        }
+
+        @Override
+        public Class<?> getColumnClass(int columnIndex) {
+            return columnClasses[columnIndex];
+        }
+
+        @Override
+        public Object getValueAt(int rowIndex, int columnIndex) {
+            RepositoryMetrics repository = rows.get(rowIndex);
+            switch (columnIndex) {
+                case 0:
+                    return repository.getName();
+                case 1:
+                    return ratio(repository.getIssueCacheHitRatio());
+                case 2:
+                    return ratio(repository.getIssueStoreHitRatio());
+                case 3:
+                    return ratio(repository.getMetadataCacheHitRatio());
+                case 4:
+                    return ratio(repository.getProjectCacheHitRatio());
+                case 5:
+                    return ratio(repository.getMarkupCacheHitRatio());
+                case 6:
+                    return repository.getResponses();
+                case 7:
+                    return ratio(repository.getHttpCacheHitRatio());
+                case 8:
+                    return repository.getCompressedResponses();
+                case 9:
+                    return kib(repository.getReceivedBytes());
+                case 10:
+                    return kib(repository.getDecodedBytes());
+                default:
+                    return kib(repository.getSavedBytes());
+            }
+        }
+    }
+}
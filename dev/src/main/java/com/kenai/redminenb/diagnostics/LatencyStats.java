@@ -0,0 +1,140 @@
+/*
+ * Copyright 2026 RedmineNB contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kenai.redminenb.diagnostics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Latency histogram of one operation.
+ *
+ * <p>Durations are counted in fixed buckets, so percentiles are reported as
+ * the upper limit of the bucket they fall into.</p>
+ */
+public final class LatencyStats {
+    /**
+     * Upper limits of the histogram buckets in ms - the last bucket collects
+     * all longer durations.
+     */
+    private static final long[] BUCKET_LIMITS = {10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+
+    private final String name;
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong errorCount = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_LIMITS.length + 1);
+
+    LatencyStats(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @param nanos duration of the operation
+     * @param success false if the operation failed
+     */
+    public void record(long nanos, boolean success) {
+        count.incrementAndGet();
+        if (!success) {
+            errorCount.incrementAndGet();
+        }
+        totalNanos.addAndGet(nanos);
+        long max;
+        while (nanos > (max = maxNanos.get()) && !maxNanos.compareAndSet(max, nanos)) {
+            // retry
+        }
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        int bucket = 0;
+        while (bucket < BUCKET_LIMITS.length && millis > BUCKET_LIMITS[bucket]) {
+            bucket++;
+        }
+        buckets.incrementAndGet(bucket);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getErrorCount() {
+        return errorCount.get();
+    }
+
+    public long getTotalMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(totalNanos.get());
+    }
+
+    public double getMeanMillis() {
+        long c = count.get();
+        return c == 0 ? 0 : totalNanos.get() / 1e6 / c;
+    }
+
+    public long getMaxMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxNanos.get());
+    }
+
+    public long getP50Millis() {
+        return getPercentileMillis(0.5);
+    }
+
+    public long getP95Millis() {
+        return getPercentileMillis(0.95);
+    }
+
+    /**
+     * @return counts per bucket, the bucket limits are reported by
+     * {@link #getBucketLimitsMillis()}
+     */
+    public long[] getBuckets() {
+        long[] result = new long[buckets.length()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = buckets.get(i);
+        }
+        return result;
+    }
+
+    public long[] getBucketLimitsMillis() {
+        return BUCKET_LIMITS.clone();
+    }
+
+    /**
+     * @return upper limit of the bucket holding the percentile - for the
+     * last bucket the maximum is reported
+     */
+    private long getPercentileMillis(double percentile) {
+        long[] counts = getBuckets();
+        long total = 0;
+        for (long c : counts) {
+            total += c;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long threshold = (long) Math.ceil(total * percentile);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_LIMITS.length; i++) {
+            seen += counts[i];
+            if (seen >= threshold) {
+                return BUCKET_LIMITS[i];
+            }
+        }
+        return getMaxMillis();
+    }
+}
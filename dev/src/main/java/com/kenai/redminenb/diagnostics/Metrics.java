@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 RedmineNB contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kenai.redminenb.diagnostics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registry of the latency statistics of the module.
+ *
+ * <p>Operations are identified by name - remote calls are recorded per
+ * endpoint (for example "GET /issues/{id}.json"), other operations use a
+ * dotted name (for example "query.page").</p>
+ */
+public final class Metrics {
+    private static final ConcurrentMap<String, LatencyStats> latencies = new ConcurrentHashMap<>();
+
+    private Metrics() {
+    }
+
+    /**
+     * @return statistics for the named operation, created on first use
+     */
+    public static LatencyStats getLatency(String name) {
+        LatencyStats result = latencies.get(name);
+        if (result == null) {
+            LatencyStats newStats = new LatencyStats(name);
+            result = latencies.putIfAbsent(name, newStats);
+            if (result == null) {
+                result = newStats;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Record the duration of an operation started at the supplied
+     * {@link System#nanoTime()} value.
+     */
+    public static void record(String name, long startNanos, boolean success) {
+        getLatency(name).record(System.nanoTime() - startNanos, success);
+    }
+
+    /**
+     * @return statistics of all recorded operations sorted by name
+     */
+    public static List<LatencyStats> getLatencies() {
+        List<LatencyStats> result = new ArrayList<>(latencies.values());
+        Collections.sort(result, new Comparator<LatencyStats>() {
+            @Override
+            public int compare(LatencyStats o1, LatencyStats o2) {
+                return o1.getName().compareTo(o2.getName());
+            }
+        });
+        return result;
+    }
+
+    public static void reset() {
+        latencies.clear();
+    }
+}
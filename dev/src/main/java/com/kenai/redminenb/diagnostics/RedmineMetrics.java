@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 RedmineNB contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kenai.redminenb.diagnostics;
+
+import com.kenai.redminenb.repository.RedmineRepository;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Exposes the module metrics through JMX.
+ */
+public final class RedmineMetrics implements RedmineMetricsMXBean {
+    private static final Logger LOG = Logger.getLogger(RedmineMetrics.class.getName());
+    public static final String OBJECT_NAME = "com.kenai.redminenb:type=Metrics"; // NOI18N
+
+    @Override
+    public List<LatencyStats> getLatencies() {
+        return Metrics.getLatencies();
+    }
+
+    @Override
+    public List<RepositoryMetrics> getRepositories() {
+        List<RedmineRepository> repositories = RedmineRepository.getInstances();
+        List<RepositoryMetrics> result = new ArrayList<>(repositories.size());
+        for (RedmineRepository repository : repositories) {
+            result.add(new RepositoryMetrics(repository));
+        }
+        return result;
+    }
+
+    @Override
+    public void resetLatencies() {
+        Metrics.reset();
+    }
+
+    public static void register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new RedmineMetrics(), name);
+            }
+        } catch (JMException | RuntimeException ex) {
+            LOG.log(Level.INFO, "Failed to register metrics MBean", ex);
+        }
+    }
+
+    public static void unregister() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException | RuntimeException ex) {
+            LOG.log(Level.INFO, "Failed to unregister metrics MBean", ex);
+        }
+    }
+}
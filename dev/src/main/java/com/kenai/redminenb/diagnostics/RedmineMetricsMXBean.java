@@ -0,0 +1,40 @@
+/*
+ * Copyright 2026 RedmineNB contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kenai.redminenb.diagnostics;
+
+import java.util.List;
+
+/**
+ * Management interface of the redmine module metrics - registered as
+ * {@value RedmineMetrics#OBJECT_NAME}.
+ */
+public interface RedmineMetricsMXBean {
+
+    /**
+     * @return latency statistics of remote calls and queries
+     */
+    List<LatencyStats> getLatencies();
+
+    /**
+     * @return cache and transfer counters per repository
+     */
+    List<RepositoryMetrics> getRepositories();
+
+    /**
+     * Drop the recorded latencies.
+     */
+    void resetLatencies();
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2026 RedmineNB contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kenai.redminenb.diagnostics;
+
+import com.kenai.redminenb.repository.IssueCache;
+import com.kenai.redminenb.repository.IssueStore;
+import com.kenai.redminenb.repository.MetadataCache;
+import com.kenai.redminenb.repository.RedmineRepository;
+import com.kenai.redminenb.repository.TransferStatistics;
+import com.kenai.redminenb.util.markup.TextileCache;
+
+/**
+ * Snapshot of the cache and transfer counters of one repository.
+ */
+public final class RepositoryMetrics {
+    private final String name;
+    private final long issueCacheHits;
+    private final long issueCacheMisses;
+    private final int issueCacheSize;
+    private final long issueStoreHits;
+    private final long issueStoreMisses;
+    private final long metadataCacheHits;
+    private final long metadataCacheMisses;
+    private final long projectCacheHits;
+    private final long projectCacheMisses;
+    private final long markupCacheHits;
+    private final long markupCacheMisses;
+    private final long responses;
+    private final long notModifiedResponses;
+    private final long compressedResponses;
+    private final long receivedBytes;
+    private final long decodedBytes;
+    private final long savedBytes;
+
+    public RepositoryMetrics(RedmineRepository repository) {
+        IssueCache issueCache = repository.getIssueCache();
+        // Stores not used yet are not created just for the statistics
+        IssueStore issueStore = repository.peekIssueStore();
+        MetadataCache metadataCache = repository.peekMetadataCache();
+        TransferStatistics transfer = repository.getTransferStatistics();
+        TextileCache textileCache = repository.getTextileCache();
+        name = repository.getDisplayName();
+        issueCacheHits = issueCache.getHitCount();
+        issueCacheMisses = issueCache.getMissCount();
+        issueCacheSize = issueCache.size();
+        issueStoreHits = issueStore != null ? issueStore.getHitCount() : 0;
+        issueStoreMisses = issueStore != null ? issueStore.getMissCount() : 0;
+        metadataCacheHits = metadataCache != null ? metadataCache.getHitCount() : 0;
+        metadataCacheMisses = metadataCache != null ? metadataCache.getMissCount() : 0;
+        projectCacheHits = repository.getProjectCacheHitCount();
+        projectCacheMisses = repository.getProjectCacheMissCount();
+        markupCacheHits = textileCache.getHitCount();
+        markupCacheMisses = textileCache.getMissCount();
+        responses = transfer.getResponses();
+        notModifiedResponses = transfer.getNotModifiedResponses();
+        compressedResponses = transfer.getCompressedResponses();
+        receivedBytes = transfer.getReceivedBytes();
+        decodedBytes = transfer.getDecodedBytes();
+        savedBytes = transfer.getSavedBytes();
+    }
+
+    static double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getIssueCacheHits() {
+        return issueCacheHits;
+    }
+
+    public long getIssueCacheMisses() {
+        return issueCacheMisses;
+    }
+
+    public double getIssueCacheHitRatio() {
+        return ratio(issueCacheHits, issueCacheMisses);
+    }
+
+    public int getIssueCacheSize() {
+        return issueCacheSize;
+    }
+
+    public long getIssueStoreHits() {
+        return issueStoreHits;
+    }
+
+    public long getIssueStoreMisses() {
+        return issueStoreMisses;
+    }
+
+    public double getIssueStoreHitRatio() {
+        return ratio(issueStoreHits, issueStoreMisses);
+    }
+
+    public long getMetadataCacheHits() {
+        return metadataCacheHits;
+    }
+
+    public long getMetadataCacheMisses() {
+        return metadataCacheMisses;
+    }
+
+    public double getMetadataCacheHitRatio() {
+        return ratio(metadataCacheHits, metadataCacheMisses);
+    }
+
+    public long getProjectCacheHits() {
+        return projectCacheHits;
+    }
+
+    public long getProjectCacheMisses() {
+        return projectCacheMisses;
+    }
+
+    public double getProjectCacheHitRatio() {
+        return ratio(projectCacheHits, projectCacheMisses);
+    }
+
+    public long getMarkupCacheHits() {
+        return markupCacheHits;
+    }
+
+    public long getMarkupCacheMisses() {
+        return markupCacheMisses;
+    }
+
+    public double getMarkupCacheHitRatio() {
+        return ratio(markupCacheHits, markupCacheMisses);
+    }
+
+    /**
+     * @return responses received from the server hosting the repository -
+     * shared with other repositories on the same server
+     */
+    public long getResponses() {
+        return responses;
+    }
+
+    public long getNotModifiedResponses() {
+        return notModifiedResponses;
+    }
+
+    /**
+     * @return share of the responses answered with "304 Not Modified"
+     */
+    public double getHttpCacheHitRatio() {
+        return responses == 0 ? 0 : (double) notModifiedResponses / responses;
+    }
+
+    public long getCompressedResponses() {
+        return compressedResponses;
+    }
+
+    public long getReceivedBytes() {
+        return receivedBytes;
+    }
+
+    public long getDecodedBytes() {
+        return decodedBytes;
+    }
+
+    public long getSavedBytes() {
+        return savedBytes;
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2026 RedmineNB contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kenai.redminenb.issue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Compiled set of keywords, that introduce an issue number ("bug 123",
+ * "duplicate of #123").
+ *
+ * <p>A keyword consists of one or more words of the basic latin alphabet
+ * (a-z), keywords are matched ignoring case. The words of a keyword may be
+ * separated by any whitespace in the scanned text. Keywords consisting of a
+ * single word are part of the hyperlink ("bug 123"), the words of a
+ * multi-word keyword are not ("duplicate of 123").</p>
+ *
+ * <p>The keywords are compiled into two automata: a trie over the letters
+ * of all keyword words, that identifies a word while it is scanned, and an
+ * Aho-Corasick automaton over the word sequences of the keywords with a
+ * complete transition table. The scanner advances both one step per letter
+ * respectively per word, so matching is linear in the length of the text
+ * independent of the number of keywords.</p>
+ */
+final class IssueReferenceKeywords {
+
+    private static final Logger LOG = Logger.getLogger(IssueReferenceKeywords.class.getName());
+    private static final int LETTERS = 26;
+
+    /**
+     * word trie transitions - {@code node * LETTERS + letter}, 0 marks a
+     * missing transition (the root is never a target)
+     */
+    private final int[] wordNext;
+    /**
+     * id of the word ending in a trie node, -1 if no word ends there
+     */
+    private final int[] wordIds;
+    private final int wordCount;
+    /**
+     * complete transition table of the keyword automaton -
+     * {@code state * wordCount + wordId}
+     */
+    private final int[] phraseNext;
+    /**
+     * number of words of the longest keyword ending in a state, 0 if no
+     * keyword ends there
+     */
+    private final int[] matchedWords;
+    private final int maxWords;
+
+    private IssueReferenceKeywords(List<String[]> keywords) {
+        Map<String, Integer> vocabulary = new HashMap<>();
+        int maxKeywordWords = 1;
+        for (String[] keyword : keywords) {
+            maxKeywordWords = Math.max(maxKeywordWords, keyword.length);
+            for (String word : keyword) {
+                if (!vocabulary.containsKey(word)) {
+                    vocabulary.put(word, vocabulary.size());
+                }
+            }
+        }
+        this.maxWords = maxKeywordWords;
+        this.wordCount = vocabulary.size();
+
+        // Trie of the keyword words
+        int[] next = new int[LETTERS * 8];
+        int[] ids = new int[8];
+        Arrays.fill(ids, -1);
+        int nodes = 1;
+        for (Map.Entry<String, Integer> entry : vocabulary.entrySet()) {
+            int node = 0;
+            for (int i = 0; i < entry.getKey().length(); i++) {
+                int slot = node * LETTERS + (entry.getKey().charAt(i) - 'a');
+                if (next[slot] == 0) {
+                    if (nodes == ids.length) {
+                        next = Arrays.copyOf(next, next.length * 2);
+                        ids = Arrays.copyOf(ids, ids.length * 2);
+                        Arrays.fill(ids, nodes, ids.length, -1);
+                    }
+                    next[slot] = nodes++;
+                }
+                node = next[slot];
+            }
+            ids[node] = entry.getValue();
+        }
+        this.wordNext = Arrays.copyOf(next, nodes * LETTERS);
+        this.wordIds = Arrays.copyOf(ids, nodes);
+
+        // Keyword trie over word ids
+        List<Map<Integer, Integer>> children = new ArrayList<>();
+        List<Integer> keywordWords = new ArrayList<>();
+        children.add(new HashMap<Integer, Integer>());
+        keywordWords.add(0);
+        for (String[] keyword : keywords) {
+            int state = 0;
+            for (String word : keyword) {
+                Integer wordId = vocabulary.get(word);
+                Integer child = children.get(state).get(wordId);
+                if (child == null) {
+                    child = children.size();
+                    children.add(new HashMap<Integer, Integer>());
+                    keywordWords.add(0);
+                    children.get(state).put(wordId, child);
+                }
+                state = child;
+            }
+            keywordWords.set(state, keyword.length);
+        }
+
+        // Failure links folded into a complete transition table (breadth
+        // first, so the failure target of a state is always finished first)
+        int states = children.size();
+        int[] fail = new int[states];
+        this.phraseNext = new int[states * wordCount];
+        this.matchedWords = new int[states];
+        Queue<Integer> queue = new ArrayDeque<>();
+        queue.add(0);
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            matchedWords[state] = keywordWords.get(state) != 0
+                    ? keywordWords.get(state) : matchedWords[fail[state]];
+            for (int wordId = 0; wordId < wordCount; wordId++) {
+                Integer child = children.get(state).get(wordId);
+                int fallback = state == 0 ? 0 : phraseNext[fail[state] * wordCount + wordId];
+                if (child == null) {
+                    phraseNext[state * wordCount + wordId] = fallback;
+                } else {
+                    fail[child] = fallback;
+                    phraseNext[state * wordCount + wordId] = child;
+                    queue.add(child);
+                }
+            }
+        }
+    }
+
+    /**
+     * Compile a keyword definition.
+     *
+     * @param definition comma separated list of keywords, words of a keyword
+     * are separated by whitespace, keywords containing other characters than
+     * a-z are ignored
+     */
+    static IssueReferenceKeywords compile(String definition) {
+        Set<String> seen = new LinkedHashSet<>();
+        List<String[]> keywords = new ArrayList<>();
+        for (String keyword : definition.split(",")) {                 //NOI18N
+            String normalized = keyword.trim().toLowerCase(Locale.ENGLISH);
+            if (normalized.isEmpty()) {
+                continue;
+            }
+            String[] words = normalized.split("\\s+");                  //NOI18N
+            if (!isValid(words)) {
+                LOG.log(Level.INFO, "Ignoring invalid issue reference keyword: {0}", keyword);
+                continue;
+            }
+            if (seen.add(String.join(" ", words))) {                    //NOI18N
+                keywords.add(words);
+            }
+        }
+        return new IssueReferenceKeywords(keywords);
+    }
+
+    private static boolean isValid(String[] words) {
+        for (String word : words) {
+            for (int i = 0; i < word.length(); i++) {
+                if (word.charAt(i) < 'a' || word.charAt(i) > 'z') {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Advance the word trie by one letter.
+     *
+     * @param node current node, 0 at the start of a word, -1 if the word
+     * is already known to be no keyword word
+     * @param c letter of the basic latin alphabet (any case)
+     * @return the next node or -1 if the word is no keyword word
+     */
+    int nextWordNode(int node, int c) {
+        if (node < 0) {
+            return -1;
+        }
+        int next = wordNext[node * LETTERS + ((c | 0x20) - 'a')];
+        return next == 0 ? -1 : next;
+    }
+
+    /**
+     * Advance the keyword automaton by one word.
+     *
+     * @param state current state, 0 if no keyword is in progress
+     * @param wordNode word trie node reached at the end of the word
+     * @return the next state, 0 if the word neither completes nor continues
+     * a keyword
+     */
+    int nextState(int state, int wordNode) {
+        int wordId = wordNode < 0 ? -1 : wordIds[wordNode];
+        return wordId < 0 ? 0 : phraseNext[state * wordCount + wordId];
+    }
+
+    /**
+     * @return number of words of the longest keyword ending in the state,
+     * 0 if only a part of a keyword was seen
+     */
+    int getMatchedWords(int state) {
+        return matchedWords[state];
+    }
+
+    /**
+     * @return number of words of the longest keyword
+     */
+    int getMaxWords() {
+        return maxWords;
+    }
+}
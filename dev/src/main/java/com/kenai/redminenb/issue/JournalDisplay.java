@@ -20,7 +20,6 @@ import com.kenai.redminenb.repository.RedmineRepository;
 import com.kenai.redminenb.util.AssigneeWrapper;
 import com.kenai.redminenb.util.NestedProject;
 import static com.kenai.redminenb.util.markup.StringUtil.escapeHTML;
-import com.kenai.redminenb.util.markup.TextileUtil;
 import com.taskadapter.redmineapi.bean.CustomFieldDefinition;
 import com.taskadapter.redmineapi.bean.IssueCategory;
 import com.taskadapter.redmineapi.bean.IssuePriority;
@@ -31,8 +30,11 @@ import com.taskadapter.redmineapi.bean.ProjectFactory;
 import com.taskadapter.redmineapi.bean.Tracker;
 import com.taskadapter.redmineapi.bean.Version;
 import java.io.StringWriter;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 import java.util.MissingResourceException;
+import java.util.Objects;
 import java.util.ResourceBundle;
 import org.apache.commons.lang.StringUtils;
 import org.openide.util.NbBundle;
@@ -76,12 +78,51 @@ public class JournalDisplay extends javax.swing.JPanel {
         public String getHtmlContent() {
             return htmlContent;
         }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(id, pos);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final JournalData other = (JournalData) obj;
+            return Objects.equals(this.id, other.id)
+                    && Objects.equals(this.pos, other.pos)
+                    && Objects.equals(this.username, other.username)
+                    && Objects.equals(this.create, other.create)
+                    && Objects.equals(this.htmlContent, other.htmlContent);
+        }
         
     }
+
+    private JournalData journalData;
     
     public JournalDisplay(JournalData jd) {
         initComponents();
-        
+        setJournalData(jd);
+    }
+
+    public JournalData getJournalData() {
+        return journalData;
+    }
+
+    /**
+     * Show another journal entry - the display is only updated if the data
+     * differs from the shown data.
+     */
+    public void setJournalData(JournalData jd) {
+        if (jd.equals(journalData)) {
+            return;
+        }
+        journalData = jd;
+
         leftLabel.setText(NbBundle.getMessage(JournalDisplay.class, 
                 "journalDisplay.leftTemplate", new Object[]{jd.getUsername(), jd.getCreate()}));
         leftLabel.setToolTipText(NbBundle.getMessage(JournalDisplay.class, 
@@ -94,10 +135,37 @@ public class JournalDisplay extends javax.swing.JPanel {
         content.setHTMLText(jd.getHtmlContent());
     }
 
-    public static JournalData buildJournalData(RedmineIssue ri, Journal jd, int index) {
+    /**
+     * Build the display data of the journal entries {@code from} (inclusive)
+     * to {@code to} (exclusive) - the notes missing in the markup cache of
+     * the repository are rendered in parallel. The position of an entry is
+     * its index in the complete journal.
+     */
+    public static List<JournalData> buildJournalData(RedmineIssue ri, List<Journal> journals, int from, int to) {
+        List<Journal> page = journals.subList(from, to);
+        List<String> notes = new ArrayList<>(page.size());
+        for (Journal jd : page) {
+            if (StringUtils.isNotBlank(jd.getNotes())) {
+                notes.add(jd.getNotes());
+            }
+        }
+        List<String> renderedNotes = ri.getRepository().getTextileCache().convertToHTML(notes);
+        List<JournalData> result = new ArrayList<>(page.size());
+        int noteIndex = 0;
+        for (int i = 0; i < page.size(); i++) {
+            Journal jd = page.get(i);
+            String noteHtml = null;
+            if (StringUtils.isNotBlank(jd.getNotes())) {
+                noteHtml = renderedNotes.get(noteIndex++);
+            }
+            result.add(buildJournalData(ri, jd, from + i, noteHtml));
+        }
+        return result;
+    }
+
+    private static JournalData buildJournalData(RedmineIssue ri, Journal jd, int index, String noteHtml) {
         RedmineRepository repo = ri.getRepository();
         
-        String noteText = jd.getNotes();
         StringWriter writer = new StringWriter();
 
         if (jd.getDetails() != null && jd.getDetails().size() > 0) {
@@ -220,9 +288,9 @@ public class JournalDisplay extends javax.swing.JPanel {
             writer.append("</ul>");
         }
         
-        if (StringUtils.isNotBlank(noteText)) {
+        if (noteHtml != null) {
             writer.append("<div class='note'>");
-            TextileUtil.convertToHTML(noteText, writer);
+            writer.append(noteHtml);
             writer.append("</div>");
         }
 
@@ -241,10 +309,9 @@ public class JournalDisplay extends javax.swing.JPanel {
         }
         try {
             Integer id = Integer.valueOf(value);
-            for (IssueCategory ic : repo.getIssueCategories(ProjectFactory.create(issue.getIssue().getProjectId()))) {
-                if (ic.getId().equals(id)) {
-                    return ic.getName() + " (ID: " + id.toString() + ")";
-                }
+            IssueCategory ic = repo.getIssueCategory(ProjectFactory.create(issue.getIssue().getProjectId()), id);
+            if (ic != null) {
+                return ic.getName() + " (ID: " + id.toString() + ")";
             }
         } catch (NumberFormatException ex) {}
         return "(ID: " + value + ")";
@@ -256,10 +323,9 @@ public class JournalDisplay extends javax.swing.JPanel {
         }
         try {
             Integer id = Integer.valueOf(value);
-            for (Version v : repo.getVersions(ProjectFactory.create(issue.getIssue().getProjectId()))) {
-                if (v.getId().equals(id)) {
-                    return v.getName() + " (ID: " + id.toString() + ")";
-                }
+            Version v = repo.getVersion(ProjectFactory.create(issue.getIssue().getProjectId()), id);
+            if (v != null) {
+                return v.getName() + " (ID: " + id.toString() + ")";
             }
         } catch (NumberFormatException ex) {}
         return "(ID: " + value + ")";
@@ -271,10 +337,9 @@ public class JournalDisplay extends javax.swing.JPanel {
         }
         try {
             Integer id = Integer.valueOf(value);
-            for (IssuePriority ip : repo.getIssuePriorities()) {
-                if (ip.getId().equals(id)) {
-                    return ip.getName() + " (ID: " + id.toString() + ")";
-                }
+            IssuePriority ip = repo.getIssuePriority(id);
+            if (ip != null) {
+                return ip.getName() + " (ID: " + id.toString() + ")";
             }
         } catch (NumberFormatException ex) {}
         return "(ID: " + value + ")";
@@ -286,10 +351,9 @@ public class JournalDisplay extends javax.swing.JPanel {
         }
         try {
             Integer id = Integer.valueOf(value);
-            for (IssueStatus is : repo.getStatuses()) {
-                if (is.getId().equals(id)) {
-                    return is.getName() + " (ID: " + id.toString() + ")";
-                }
+            IssueStatus is = repo.getStatus(id);
+            if (is != null) {
+                return is.getName() + " (ID: " + id.toString() + ")";
             }
         } catch (NumberFormatException ex) {}
         return "(ID: " + value + ")";
@@ -301,10 +365,9 @@ public class JournalDisplay extends javax.swing.JPanel {
         }
         try {
             Integer id = Integer.valueOf(value);
-            for (Tracker t : repo.getTrackers()) {
-                if (t.getId().equals(id)) {
-                    return t.getName() + " (ID: " + id.toString() + ")";
-                }
+            Tracker t = repo.getTracker(id);
+            if (t != null) {
+                return t.getName() + " (ID: " + id.toString() + ")";
             }
         } catch (NumberFormatException ex) {}
         return "(ID: " + value + ")";
@@ -316,10 +379,9 @@ public class JournalDisplay extends javax.swing.JPanel {
         }
         try {
             Integer id = Integer.valueOf(value);
-            for (AssigneeWrapper ru : repo.getAssigneeWrappers(ProjectFactory.create(issue.getIssue().getProjectId()))) {
-                if (ru.getId().equals(id)) {
-                    return ru.getName() + " (ID: " + id.toString() + ")";
-                }
+            AssigneeWrapper ru = repo.getAssigneeWrapper(ProjectFactory.create(issue.getIssue().getProjectId()), id);
+            if (ru != null) {
+                return ru.getName() + " (ID: " + id.toString() + ")";
             }
         } catch (NumberFormatException ex) {}
         return "(ID: " + value + ")";
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2026 RedmineNB contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kenai.redminenb.issue;
+
+import com.kenai.redminenb.issue.JournalDisplay.JournalData;
+import com.kenai.redminenb.util.LinkButton;
+import com.taskadapter.redmineapi.bean.Journal;
+import java.awt.Component;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.JPanel;
+import javax.swing.JViewport;
+import javax.swing.SwingUtilities;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+import org.openide.util.NbBundle;
+import org.openide.util.RequestProcessor;
+
+/**
+ * Journal of an issue shown in a panel.
+ *
+ * <p>Only the newest entries are built ({@link JournalData}, including the
+ * rendered HTML) and materialized as {@link JournalDisplay}s, older entries
+ * are built in the background and added page by page when the link on top
+ * of the journal is clicked or scrolled into view. When the journal is
+ * replaced (after a refresh) the existing displays are reused - unchanged
+ * entries are not rendered again.</p>
+ *
+ * <p>All methods except {@link #getShownCount()} must be called on the
+ * EDT.</p>
+ */
+@NbBundle.Messages({
+    "# {0} - number of older journal entries",
+    "LBL_ShowOlderEntries=Show older entries ({0} more)",
+    "LBL_LoadingOlderEntries=Loading older entries..."
+})
+class JournalHistory {
+    private static final Logger LOG = Logger.getLogger(JournalHistory.class.getName());
+    /**
+     * Number of entries materialized at once
+     */
+    private static final int PAGE_SIZE = 20;
+    private static final RequestProcessor RP = new RequestProcessor(JournalHistory.class);
+
+    private final JPanel container;
+    private final LinkButton olderLink = new LinkButton();
+    private RedmineIssue issue;
+    private List<Journal> journal = Collections.emptyList();
+    /**
+     * index of the oldest materialized entry
+     */
+    private int firstShown;
+    /**
+     * number of materialized entries, read outside the EDT
+     */
+    private volatile int shownCount = PAGE_SIZE;
+    private boolean loadingOlder;
+    private JViewport viewport;
+    private boolean olderLinkInView;
+
+    private final ChangeListener viewportListener = new ChangeListener() {
+        @Override
+        public void stateChanged(ChangeEvent e) {
+            // Load only when the link scrolls into view, the link stays on
+            // top after loading and must not trigger the next page directly
+            boolean inView = isOlderLinkInView();
+            if (inView && !olderLinkInView) {
+                showOlder();
+            }
+            olderLinkInView = inView;
+        }
+    };
+
+    JournalHistory(JPanel container) {
+        this.container = container;
+        olderLink.setBorder(null);
+        olderLink.setAlignmentX(Component.CENTER_ALIGNMENT);
+        olderLink.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                showOlder();
+            }
+        });
+        container.addHierarchyListener(new HierarchyListener() {
+            @Override
+            public void hierarchyChanged(HierarchyEvent e) {
+                if ((e.getChangeFlags() & (HierarchyEvent.PARENT_CHANGED | HierarchyEvent.SHOWING_CHANGED)) != 0) {
+                    attachViewport();
+                }
+            }
+        });
+    }
+
+    /**
+     * @return number of the newest entries, that have to be passed to
+     * {@link #setJournal} to keep the entries shown currently
+     */
+    int getShownCount() {
+        return shownCount;
+    }
+
+    /**
+     * Replace the shown journal.
+     *
+     * @param issue issue the journal belongs to
+     * @param entries complete journal sorted from oldest to newest
+     * @param newest display data of the newest entries of the journal (see
+     * {@link #getShownCount()})
+     */
+    void setJournal(RedmineIssue issue, List<Journal> entries, List<JournalData> newest) {
+        assert SwingUtilities.isEventDispatchThread();
+        Map<Integer, JournalDisplay> existing = new HashMap<>();
+        for (Component c : container.getComponents()) {
+            if (c instanceof JournalDisplay) {
+                JournalDisplay display = (JournalDisplay) c;
+                existing.put(display.getJournalData().getId(), display);
+            }
+        }
+        this.issue = issue;
+        journal = new ArrayList<>(entries);
+        firstShown = journal.size() - newest.size();
+        shownCount = Math.max(PAGE_SIZE, newest.size());
+        loadingOlder = false;
+
+        // Reuse the display of the same entry first, then any other display
+        JournalDisplay[] displays = new JournalDisplay[newest.size()];
+        for (int i = 0; i < displays.length; i++) {
+            displays[i] = existing.remove(newest.get(i).getId());
+        }
+        Iterator<JournalDisplay> spare = existing.values().iterator();
+        container.removeAll();
+        updateOlderLink();
+        for (int i = 0; i < displays.length; i++) {
+            JournalData jd = newest.get(i);
+            if (displays[i] == null && spare.hasNext()) {
+                displays[i] = spare.next();
+            }
+            if (displays[i] == null) {
+                displays[i] = new JournalDisplay(jd);
+            } else {
+                displays[i].setJournalData(jd);
+            }
+            container.add(displays[i]);
+        }
+    }
+
+    private void showOlder() {
+        if (firstShown == 0 || loadingOlder) {
+            return;
+        }
+        final RedmineIssue pageIssue = issue;
+        final List<Journal> pageJournal = journal;
+        final int from = Math.max(0, firstShown - PAGE_SIZE);
+        final int to = firstShown;
+        loadingOlder = true;
+        olderLink.setText(Bundle.LBL_LoadingOlderEntries());
+        olderLink.setEnabled(false);
+        RP.post(new Runnable() {
+            @Override
+            public void run() {
+                List<JournalData> built = null;
+                try {
+                    built = JournalDisplay.buildJournalData(pageIssue, pageJournal, from, to);
+                } catch (RuntimeException ex) {
+                    LOG.log(Level.INFO, "Failed to build journal entries", ex); // NOI18N
+                }
+                final List<JournalData> page = built;
+                SwingUtilities.invokeLater(new Runnable() {
+                    @Override
+                    public void run() {
+                        // Discard the page if the journal was replaced meanwhile
+                        if (journal == pageJournal && firstShown == to) {
+                            addOlder(page, from);
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * @param page display data of the entries from {@code from}, null if
+     * building failed - the link is offered again then
+     */
+    private void addOlder(List<JournalData> page, int from) {
+        loadingOlder = false;
+        container.remove(olderLink);
+        if (page != null) {
+            for (int i = page.size() - 1; i >= 0; i--) {
+                container.add(new JournalDisplay(page.get(i)), 0);
+            }
+            firstShown = from;
+            shownCount = Math.max(PAGE_SIZE, journal.size() - firstShown);
+        }
+        updateOlderLink();
+        container.revalidate();
+        container.repaint();
+    }
+
+    private void updateOlderLink() {
+        if (firstShown > 0) {
+            olderLink.setText(Bundle.LBL_ShowOlderEntries(firstShown));
+            olderLink.setEnabled(true);
+            container.add(olderLink, 0);
+        }
+    }
+
+    private boolean isOlderLinkInView() {
+        return olderLink.getParent() == container
+                && olderLink.isShowing()
+                && !olderLink.getVisibleRect().isEmpty();
+    }
+
+    private void attachViewport() {
+        JViewport current = (JViewport) SwingUtilities.getAncestorOfClass(JViewport.class, container);
+        if (current != viewport) {
+            if (viewport != null) {
+                viewport.removeChangeListener(viewportListener);
+            }
+            viewport = current;
+            if (viewport != null) {
+                viewport.addChangeListener(viewportListener);
+            }
+        }
+        olderLinkInView = isOlderLinkInView();
+    }
+}
@@ -17,6 +17,7 @@ package com.kenai.redminenb.issue;
 
 import com.kenai.redminenb.Redmine;
 import com.kenai.redminenb.repository.RedmineRepository;
+import com.kenai.redminenb.repository.RequestPriority;
 import com.kenai.redminenb.util.ExceptionHandler;
 import com.kenai.redminenb.util.SafeAutoCloseable;
 import com.taskadapter.redmineapi.Include;
@@ -28,6 +29,7 @@ import java.io.File;
 import java.io.IOException;
 import java.text.DateFormat;
 import java.util.Date;
+import java.util.concurrent.Executor;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.swing.SwingUtilities;
@@ -109,6 +111,7 @@ public final class RedmineIssue {
     private com.taskadapter.redmineapi.bean.Issue issue = new com.taskadapter.redmineapi.bean.Issue();
     private RedmineRepository repository;
     private RedmineIssueController controller;
+    private final Executor requestExecutor;
 
     private final PropertyChangeSupport support;
 
@@ -117,11 +120,13 @@ public final class RedmineIssue {
 
     public RedmineIssue(RedmineRepository repo) {
         repository = repo;
+        requestExecutor = repo.createSequentialExecutor(RequestPriority.INTERACTIVE);
         support = new PropertyChangeSupport(this);
     }
 
     public RedmineIssue(RedmineRepository repo, String summary, String description) {
         repository = repo;
+        requestExecutor = repo.createSequentialExecutor(RequestPriority.INTERACTIVE);
         support = new PropertyChangeSupport(this);
         issue.setSubject(summary);
         issue.setDescription(description);
@@ -254,8 +259,10 @@ public final class RedmineIssue {
 
         try {
             if (issue != null && issue.getId() != null) {
-                setIssue(getRepository().getIssueManager().getIssueById(
-                        issue.getId(), Include.journals, Include.attachments, Include.watchers));
+                com.taskadapter.redmineapi.bean.Issue refreshed = getRepository().getIssueManager().getIssueById(
+                        issue.getId(), Include.journals, Include.attachments, Include.watchers);
+                getRepository().getIssueStore().put(refreshed);
+                setIssue(refreshed);
             }
             return true;
         } catch (RedmineException | RuntimeException ex) {
@@ -360,7 +367,15 @@ public final class RedmineIssue {
         } else {
             issue.setStartDate(scheduleInfo.getDate());
         }
-        getRepository().getRequestProcessor().execute(issueUpdate);
+        getRequestExecutor().execute(issueUpdate);
+    }
+
+    /**
+     * @return executor for work on this issue - the tasks run one after
+     * another in submission order
+     */
+    public Executor getRequestExecutor() {
+        return requestExecutor;
     }
     
     private Runnable issueUpdate = new Runnable() {
@@ -83,7 +83,7 @@ public class RedmineIssueController implements IssueController {
             issuePanel.opened();
             redmineIssue.opened();
 
-            redmineIssue.getRepository().getRequestProcessor().execute(new Runnable() {
+            redmineIssue.getRequestExecutor().execute(new Runnable() {
 
                 @Override
                 public void run() {
@@ -254,7 +254,7 @@ public class RedmineIssueController implements IssueController {
     @Override
     public boolean discardUnsavedChanges() {
         if(issuePanel != null) {
-            redmineIssue.getRepository().getRequestProcessor().execute(new Runnable() {
+            redmineIssue.getRequestExecutor().execute(new Runnable() {
                 public void run() {
                     issuePanel.initIssue();
                 }
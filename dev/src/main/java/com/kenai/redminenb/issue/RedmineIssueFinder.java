@@ -1,9 +1,10 @@
 package com.kenai.redminenb.issue;
 
+import com.kenai.redminenb.RedmineConfig;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.prefs.PreferenceChangeEvent;
+import java.util.prefs.PreferenceChangeListener;
 import org.netbeans.modules.bugtracking.spi.IssueFinder;
 import org.openide.ErrorManager;
 import org.openide.util.lookup.ServiceProvider;
@@ -17,10 +18,28 @@ import org.openide.util.lookup.ServiceProvider;
 public class RedmineIssueFinder implements IssueFinder {
 
    private static final int[] EMPTY_INT_ARR = new int[0];
+   /**
+    * Scanners are reused per thread - a scan does not call out of the
+    * scanner, so a thread never needs two of them at the same time.
+    */
+   private static final ThreadLocal<Impl> IMPL = new ThreadLocal<Impl>() {
+      @Override
+      protected Impl initialValue() {
+         return new Impl();
+      }
+   };
 
    @Override
    public int[] getIssueSpans(CharSequence text) {
-      int[] result = findBoundaries(text);
+      return getIssueSpans(text, Keywords.get());
+   }
+
+   /**
+    * Find issue references introduced by the given keywords instead of the
+    * configured ones.
+    */
+   int[] getIssueSpans(CharSequence text, IssueReferenceKeywords keywords) {
+      int[] result = findBoundaries(text, keywords);
       return (result != null) ? result : EMPTY_INT_ARR;
    }
 
@@ -34,9 +53,9 @@ public class RedmineIssueFinder implements IssueFinder {
    }
 
    @SuppressFBWarnings(value = "PZLA_PREFER_ZERO_LENGTH_ARRAYS")
-   private static int[] findBoundaries(CharSequence str) {
+   private static int[] findBoundaries(CharSequence str, IssueReferenceKeywords keywords) {
       try {
-         return getImpl().findBoundaries(str);
+         return getImpl().findBoundaries(str, keywords);
       } catch (Exception ex) {
          ErrorManager.getDefault().notify(ErrorManager.EXCEPTION, ex);
          return null;
@@ -44,7 +63,42 @@ public class RedmineIssueFinder implements IssueFinder {
    }
 
    private static Impl getImpl() {
-      return new Impl();
+      return IMPL.get();
+   }
+
+   /**
+    * The compiled keywords are cached and only recompiled when the configured
+    * definition changes, a scan does not touch the preferences.
+    */
+   private static final class Keywords implements PreferenceChangeListener {
+
+      private static final Keywords INSTANCE = new Keywords();
+
+      static {
+         RedmineConfig.getInstance().addPreferenceChangeListener(INSTANCE);
+         INSTANCE.compiled = compile();
+      }
+
+      private volatile IssueReferenceKeywords compiled;
+
+      private Keywords() {
+      }
+
+      static IssueReferenceKeywords get() {
+         return INSTANCE.compiled;
+      }
+
+      private static IssueReferenceKeywords compile() {
+         return IssueReferenceKeywords.compile(
+                 RedmineConfig.getInstance().getIssueReferenceKeywords());
+      }
+
+      @Override
+      public void preferenceChange(PreferenceChangeEvent evt) {
+         if (RedmineConfig.ISSUE_REFERENCE_KEYWORDS.equals(evt.getKey())) {
+            compiled = compile();
+         }
+      }
    }
 
    static RedmineIssueFinder getTestInstance() {
@@ -52,30 +106,21 @@ public class RedmineIssueFinder implements IssueFinder {
    }
 
    //--------------------------------------------------------------------------
-   @SuppressFBWarnings(value="DM_CONVERT_CASE", justification = "Relevent case are only invoked with enabled asserts and words are expected to be only english")
    private static final class Impl {
 
       /*
-       * This implementation is quite simple because of two preconditions:
-       *
-       * #1 - all defined bug-words ("bug", "issue") and all words of the bug
-       * number prefix ("duplicate of") consist of lowercase characters from the
-       * basic latin alphabet (a-z), no spaces #2 - all words that make a
-       * defined bug number prefix ("duplicate of") are unique
-       *
-       * This implementation relies on these preconditions and will may not work
-       * correctly if one or more of the preconditions are not met.
-       *
+       * Words are scanned letter by letter through the word trie of the
+       * configured keywords, at the end of a word the keyword automaton is
+       * advanced by the word (see IssueReferenceKeywords). Keywords ("bug",
+       * "issue", "duplicate of" by default) consist of letters from the
+       * basic latin alphabet (a-z) only.
        *
-       * Note that although all the bug words and the bug number prefix must be
-       * defined as lowercase, the implementation ignores case of characters
-       * that are passed to input of the finder, as long as these are from the
-       * basic latin alphabet. All letters that do not belong to the basic latin
-       * alphabet are considered as garbage, no matter what is their case.
+       * Note that although all keywords are defined as lowercase, the
+       * implementation ignores case of characters that are passed to input
+       * of the finder, as long as these are from the basic latin alphabet.
+       * All letters that do not belong to the basic latin alphabet are
+       * considered as garbage, no matter what is their case.
        */
-      private static final String[] BUGWORDS = new String[]{"bug", "issue"}; //NOI18N
-      private static final String BUG_NUMBER_PREFIX = "duplicate of"; //NOI18N
-      private static final String[] BUGNUM_PREFIX_PARTS;
       private static final String PUNCT_CHARS = ".,:;()[]{}";         //NOI18N
       private static final int LOWER_A = 'a';     //automatic conversion to int
       private static final int LOWER_Z = 'z';     //automatic conversion to int
@@ -88,54 +133,54 @@ public class RedmineIssueFinder implements IssueFinder {
       private static final int BUGWORD_NL = 6;
       private static final int STAR = 7;
       private static final int GARBAGE = 8;
+      /**
+       * Initial size of the span buffer (two spans)
+       */
+      private static final int INITIAL_BUFFER_SIZE = 4;
+      /**
+       * Span buffers larger than this are not kept after a scan
+       */
+      private static final int MAX_RETAINED_BUFFER_SIZE = 1024;
       private CharSequence str;
+      private IssueReferenceKeywords keywords;
       private int pos;
       private int state;
 
-      static {
-         BUGNUM_PREFIX_PARTS = BUG_NUMBER_PREFIX.split(" ");         //NOI18N
-
-         boolean asserts = false;
-         assert asserts = true;
-         if (asserts) {
-            /*
-             * Checks that precondition #1 is met - all bugwords the bug number
-             * prefix are lowercase:
-             */
-            for (int i = 0; i < BUGWORDS.length; i++) {
-               assert BUGWORDS[i].equals(
-                       BUGWORDS[i].toLowerCase());
-            }
-            for (int i = 0; i < BUGNUM_PREFIX_PARTS.length; i++) {
-               assert BUGNUM_PREFIX_PARTS[i].equals(
-                       BUGNUM_PREFIX_PARTS[i].toLowerCase());
-            }
-
-            /*
-             * Checks that precondition #2 is met - all elements of
-             * BUGNUM_PREFIX_PARTS are unique:
-             */
-            Set<String> bugnumPrefixPartsSet = new HashSet<>(7);
-            bugnumPrefixPartsSet.addAll(Arrays.asList(BUGNUM_PREFIX_PARTS));
-            assert bugnumPrefixPartsSet.size() == BUGNUM_PREFIX_PARTS.length;
-         }
-      }
       /**
-       * how many parts of the bugnum prefix ({@code "duplicate of"}) have been
-       * already parsed
+       * state of the keyword automaton, 0 if no keyword is in progress
+       */
+      private int keywordState;
+      /**
+       * node of the word trie for the current word, -1 if the word is no
+       * keyword word
        */
-      private int bugnumPrefixPartsProcessed;
+      private int wordNode;
+      /**
+       * start positions of the words of the keyword in progress (ring
+       * buffer indexed by {@code keywordWords})
+       */
+      private int[] wordStarts = new int[2];
+      private int keywordWords;
       int startOfWord;
       int start;
-      int[] result;
+      /**
+       * span buffer, holds pairs of start and end positions, the buffer
+       * survives the scan and is reused by the next scan
+       */
+      int[] spans = new int[INITIAL_BUFFER_SIZE];
+      int spanCount;
 
       private Impl() {
       }
 
-      private int[] findBoundaries(CharSequence str) {
+      private int[] findBoundaries(CharSequence str, IssueReferenceKeywords keywords) {
          reset();
 
          this.str = str;
+         this.keywords = keywords;
+         if (wordStarts.length < keywords.getMaxWords()) {
+            wordStarts = new int[keywords.getMaxWords()];
+         }
 
          for (pos = 0; pos < str.length(); pos++) {
             handleChar(str.charAt(pos));
@@ -143,6 +188,12 @@ public class RedmineIssueFinder implements IssueFinder {
          if (state == NUM) {
             storeResult(start, pos);
          }
+         int[] result = (spanCount == 0) ? null : Arrays.copyOf(spans, spanCount);
+         this.str = null;
+         this.keywords = null;
+         if (spans.length > MAX_RETAINED_BUFFER_SIZE) {
+            spans = new int[INITIAL_BUFFER_SIZE];
+         }
          return result;
       }
 
@@ -151,12 +202,14 @@ public class RedmineIssueFinder implements IssueFinder {
          pos = 0;
          state = INIT;
 
-         bugnumPrefixPartsProcessed = 0;
+         keywordState = 0;
+         keywordWords = 0;
+         wordNode = -1;
 
          startOfWord = -1;
          start = -1;
 
-         result = null;
+         spanCount = 0;
       }
 
       private void handleChar(int c) {
@@ -169,6 +222,7 @@ public class RedmineIssueFinder implements IssueFinder {
                   newState = HASH;
                } else if (isLetter(c)) {
                   rememberIsStart();
+                  wordNode = keywords.nextWordNode(0, c);
                   newState = CHARS;
                } else {
                   newState = getInitialState(c);
@@ -177,10 +231,10 @@ public class RedmineIssueFinder implements IssueFinder {
             case CHARS:
                if (isLetter(c)) {
                   newState = CHARS;
+                  wordNode = keywords.nextWordNode(wordNode, c);
                   keepCountingBugwords = true;
                } else if ((c == ' ') || (c == '\t') || (c == '\r') || (c == '\n')) {
-                  if ((bugnumPrefixPartsProcessed == 0) && isBugword()
-                          || tryHandleBugnumPrefixPart()) {
+                  if (tryHandleKeywordWord()) {
                      newState = ((c == ' ') || (c == '\t')) ? BUGWORD
                              : BUGWORD_NL;
                      keepCountingBugwords = true;
@@ -221,29 +275,28 @@ public class RedmineIssueFinder implements IssueFinder {
                   newState = BUGWORD_NL;
                } else if (c == '#') {
                   newState = HASH;
-                  if (isBugnumPrefix()) {
+                  if (keywords.getMatchedWords(keywordState) != 1) {
                      start = pos;        //exclude "duplicate of"
                   }
                } else if (isDigit(c)) {
-                  if (isPartialBugnumPrefix()) {
+                  int matchedWords = keywords.getMatchedWords(keywordState);
+                  if (matchedWords == 0) {
                      newState = getInitialState(c);
                   } else {
                      newState = NUM;
-                     if (isFullBugnumPrefix()) {
+                     if (matchedWords > 1) {
                         start = pos;    //exclude "duplicate of"
                      }
                   }
                } else if (isLetter(c)) {
+                  /*
+                   * the word may continue the keyword in progress or start
+                   * a new one - the keyword automaton handles both
+                   */
                   newState = CHARS;
-                  if (isPartialBugnumPrefix()) {
-                     keepCountingBugwords = true;
-                     startOfWord = pos;
-                  } else {
-                     /*
-                      * relies on precondition #2 (see top of the class)
-                      */
-                     rememberIsStart();
-                  }
+                  keepCountingBugwords = true;
+                  rememberIsStart();
+                  wordNode = keywords.nextWordNode(0, c);
                } else {
                   newState = getInitialState(c);
                }
@@ -277,7 +330,8 @@ public class RedmineIssueFinder implements IssueFinder {
             start = -1;
          }
          if (!keepCountingBugwords) {
-            bugnumPrefixPartsProcessed = 0;
+            keywordState = 0;
+            keywordWords = 0;
          }
          state = newState;
       }
@@ -293,21 +347,14 @@ public class RedmineIssueFinder implements IssueFinder {
 
       private void storeResult(int start, int end) {
          assert (start != -1);
-         if (result == null) {
-            result = new int[]{start, end};
-         } else {
-            int[] newResult = new int[result.length + 2];
-            System.arraycopy(result, 0, newResult, 0, result.length);
-            newResult[result.length] = start;
-            newResult[result.length + 1] = end;
-            result = newResult;
+         if (spanCount + 2 > spans.length) {
+            spans = Arrays.copyOf(spans, spans.length * 2);
          }
+         spans[spanCount++] = start;
+         spans[spanCount++] = end;
       }
 
       private static boolean isLetter(int c) {
-         /*
-          * relies on precondition #1 (see the top of the class)
-          */
          c |= 0x20;
          return ((c >= LOWER_A) && (c <= LOWER_Z));
       }
@@ -325,68 +372,24 @@ public class RedmineIssueFinder implements IssueFinder {
          return PUNCT_CHARS.indexOf(c) != -1;
       }
 
-      private boolean isBugword() {
-         /*
-          * relies on precondition #1 (see the top of the class)
-          */
-         CharSequence word = str.subSequence(start, pos);
-         for (int i = 0; i < BUGWORDS.length; i++) {
-            if (equalsIgnoreCase(BUGWORDS[i], word)) {
-               return true;
-            }
-         }
-         return false;
-      }
-
-      private boolean tryHandleBugnumPrefixPart() {
-         CharSequence word = str.subSequence(startOfWord, pos);
-         if ((bugnumPrefixPartsProcessed < BUGNUM_PREFIX_PARTS.length)
-                 && equalsIgnoreCase(BUGNUM_PREFIX_PARTS[bugnumPrefixPartsProcessed], word)) {
-            bugnumPrefixPartsProcessed++;
-            return true;
-         } else if ((bugnumPrefixPartsProcessed != 0)
-                 && equalsIgnoreCase(BUGNUM_PREFIX_PARTS[0], word)) {
-            /*
-             * handles strings such as "duplicate duplicate of"
-             */
-            bugnumPrefixPartsProcessed = 1;
-            start = startOfWord;
-            return true;
-         } else {
-            return false;
-         }
-      }
-
-      private boolean isBugnumPrefix() {
-         return (bugnumPrefixPartsProcessed != 0);
-      }
-
-      private boolean isPartialBugnumPrefix() {
-         return (bugnumPrefixPartsProcessed > 0)
-                 && (bugnumPrefixPartsProcessed < BUGNUM_PREFIX_PARTS.length);
-      }
-
-      private boolean isFullBugnumPrefix() {
-         return bugnumPrefixPartsProcessed == BUGNUM_PREFIX_PARTS.length;
-      }
-   }
-
-   private static boolean equalsIgnoreCase(CharSequence pattern, CharSequence str) {
-      final int patternLength = pattern.length();
-
-      if (str.length() != patternLength) {
-         return false;
-      }
-
-      /*
-       * relies on precondition #1 (see the top of the class)
+      /**
+       * Advances the keyword automaton by the word that ends at the current
+       * position.
+       *
+       * @return true if the word completes or continues a keyword
        */
-      for (int i = 0; i < patternLength; i++) {
-         if ((str.charAt(i) | 0x20) != pattern.charAt(i)) {
+      private boolean tryHandleKeywordWord() {
+         int next = keywords.nextState(keywordState, wordNode);
+         if (next == 0) {
             return false;
          }
+         wordStarts[keywordWords++ % wordStarts.length] = startOfWord;
+         keywordState = next;
+         int matchedWords = keywords.getMatchedWords(next);
+         if (matchedWords > 0) {
+            start = wordStarts[(keywordWords - matchedWords) % wordStarts.length];
+         }
+         return true;
       }
-
-      return true;
    }
 }
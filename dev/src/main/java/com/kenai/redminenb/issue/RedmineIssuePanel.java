@@ -115,6 +115,7 @@ public class RedmineIssuePanel extends VerticalScrollPane {
    private JPopupMenu toolbarPopup;
    private final ExpandablePanel commentPanel;
    private final ExpandablePanel logtimePanel;
+   private final JournalHistory journalHistory;
    
    private final static int CUSTOM_ROW_START = 9;
    private final static int CUSTOM_ROW_END = 18;
@@ -135,7 +136,7 @@ public class RedmineIssuePanel extends VerticalScrollPane {
                     project = null;
                 }
                 final Tracker tracker = (Tracker) trackerComboBox.getSelectedItem();
-                RedmineIssuePanel.this.redmineIssue.getRepository().getRequestProcessor().execute(new Runnable() {
+                RedmineIssuePanel.this.redmineIssue.getRequestExecutor().execute(new Runnable() {
                     @Override
                     public void run() {
                         try {
@@ -158,9 +159,10 @@ public class RedmineIssuePanel extends VerticalScrollPane {
       commentPanel = new ExpandablePanel(updateCommentLabel, updateCommentTabPanel);
       logtimeInputPanel.setVisible(false);
       logtimePanel = new ExpandablePanel(logtimeLabel, logtimeInputPanel);
+      journalHistory = new JournalHistory(journalPane);
       privateCheckBox.setVisible(false);
       updateRunning.set(1);
-      redmineIssue.getRepository().getRequestProcessor().execute(new Runnable() {
+      redmineIssue.getRequestExecutor().execute(new Runnable() {
           @Override
           public void run() {
               Runnable edtUpdate = initValues();
@@ -224,7 +226,17 @@ public class RedmineIssuePanel extends VerticalScrollPane {
    }
    
    void updateTextileOutput() {
-        htmlOutputLabel.setTextileText(descTextArea.getText());
+        String description = descTextArea.getText();
+        com.taskadapter.redmineapi.bean.Issue issue = redmineIssue.getIssue();
+        // Only the unmodified description is cached, drafts would just
+        // displace cached entries
+        if (issue != null && StringUtils.isNotBlank(description)
+                && description.equals(issue.getDescription())) {
+            htmlOutputLabel.setHTMLText(redmineIssue.getRepository()
+                    .getTextileCache().convertToHTML(description));
+        } else {
+            htmlOutputLabel.setTextileText(description);
+        }
    }
 
    void addToolbarPopupButton() {
@@ -284,7 +296,8 @@ public class RedmineIssuePanel extends VerticalScrollPane {
         final Holder<IssueStatus> issueStatus = new Holder<>();
         final Holder<IssuePriority> ip = new Holder<>();
         final Holder<NestedProject> defaultProject = new Holder<>();
-        final ArrayList<JournalData> journal = new ArrayList<>();
+        final List<Journal> journalEntries = new ArrayList<>();
+        final List<JournalData> newestJournal = new ArrayList<>();
 
         if (issue != null && issue.getPriorityId() != null) {
             ip.value = redmineIssue.getRepository().getIssuePriority(issue.getPriorityId());
@@ -297,12 +310,12 @@ public class RedmineIssuePanel extends VerticalScrollPane {
         }
 
         if (issue != null && issue.getJournals() != null) {
-            List<Journal> journalEntries = new ArrayList<>(issue.getJournals());
+            journalEntries.addAll(issue.getJournals());
             Collections.sort(journalEntries, RedmineUtil.JournalComparator.SINGLETON);
-            for (int i = 0; i < journalEntries.size(); i++) {
-                journal.add(JournalDisplay.buildJournalData(
-                        redmineIssue, journalEntries.get(i), i));
-            }
+            // Older entries are built by the history when they are shown
+            int from = Math.max(0, journalEntries.size() - journalHistory.getShownCount());
+            newestJournal.addAll(JournalDisplay.buildJournalData(
+                    redmineIssue, journalEntries, from, journalEntries.size()));
         }
 
         try {
@@ -405,10 +418,7 @@ public class RedmineIssuePanel extends VerticalScrollPane {
                     } else {
                         journalOuterPane.setVisible(false);
                     }
-                    journalPane.removeAll();
-                    for (JournalData jd : journal) {
-                        journalPane.add(new JournalDisplay(jd));
-                    }
+                    journalHistory.setJournal(redmineIssue, journalEntries, newestJournal);
                     journalPane.doLayout();
                     journalPane.revalidate();
 
@@ -475,7 +485,7 @@ public class RedmineIssuePanel extends VerticalScrollPane {
                             if (result == JFileChooser.APPROVE_OPTION) {
                                 lastDirectory = fileChooser.getCurrentDirectory();
                                 final File selectedFile = fileChooser.getSelectedFile();
-                                redmineIssue.getRepository().getRequestProcessor().execute(new Runnable() {
+                                redmineIssue.getRequestExecutor().execute(new Runnable() {
                                     @Override
                                     public void run() {
                                         redmineIssue.attachFile(selectedFile,
@@ -1725,7 +1735,7 @@ public class RedmineIssuePanel extends VerticalScrollPane {
             && StringUtils.isNotBlank(d.getInputText())) {
             final NestedProject np = (NestedProject) projectComboBox.getSelectedItem();
             assert np != null;
-            redmineIssue.getRepository().getRequestProcessor().execute(
+            redmineIssue.getRequestExecutor().execute(
                     new Runnable() {
                         @Override
                         public void run() {
@@ -1768,7 +1778,7 @@ public class RedmineIssuePanel extends VerticalScrollPane {
             && StringUtils.isNotBlank(d.getInputText())) {
             final NestedProject np = (NestedProject) projectComboBox.getSelectedItem();
             assert np != null;
-            redmineIssue.getRepository().getRequestProcessor().execute(
+            redmineIssue.getRequestExecutor().execute(
                     new Runnable() {
                         @Override
                         public void run() {
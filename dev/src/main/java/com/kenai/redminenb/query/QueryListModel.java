@@ -25,17 +25,49 @@ import com.taskadapter.redmineapi.bean.UserFactory;
 import com.taskadapter.redmineapi.bean.Version;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import javax.swing.table.AbstractTableModel;
 
 public class QueryListModel extends AbstractTableModel{
 
     private List<RedmineIssue> issues = new ArrayList<>();
+    private Set<RedmineIssue> issueSet = new HashSet<>();
 
+    /**
+     * Replace the content of the model. If the model already holds exactly
+     * the supplied issues, the rows are only reported as updated (their data
+     * may have been refreshed), so that selection and scroll position survive
+     * the final update of a streamed query.
+     */
     public void setIssues(Collection<RedmineIssue> issues) {
+        Set<RedmineIssue> newIssueSet = new HashSet<>(issues);
+        if (newIssueSet.size() == this.issues.size() && newIssueSet.equals(issueSet)) {
+            if (! this.issues.isEmpty()) {
+                fireTableRowsUpdated(0, this.issues.size() - 1);
+            }
+            return;
+        }
         this.issues = new ArrayList<>(issues);
+        this.issueSet = newIssueSet;
         fireTableDataChanged();
     }
+
+    /**
+     * Append issues not yet contained in the model.
+     */
+    public void addIssues(Collection<RedmineIssue> newIssues) {
+        int firstRow = issues.size();
+        for (RedmineIssue ri : newIssues) {
+            if (issueSet.add(ri)) {
+                issues.add(ri);
+            }
+        }
+        if (issues.size() > firstRow) {
+            fireTableRowsInserted(firstRow, issues.size() - 1);
+        }
+    }
     
     public RedmineIssue getIssue(int pos) {
         return issues.get(pos);
@@ -16,27 +16,43 @@
 package com.kenai.redminenb.query;
 
 import com.kenai.redminenb.Redmine;
+import com.kenai.redminenb.RedmineConfig;
 import com.kenai.redminenb.RedmineConnector;
+import com.kenai.redminenb.diagnostics.Metrics;
 import com.kenai.redminenb.issue.RedmineIssue;
+import com.kenai.redminenb.query.SearchCoalescer.PageHandler;
 import com.kenai.redminenb.repository.IssueCache;
+import com.kenai.redminenb.repository.IssueStore;
 import com.kenai.redminenb.repository.RedmineRepository;
+import com.kenai.redminenb.repository.RequestPriority;
 import com.kenai.redminenb.util.ExceptionHandler;
 import com.kenai.redminenb.util.NestedProject;
 import com.kenai.redminenb.util.SafeAutoCloseable;
+import com.kenai.redminenb.util.ThrottledRequestProcessor;
 import com.taskadapter.redmineapi.RedmineException;
 import com.taskadapter.redmineapi.bean.Issue;
 import com.taskadapter.redmineapi.bean.Project;
+import com.taskadapter.redmineapi.internal.ResultsWrapper;
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
+import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.swing.SwingUtilities;
@@ -44,6 +60,7 @@ import org.apache.commons.lang.StringUtils;
 import org.netbeans.modules.bugtracking.spi.QueryController;
 import org.netbeans.modules.bugtracking.spi.QueryProvider;
 import org.openide.util.Mutex;
+import org.openide.util.RequestProcessor;
 
 /**
  * Redmine Query.
@@ -52,17 +69,60 @@ import org.openide.util.Mutex;
  */
 public final class RedmineQuery {
     private static final Logger LOG = Logger.getLogger(RedmineQuery.class.getName());
+    /**
+     * Issues per request - according to the documentation 100 is the maximum
+     */
+    static final int PAGE_SIZE = 100;
+    /**
+     * Limit request count
+     */
+    static final int MAX_PAGES = 100;
+    /**
+     * Shared pool for concurrent page retrieval - its throughput bounds the
+     * number of parallel page requests over all queries.
+     */
+    private static final ThrottledRequestProcessor PAGE_FETCHER
+            = new ThrottledRequestProcessor("Redmine query page fetcher"); // NOI18N
 
     private String name;
     private final RedmineRepository repository;
-    private final Set<RedmineIssue> issues = new HashSet<>();
+    /**
+     * Only modified by refreshes (serialized by the refresh lock), but read
+     * concurrently by the UI.
+     */
+    private final Set<RedmineIssue> issues = Collections.newSetFromMap(new ConcurrentHashMap<RedmineIssue, Boolean>());
     //
-    private boolean firstRun = true;
-    private boolean saved;
-    private long lastRefresh;
+    private volatile boolean firstRun = true;
+    private volatile boolean saved;
+    private volatile long lastRefresh;
+    /**
+     * Newest updated_on timestamp seen in the result - an automatic refresh
+     * only fetches issues updated since then.
+     */
+    private Date deltaCursor;
+    /**
+     * Parameters the delta cursor is valid for.
+     */
+    private Map<String, ParameterValue[]> deltaParameters;
+    private long lastFullRefresh;
+    /**
+     * Refreshes run on the multi-threaded repository request processor -
+     * this lock keeps two refreshes of one query from interleaving.
+     */
+    private final Object refreshLock = new Object();
+    private final SearchCoalescer.Fetcher pageFetcher = new SearchCoalescer.Fetcher() {
+        @Override
+        public void fetch(Map<String, String> fetchParameters, PageHandler pageHandler) throws RedmineException {
+            fetchPages(fetchParameters, pageHandler);
+        }
+    };
     private final PropertyChangeSupport support = new PropertyChangeSupport(this);
     //
-    private Map<String, ParameterValue[]> parameters = new HashMap<>();
+    /**
+     * Replaced, not modified, when the parameters change - refreshes work on
+     * the instance present when they start.
+     */
+    private volatile Map<String, ParameterValue[]> parameters = new HashMap<>();
     private final RedmineQueryController queryController;
     
     private Integer busy = 0;
@@ -146,7 +206,7 @@ public final class RedmineQuery {
         }
     }
 
-    private QueryProvider.IssueContainer<RedmineIssue> delegateContainer;
+    private volatile QueryProvider.IssueContainer<RedmineIssue> delegateContainer;
 
     void setIssueContainer(QueryProvider.IssueContainer<RedmineIssue> ic) {
         delegateContainer = ic;
@@ -182,36 +242,127 @@ public final class RedmineQuery {
             executeQuery(new Runnable() {
                 @Override
                 public void run() {
-                    Redmine.LOG.log(Level.FINE, "refresh start - {0}", name); // NOI18N
+                    final Map<String, ParameterValue[]> searchParameters = new HashMap<>(parameters);
+                    final QueryProvider.IssueContainer<RedmineIssue> container = delegateContainer;
+                    Set<Integer> updated = null;
+                    if (autoRefresh && canRefreshDelta(searchParameters)) {
+                        try {
+                            updated = repository.getUpdatedIssueTracker().getUpdatedSince(deltaCursor, pageFetcher);
+                        } catch (RedmineException | RuntimeException ex) {
+                            LOG.log(Level.FINE, "Failed to fetch updated issues, refreshing completely", ex);
+                        }
+                    }
+                    // Issues updated since the last run, regardless of the
+                    // query - null if a delta refresh is not possible
+                    final Set<Integer> updatedIds = updated;
+                    final boolean delta = updatedIds != null;
+                    Redmine.LOG.log(Level.FINE, "refresh start - {0} (delta: {1})", new Object[]{name, delta}); // NOI18N
+                    long start = System.nanoTime();
+                    boolean success = false;
                     try {
-                        if (delegateContainer != null) {
-                            delegateContainer.refreshingStarted();
-                            delegateContainer.clear();
+                        if (container != null) {
+                            container.refreshingStarted();
+                            if (!delta) {
+                                container.clear();
+                            }
                         }
 
-                        issues.clear();
+                        final IssueCache issueCache = repository.getIssueCache();
+                        final IssueStore issueStore = repository.getIssueStore();
+
+                        if (delta) {
+                            // Listeners expect the complete result
+                            for (RedmineIssue redmineIssue : new ArrayList<>(issues)) {
+                                fireNotifyData(redmineIssue);
+                            }
+                        } else {
+                            issues.clear();
+                            if (firstRun && isSaved() && name != null) {
+                                // Show the result of the last session while the
+                                // query is executed
+                                List<Issue> storedResult = issueStore.getQueryResult(name);
+                                if (storedResult != null) {
+                                    for (Issue issue : storedResult) {
+                                        RedmineIssue redmineIssue = issueCache.cachedRedmineIssue(issue);
+                                        if (issues.add(redmineIssue)) {
+                                            if (container != null) {
+                                                container.add(redmineIssue);
+                                            }
+                                            fireNotifyData(redmineIssue);
+                                        }
+                                    }
+                                }
+                            }
+                        }
 
                         firstRun = false;
+                        final Date[] newestUpdate = new Date[]{delta ? deltaCursor : null};
+                        final Set<RedmineIssue> found = new HashSet<>();
                         try {
-                            List<Issue> issueArr = doSearch();
-                            IssueCache issueCache = repository.getIssueCache();
-                            for (Issue issue : issueArr) {
-                                RedmineIssue redmineIssue = issueCache.cachedRedmineIssue(issue);
-                                issues.add(redmineIssue);
-                                if (delegateContainer != null) {
-                                    delegateContainer.add(redmineIssue);
+                            doSearch(searchParameters, delta ? deltaCursor : null, autoRefresh, new PageHandler() {
+                                @Override
+                                public void handlePage(List<Issue> page) {
+                                    issueStore.putAll(page);
+                                    for (Issue issue : page) {
+                                        Date updatedOn = issue.getUpdatedOn();
+                                        if (updatedOn != null && (newestUpdate[0] == null || updatedOn.after(newestUpdate[0]))) {
+                                            newestUpdate[0] = updatedOn;
+                                        }
+                                        RedmineIssue redmineIssue = issueCache.cachedRedmineIssue(issue);
+                                        boolean updated = applyUpdate(redmineIssue, issue);
+                                        found.add(redmineIssue);
+                                        if (issues.add(redmineIssue)) {
+                                            if (container != null) {
+                                                container.add(redmineIssue);
+                                            }
+                                            fireNotifyData(redmineIssue); // XXX - !!! triggers getIssues()
+                                        } else if (updated) {
+                                            fireNotifyData(redmineIssue);
+                                        }
+                                    }
+                                }
+                            });
+                            // A full refresh drops restored issues, that are
+                            // not part of the result anymore. A delta refresh
+                            // drops issues, that were updated and stopped
+                            // matching the query.
+                            List<RedmineIssue> stale = new ArrayList<>();
+                            for (RedmineIssue redmineIssue : issues) {
+                                if (!found.contains(redmineIssue)
+                                        && (!delta || updatedIds.contains(redmineIssue.getIssue().getId()))) {
+                                    stale.add(redmineIssue);
                                 }
-                                fireNotifyData(redmineIssue); // XXX - !!! triggers getIssues()
                             }
-
+                            if (!stale.isEmpty()) {
+                                issues.removeAll(stale);
+                                if (container != null) {
+                                    container.remove(stale.toArray(new RedmineIssue[stale.size()]));
+                                }
+                            }
+                            if (!delta) {
+                                lastFullRefresh = System.currentTimeMillis();
+                            }
+                            deltaCursor = newestUpdate[0];
+                            deltaParameters = searchParameters;
+                            if (isSaved() && name != null) {
+                                List<Integer> ids = new ArrayList<>(issues.size());
+                                for (RedmineIssue redmineIssue : issues) {
+                                    ids.add(redmineIssue.getIssue().getId());
+                                }
+                                issueStore.putQueryResult(name, ids);
+                            }
+                            success = true;
                         } catch (RedmineException | RuntimeException ex) {
+                            // The result is incomplete - start over next time
+                            deltaCursor = null;
                             ExceptionHandler.handleException(LOG, "Failed to search", ex);
                         }
 
-                        if (delegateContainer != null) {
-                            delegateContainer.refreshingFinished();
+                        if (container != null) {
+                            container.refreshingFinished();
                         }
                     } finally {
+                        Metrics.record(delta ? "query.refresh.delta" : "query.refresh", start, success); // NOI18N
                         logQueryEvent(issues.size(), autoRefresh);
                         Redmine.LOG.log(Level.FINE, "refresh finish - {0}", name); // NOI18N
                     }
@@ -222,6 +373,78 @@ public final class RedmineQuery {
         return ret[0];
     }
 
+    /**
+     * Apply newer list data to an already known issue instance.
+     *
+     * <p>The list representation lacks journals, attachments and watchers.
+     * Issues carrying these (opened issues) keep the known ones until they
+     * are reloaded completely - the reload is posted to the prefetch lane,
+     * so the page is not held up by requests for single issues.</p>
+     *
+     * @return true if the issue data changed
+     */
+    private static boolean applyUpdate(final RedmineIssue redmineIssue, Issue issue) {
+        Issue current = redmineIssue.getIssue();
+        if (current == issue || Objects.equals(current.getUpdatedOn(), issue.getUpdatedOn())) {
+            return false;
+        }
+        boolean detailed = !(current.getJournals().isEmpty() && current.getAttachments().isEmpty()
+                && current.getWatchers().isEmpty());
+        if (detailed) {
+            issue.addJournals(current.getJournals());
+            issue.addAttachments(current.getAttachments());
+            issue.addWatchers(current.getWatchers());
+        }
+        redmineIssue.setIssue(issue);
+        if (detailed) {
+            redmineIssue.getRepository().post(new Runnable() {
+                @Override
+                public void run() {
+                    redmineIssue.refresh();
+                }
+            }, RequestPriority.PREFETCH);
+        }
+        return true;
+    }
+
+    static String formatTimestamp(Date date) {
+        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'"); // NOI18N
+        sdf.setTimeZone(TimeZone.getTimeZone("UTC")); // NOI18N
+        return sdf.format(date);
+    }
+
+    /**
+     * A delta refresh only fetches the issues updated since the last run and
+     * merges them into the current result. Issues that were updated and
+     * stopped matching the query are found with the issues updated since the
+     * last run, regardless of the query (see {@link UpdatedIssueTracker}) -
+     * if there are too many of these, the query is refreshed completely.
+     * Deleted issues and issues that
+     * became invisible are only removed by a full refresh, so a full refresh
+     * is forced after the configured interval.
+     * <p>
+     * Saved queries (the server ignores additional filters) and queries
+     * filtering on updated_on themselves are always fully refreshed.
+     */
+    private boolean canRefreshDelta(Map<String, ParameterValue[]> searchParameters) {
+        int fullRefreshInterval = RedmineConfig.getInstance().getQueryFullRefreshInterval();
+        if (fullRefreshInterval <= 0 || deltaCursor == null || firstRun) {
+            return false;
+        }
+        if (System.currentTimeMillis() - lastFullRefresh
+                >= TimeUnit.MINUTES.toMillis(fullRefreshInterval)) {
+            return false;
+        }
+        if (!searchParameters.equals(deltaParameters)) {
+            return false;
+        }
+        return !(isParameterSet(searchParameters, "query_id") || isParameterSet(searchParameters, "updated_on"));
+    }
+
+    private static boolean isParameterSet(Map<String, ParameterValue[]> searchParameters, String parameter) {
+        return StringUtils.isNotBlank(ParameterValue.flattenList(searchParameters.get(parameter)));
+    }
+
     protected void logQueryEvent(int count, boolean autoRefresh) {
         LOG.fine(String.format("Query '%s-%s', Count: %d, Autorefresh: %b",
                 RedmineConnector.NAME,
@@ -240,17 +463,30 @@ public final class RedmineQuery {
      *
      * @see http://www.redmine.org/projects/redmine/wiki/Rest_Issues
      * @see RedmineQueryController#RedmineQueryController
-     * @param searchParameters
+     * <p>
+     * Result pages are passed to the supplied handler in result order as soon
+     * as they are available, so that the result can be shown incrementally.
+     *
+     * <p>
+     * Identical searches running concurrently (from this or other queries of
+     * the repository) are executed only once, see {@link SearchCoalescer}.
+     *
+     * @param searchParameters parameters of the query
+     * @param updatedSince if not null only issues updated at or after this
+     * timestamp are fetched
+     * @param reuseRecent if true the result of an identical search, that
+     * finished just before, is reused
+     * @param pageHandler receives the (post filtered) result pages
      */
-    private List<Issue> doSearch() throws RedmineException {
+    private void doSearch(Map<String, ParameterValue[]> searchParameters, Date updatedSince, boolean reuseRecent, PageHandler pageHandler) throws RedmineException {
         boolean searchDescription = false;
         
-        ParameterValue[] queryStringParameter = parameters.get("query");
+        ParameterValue[] queryStringParameter = searchParameters.get("query");
         String queryStr = ParameterValue.flattenList(queryStringParameter);
 
         Map<String, String> m = new HashMap<>();
 
-        for (Entry<String,ParameterValue[]> p : parameters.entrySet()) {
+        for (Entry<String,ParameterValue[]> p : searchParameters.entrySet()) {
             String parameter = p.getKey();
             // Query parameter is handled seperatedly
             if("query".equals(parameter)) {
@@ -289,37 +525,150 @@ public final class RedmineQuery {
             }
         }
 
-        List<Issue> issueArr = new ArrayList<>();
-        // Limit request count
-        int offset = 0;
-        for(int i = 0; i < 100; i++) {
-            // Perform search
-            // According to the documentation 100 is the maximum  
-            m.put("limit", Integer.toString(100));
-            m.put("offset", Integer.toString(offset));
-            List<Issue> queryResult = repository.getIssueManager().getIssues(m).getResults();
-            issueArr.addAll(queryResult);
-            offset += queryResult.size();
-            if(queryResult.isEmpty()) {
-                break;
-            }
+        if (updatedSince != null) {
+            m.put("updated_on", ">=" + formatTimestamp(updatedSince)); // NOI18N
         }
 
-        // Post filtering: Query string for description
         if (searchDescription && StringUtils.isNotBlank(queryStr)) {
-            List<Issue> newArr = new ArrayList<>(issueArr.size());
-            for (Issue issue : issueArr) {
+            pageHandler = new DescriptionFilter(pageHandler, queryStr);
+        }
+
+        repository.getSearchCoalescer().search(m, pageFetcher, pageHandler, reuseRecent);
+    }
+
+    /**
+     * Retrieve all pages of the search result.
+     *
+     * <p>The first page is always fetched directly. If parallel page fetching
+     * is enabled and the server reported the total result count, the
+     * remaining pages are retrieved concurrently and handed over in order.
+     * Else the offset is walked sequentially until an empty page is
+     * returned.</p>
+     *
+     * <p>Each page is passed to the handler as soon as it and all pages
+     * before it have been retrieved.</p>
+     */
+    private void fetchPages(Map<String, String> searchParameters, PageHandler pageHandler) throws RedmineException {
+        ResultsWrapper<Issue> firstPage = fetchPage(searchParameters, 0);
+        List<Issue> firstResults = firstPage.getResults();
+        Integer totalCount = firstPage.getTotalFoundOnServer();
+        int parallelism = RedmineConfig.getInstance().getQueryPageFetchParallelism();
+
+        if (parallelism <= 1 || totalCount == null) {
+            pageHandler.handlePage(firstResults);
+            int offset = firstResults.size();
+            boolean lastPageEmpty = firstResults.isEmpty();
+            for (int i = 1; i < MAX_PAGES && !lastPageEmpty; i++) {
+                List<Issue> queryResult = fetchPage(searchParameters, offset).getResults();
+                pageHandler.handlePage(queryResult);
+                offset += queryResult.size();
+                lastPageEmpty = queryResult.isEmpty();
+            }
+            return;
+        }
+
+        int pageSize = PAGE_SIZE;
+        if (firstPage.getLimitOnServer() != null && firstPage.getLimitOnServer() > 0) {
+            pageSize = firstPage.getLimitOnServer();
+        }
+        int pageCount = Math.min(MAX_PAGES, (totalCount + pageSize - 1) / pageSize);
+
+        // Sized from the same value the work was split by
+        RequestProcessor fetchProcessor = PAGE_FETCHER.get(parallelism);
+        List<Future<List<Issue>>> pages = new ArrayList<>(Math.max(0, pageCount - 1));
+        for (int i = 1; i < pageCount; i++) {
+            pages.add(fetchProcessor.submit(new PageFetch(searchParameters, i * pageSize)));
+        }
+        try {
+            pageHandler.handlePage(firstResults);
+            for (Future<List<Issue>> page : pages) {
+                pageHandler.handlePage(page.get());
+            }
+        } catch (InterruptedException ex) {
+            cancelAll(pages);
+            Thread.currentThread().interrupt();
+            throw new RedmineException("Query was interrupted", ex);
+        } catch (ExecutionException ex) {
+            cancelAll(pages);
+            Throwable cause = ex.getCause();
+            if (cause instanceof RedmineException) {
+                throw (RedmineException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else {
+                throw new RedmineException(cause);
+            }
+        } catch (RuntimeException ex) {
+            cancelAll(pages);
+            throw ex;
+        }
+    }
+
+    private ResultsWrapper<Issue> fetchPage(Map<String, String> searchParameters, int offset) throws RedmineException {
+        Map<String, String> pageParameters = new HashMap<>(searchParameters);
+        pageParameters.put("limit", Integer.toString(PAGE_SIZE));
+        pageParameters.put("offset", Integer.toString(offset));
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            ResultsWrapper<Issue> result = repository.getIssueManager().getIssues(pageParameters);
+            success = true;
+            return result;
+        } finally {
+            Metrics.record("query.page", start, success); // NOI18N
+        }
+    }
+
+    private static void cancelAll(List<? extends Future<?>> futures) {
+        for (Future<?> f : futures) {
+            f.cancel(true);
+        }
+    }
+
+    /**
+     * Post filter: The Redmine REST API can't search the description, so
+     * the pages are filtered before they are passed on.
+     */
+    private static class DescriptionFilter implements PageHandler {
+        private final PageHandler delegate;
+        private final String queryStr;
+
+        public DescriptionFilter(PageHandler delegate, String queryStr) {
+            this.delegate = delegate;
+            this.queryStr = queryStr;
+        }
+
+        @Override
+        public void handlePage(List<Issue> page) {
+            List<Issue> filtered = new ArrayList<>(page.size());
+            for (Issue issue : page) {
                 if (StringUtils.containsIgnoreCase(issue.getDescription(), queryStr)) {
-                    newArr.add(issue);
+                    filtered.add(issue);
                 }
             }
-            issueArr = newArr;
+            delegate.handlePage(filtered);
+        }
+    }
+
+    private class PageFetch implements Callable<List<Issue>> {
+        private final Map<String, String> searchParameters;
+        private final int offset;
+
+        public PageFetch(Map<String, String> searchParameters, int offset) {
+            this.searchParameters = searchParameters;
+            this.offset = offset;
         }
 
-        return issueArr;
+        @Override
+        public List<Issue> call() throws RedmineException {
+            return fetchPage(searchParameters, offset).getResults();
+        }
     }
 
     public void remove() {
+        if (name != null) {
+            repository.getIssueStore().removeQueryResult(name);
+        }
         repository.removeQuery(this.getDisplayName());
         firePropertyChanged();
     }
@@ -390,13 +739,15 @@ public final class RedmineQuery {
 
     // XXX move to API
     protected void executeQuery(Runnable r) {
-        fireStarted();
-        try {
-            r.run();
-        } finally {
-            lastRefresh = System.currentTimeMillis();
-            fireFinished();
-            firePropertyChanged();
+        synchronized (refreshLock) {
+            fireStarted();
+            try {
+                r.run();
+            } finally {
+                lastRefresh = System.currentTimeMillis();
+                fireFinished();
+                firePropertyChanged();
+            }
         }
     }
 
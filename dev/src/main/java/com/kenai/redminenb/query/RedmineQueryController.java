@@ -24,6 +24,7 @@ import com.kenai.redminenb.query.RedmineQueryParameter.ListParameter;
 import com.kenai.redminenb.query.RedmineQueryParameter.ComboParameter;
 import com.kenai.redminenb.query.RedmineQueryParameter.TextFieldParameter;
 import com.kenai.redminenb.repository.RedmineRepository;
+import com.kenai.redminenb.repository.RequestPriority;
 import com.kenai.redminenb.timetracker.IssueTimeTrackerTopComponent;
 import com.kenai.redminenb.user.RedmineUser;
 import com.kenai.redminenb.util.AssigneeWrapper;
@@ -31,7 +32,6 @@ import com.kenai.redminenb.util.CancelableRunnable;
 import com.kenai.redminenb.util.CancelableRunnableWrapper;
 import com.kenai.redminenb.util.NestedProject;
 import com.kenai.redminenb.util.RedmineUtil;
-import com.kenai.redminenb.util.RedmineUtil.RedmineUserComparator;
 import com.kenai.redminenb.util.SafeAutoCloseable;
 import com.kenai.redminenb.util.TableCellRendererCategory;
 import com.kenai.redminenb.util.TableCellRendererPriority;
@@ -73,6 +73,7 @@ import java.util.Map.Entry;
 import java.util.MissingResourceException;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.Executor;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.swing.JComponent;
@@ -140,6 +141,7 @@ public class RedmineQueryController implements QueryController, ActionListener {
     private final RedmineRepository repository;
     //
     private final RedmineQuery query;
+    private final Executor requestExecutor;
     //
     private List<SavedQuery> savedQueries = Collections.EMPTY_LIST;
     //
@@ -161,6 +163,7 @@ public class RedmineQueryController implements QueryController, ActionListener {
     public RedmineQueryController(RedmineRepository repository, RedmineQuery query) {
         this.repository = repository;
         this.query = query;
+        this.requestExecutor = repository.createSequentialExecutor(RequestPriority.INTERACTIVE);
     }
 
     private void setListeners() {
@@ -181,7 +184,7 @@ public class RedmineQueryController implements QueryController, ActionListener {
             @Override
             public void valueChanged(ListSelectionEvent e) {
                 if (!e.getValueIsAdjusting()) {
-                    repository.getRequestProcessor().execute(new Runnable() {
+                    requestExecutor.execute(new Runnable() {
                         @Override
                         public void run() {
                             updateProjectValues();
@@ -352,7 +355,7 @@ public class RedmineQueryController implements QueryController, ActionListener {
 
     /////////////////////////////////////////////////////////////////////////////
     private void onSave(final boolean refresh) {
-        query.getRepository().getRequestProcessor().post(new Runnable() {
+        requestExecutor.execute(new Runnable() {
             @Override
             public void run() {
                 Redmine.LOG.fine("on save start");
@@ -422,7 +425,7 @@ public class RedmineQueryController implements QueryController, ActionListener {
         };
         
         c.setBackingRunnable(r);
-        query.getRepository().getRequestProcessor().submit(c);
+        query.getRepository().post(c, RequestPriority.INTERACTIVE);
     }
 
     protected void openIssue(RedmineIssue issue) {
@@ -462,7 +465,7 @@ public class RedmineQueryController implements QueryController, ActionListener {
     }
     
     private void onWeb() {
-        query.getRepository().getRequestProcessor().post(new UrlOpener(repository.getUrl()));
+        query.getRepository().post(new UrlOpener(repository.getUrl()), RequestPriority.INTERACTIVE);
     }
 
     public void autoRefresh() {
@@ -505,7 +508,7 @@ public class RedmineQueryController implements QueryController, ActionListener {
                 NotifyDescriptor.OK_CANCEL_OPTION);
         if (DialogDisplayer.getDefault().notify(nd)
                 == NotifyDescriptor.OK_OPTION) {
-            query.getRepository().getRequestProcessor().post(new Runnable() {
+            requestExecutor.execute(new Runnable() {
                 @Override
                 public void run() {
                     remove();
@@ -567,12 +570,13 @@ public class RedmineQueryController implements QueryController, ActionListener {
                         priorityList.add(new ParameterValue(ip.getName(), ip.getId()));
                     }
 
-                    SortedSet<RedmineUser> userList = new TreeSet<>(RedmineUserComparator.SINGLETON);
-                    SortedSet<AssigneeWrapper> assigneeWrapperList = new TreeSet<>();
-                    for (Entry<Integer, NestedProject> entry : repository.getProjects().entrySet()) {
-                        userList.addAll(repository.getUsers(entry.getValue().getProject()));
-                        assigneeWrapperList.addAll(repository.getAssigneeWrappers(entry.getValue().getProject()));
+                    List<Project> projects = new ArrayList<>(repository.getProjects().size());
+                    for (NestedProject np : repository.getProjects().values()) {
+                        projects.add(np.getProject());
                     }
+                    repository.loadMemberships(projects, handleValue.value);
+                    SortedSet<AssigneeWrapper> assigneeWrapperList = new TreeSet<>(
+                            repository.getAssigneeWrappers(projects));
 
                     final List<ParameterValue> assigneeList = new ArrayList<>();
                     assigneeList.add(ParameterValue.NONE_PARAMETERVALUE);
@@ -628,7 +632,7 @@ public class RedmineQueryController implements QueryController, ActionListener {
         };
 
         handleValue.value = ProgressHandleFactory.createHandle(msgPopulating);
-        repository.getRequestProcessor().execute(cr);
+        requestExecutor.execute(cr);
     }
 
     private <T extends RedmineQueryParameter> T registerQueryParameter(Class<T> clazz, Component c, String parameterName, String internalParamName) {
@@ -925,9 +929,9 @@ public class RedmineQueryController implements QueryController, ActionListener {
             if (task != null) {
                 task.cancel();
             }
-            task = query.getRepository().getRequestProcessor().create(this);
             this.autoRefresh = autoRefresh;
-            task.schedule(0);
+            task = query.getRepository().post(this, autoRefresh
+                    ? RequestPriority.BACKGROUND : RequestPriority.INTERACTIVE);
             return task;
         }
 
@@ -943,6 +947,14 @@ public class RedmineQueryController implements QueryController, ActionListener {
         @Override
         public void notifyData(RedmineIssue issue) {
             counter++;
+            boolean scheduleFlush;
+            synchronized (pendingIssues) {
+                scheduleFlush = pendingIssues.isEmpty();
+                pendingIssues.add(issue);
+            }
+            if (scheduleFlush) {
+                EventQueue.invokeLater(flushPending);
+            }
             if (queryPanel != null) {
                 setIssueCount(counter);
                 if (counter == 1) {
@@ -959,6 +971,10 @@ public class RedmineQueryController implements QueryController, ActionListener {
         @Override
         public void started() {
             counter = 0;
+            synchronized (pendingIssues) {
+                pendingIssues.clear();
+                replacePending = true;
+            }
             if (queryPanel != null) {
                 setIssueCount(counter);
             }
@@ -966,8 +982,56 @@ public class RedmineQueryController implements QueryController, ActionListener {
 
         @Override
         public void finished() {
-            queryListModel.setIssues(query.getIssues());
+            final List<RedmineIssue> result = new ArrayList<>(query.getIssues());
+            EventQueue.invokeLater(new Runnable() {
+                @Override
+                public void run() {
+                    synchronized (pendingIssues) {
+                        pendingIssues.clear();
+                        replacePending = false;
+                    }
+                    queryListModel.setIssues(result);
+                }
+            });
         }
+
+        /**
+         * Issues reported by the running query, that were not yet moved
+         * into the table model. Access is guarded by the list itself.
+         */
+        private final List<RedmineIssue> pendingIssues = new ArrayList<>();
+        /**
+         * The first batch of a new query run replaces the model content,
+         * the following batches are appended.
+         */
+        private boolean replacePending;
+
+        /**
+         * Moves the pending issues into the table model - runs on the EDT
+         * and is only scheduled once per batch, so that a page of results
+         * results in few table events.
+         */
+        private final Runnable flushPending = new Runnable() {
+            @Override
+            public void run() {
+                List<RedmineIssue> batch;
+                boolean replace;
+                synchronized (pendingIssues) {
+                    if (pendingIssues.isEmpty()) {
+                        return;
+                    }
+                    batch = new ArrayList<>(pendingIssues);
+                    pendingIssues.clear();
+                    replace = replacePending;
+                    replacePending = false;
+                }
+                if (replace) {
+                    queryListModel.setIssues(batch);
+                } else {
+                    queryListModel.addIssues(batch);
+                }
+            }
+        };
     }
 
     private class IssueTableIssueOpener implements MouseListener, KeyListener {
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2026 RedmineNB contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kenai.redminenb.query;
+
+import com.taskadapter.redmineapi.RedmineException;
+import com.taskadapter.redmineapi.bean.Issue;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.openide.util.RequestProcessor;
+
+/**
+ * Shares issue searches of one repository between callers.
+ *
+ * <p>Searches are keyed by the search parameters sent to the server. A
+ * caller asking for a search, that is currently running, receives the pages
+ * of the running search instead of starting a second one. The result of a
+ * finished search can be reused for a short time and is dropped afterwards.
+ * Callers decide whether a running or recent result is acceptable - callers
+ * not accepting it always start a new search.</p>
+ */
+public final class SearchCoalescer {
+    /**
+     * Time in ms a finished search result can be reused.
+     */
+    private static final long RESULT_REUSE_WINDOW = 10 * 1000;
+
+    /**
+     * Receiver for result pages of a search.
+     */
+    public interface PageHandler {
+        void handlePage(List<Issue> page);
+    }
+
+    /**
+     * Executes the search against the server.
+     */
+    public interface Fetcher {
+        void fetch(Map<String, String> searchParameters, PageHandler pageHandler) throws RedmineException;
+    }
+
+    private static final RequestProcessor RP = new RequestProcessor(SearchCoalescer.class);
+
+    private final Map<Map<String, String>, Search> searches = new HashMap<>();
+    private final RequestProcessor.Task expungeTask = RP.create(new Runnable() {
+        @Override
+        public void run() {
+            synchronized (searches) {
+                expungeFinished();
+            }
+        }
+    });
+
+    /**
+     * Run the search or attach to an identical running search.
+     *
+     * @param searchParameters parameters of the search (without paging
+     * parameters)
+     * @param fetcher executes the search if it is not already running
+     * @param pageHandler receives the result pages in result order
+     * @param reuseRecent if true the result of a running search or of a
+     * search that finished recently is reused, else the search is executed
+     * in any case
+     */
+    public void search(Map<String, String> searchParameters, Fetcher fetcher,
+            PageHandler pageHandler, boolean reuseRecent) throws RedmineException {
+        Map<String, String> key = Collections.unmodifiableMap(new TreeMap<>(searchParameters));
+        Search search;
+        boolean owner = false;
+        synchronized (searches) {
+            expungeFinished();
+            search = reuseRecent ? searches.get(key) : null;
+            if (search == null) {
+                // Later callers join the newest search
+                search = new Search();
+                searches.put(key, search);
+                owner = true;
+            }
+        }
+        if (owner) {
+            search.run(key, fetcher, pageHandler);
+        } else {
+            search.replay(pageHandler);
+        }
+    }
+
+    /**
+     * Drop all finished search results.
+     */
+    public void clear() {
+        synchronized (searches) {
+            Iterator<Search> it = searches.values().iterator();
+            while (it.hasNext()) {
+                if (it.next().isFinished()) {
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Drop expired search results and schedule the next run for the
+     * remaining finished results, so that their pages are not retained
+     * until the next search.
+     */
+    private void expungeFinished() {
+        assert Thread.holdsLock(searches);
+        long now = System.currentTimeMillis();
+        long nextExpiry = Long.MAX_VALUE;
+        Iterator<Search> it = searches.values().iterator();
+        while (it.hasNext()) {
+            Search search = it.next();
+            if (search.isExpired(now)) {
+                it.remove();
+            } else if (search.isFinished()) {
+                nextExpiry = Math.min(nextExpiry, search.getExpiry());
+            }
+        }
+        if (nextExpiry != Long.MAX_VALUE) {
+            expungeTask.schedule((int) Math.max(1, nextExpiry - now + 1));
+        }
+    }
+
+    private final class Search {
+        private final List<List<Issue>> pages = new ArrayList<>();
+        private boolean done;
+        private long finishedAt;
+        private Throwable failure;
+
+        private synchronized boolean isFinished() {
+            return done;
+        }
+
+        private synchronized boolean isExpired(long now) {
+            return done && now > getExpiry();
+        }
+
+        private synchronized long getExpiry() {
+            return finishedAt + RESULT_REUSE_WINDOW;
+        }
+
+        private void run(Map<String, String> key, Fetcher fetcher, final PageHandler pageHandler) throws RedmineException {
+            boolean success = false;
+            try {
+                fetcher.fetch(key, new PageHandler() {
+                    @Override
+                    public void handlePage(List<Issue> page) {
+                        synchronized (Search.this) {
+                            pages.add(page);
+                            Search.this.notifyAll();
+                        }
+                        pageHandler.handlePage(page);
+                    }
+                });
+                success = true;
+                finish(null);
+                synchronized (searches) {
+                    expungeFinished();
+                }
+            } catch (RedmineException | RuntimeException | Error ex) {
+                finish(ex);
+                throw ex;
+            } finally {
+                if (!success) {
+                    synchronized (searches) {
+                        if (searches.get(key) == this) {
+                            searches.remove(key);
+                        }
+                    }
+                }
+            }
+        }
+
+        private synchronized void finish(Throwable failure) {
+            this.failure = failure;
+            this.done = true;
+            this.finishedAt = System.currentTimeMillis();
+            notifyAll();
+        }
+
+        private void replay(PageHandler pageHandler) throws RedmineException {
+            int delivered = 0;
+            while (true) {
+                List<Issue> page;
+                synchronized (this) {
+                    while (delivered == pages.size() && !done) {
+                        try {
+                            wait();
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                            throw new RedmineException("Query was interrupted", ex);
+                        }
+                    }
+                    if (delivered == pages.size()) {
+                        if (failure instanceof RedmineException) {
+                            throw new RedmineException(failure.getMessage(), failure);
+                        } else if (failure != null) {
+                            throw new RedmineException("Shared search failed", failure);
+                        }
+                        return;
+                    }
+                    page = pages.get(delivered);
+                }
+                delivered++;
+                pageHandler.handlePage(page);
+            }
+        }
+    }
+}
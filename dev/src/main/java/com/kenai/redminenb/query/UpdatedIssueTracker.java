@@ -0,0 +1,163 @@
+/*
+ * Copyright 2026 RedmineNB contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kenai.redminenb.query;
+
+import com.kenai.redminenb.query.SearchCoalescer.PageHandler;
+import com.taskadapter.redmineapi.RedmineException;
+import com.taskadapter.redmineapi.bean.Issue;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Issues of a repository updated since a point in time, regardless of any
+ * query filter - used by delta refreshes to find issues that stopped
+ * matching a query.
+ *
+ * <p>The set is fetched once per refresh cycle and shared by all queries of
+ * the repository: a fetch is reused for {@link #REUSE_WINDOW} ms, later
+ * requests only fetch the issues updated since the newest known update.
+ * Concurrent requests wait for the running fetch.</p>
+ *
+ * <p>If the result exceeds the page limit of a search, the set is
+ * incomplete - callers get null and have to refresh completely.</p>
+ */
+public final class UpdatedIssueTracker {
+    private static final Logger LOG = Logger.getLogger(UpdatedIssueTracker.class.getName());
+    /**
+     * Time in ms a fetch is reused - queries refreshed in one cycle start
+     * within this window.
+     */
+    static final long REUSE_WINDOW = 60 * 1000;
+    /**
+     * More known updates are not kept, the next request starts over.
+     */
+    private static final int MAX_TRACKED = RedmineQuery.MAX_PAGES * RedmineQuery.PAGE_SIZE;
+
+    private final SearchCoalescer searchCoalescer;
+    /**
+     * newest known updated_on timestamp by issue id
+     */
+    private final Map<Integer, Date> updates = new HashMap<>();
+    /**
+     * updates at or after this timestamp are known, null if nothing is known
+     */
+    private Date origin;
+    private Date newestUpdate;
+    private long lastFetch;
+
+    public UpdatedIssueTracker(SearchCoalescer searchCoalescer) {
+        this.searchCoalescer = searchCoalescer;
+    }
+
+    /**
+     * @param since lower bound (inclusive) of the updated_on timestamp
+     * @param fetcher executes the search, if the known updates are not
+     * sufficient
+     * @return ids of the issues updated at or after since, null if the set is
+     * incomplete
+     */
+    public synchronized Set<Integer> getUpdatedSince(Date since, SearchCoalescer.Fetcher fetcher) throws RedmineException {
+        long now = System.currentTimeMillis();
+        if (origin == null || since.before(origin)) {
+            reset();
+            if (!fetch(since, fetcher)) {
+                return null;
+            }
+            origin = since;
+            lastFetch = now;
+        } else if (now - lastFetch >= REUSE_WINDOW) {
+            if (!fetch(newestUpdate != null ? newestUpdate : origin, fetcher)) {
+                return null;
+            }
+            lastFetch = now;
+        }
+        Set<Integer> result = new HashSet<>();
+        for (Map.Entry<Integer, Date> e : updates.entrySet()) {
+            if (!e.getValue().before(since)) {
+                result.add(e.getKey());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Forget the known updates.
+     */
+    public synchronized void clear() {
+        reset();
+    }
+
+    private void reset() {
+        assert Thread.holdsLock(this);
+        updates.clear();
+        origin = null;
+        newestUpdate = null;
+        lastFetch = 0;
+    }
+
+    /**
+     * Merge the issues updated at or after the timestamp.
+     *
+     * @return false if the result was truncated - the known updates are
+     * dropped then
+     */
+    private boolean fetch(Date updatedSince, SearchCoalescer.Fetcher fetcher) throws RedmineException {
+        assert Thread.holdsLock(this);
+        Map<String, String> m = new HashMap<>();
+        // Include closed issues
+        m.put("status_id", "*"); // NOI18N
+        m.put("updated_on", ">=" + RedmineQuery.formatTimestamp(updatedSince)); // NOI18N
+        final int[] pages = new int[1];
+        final boolean[] lastPageEmpty = new boolean[1];
+        try {
+            searchCoalescer.search(m, fetcher, new PageHandler() {
+                @Override
+                public void handlePage(List<Issue> page) {
+                    pages[0]++;
+                    lastPageEmpty[0] = page.isEmpty();
+                    for (Issue issue : page) {
+                        Date updatedOn = issue.getUpdatedOn();
+                        if (updatedOn == null) {
+                            continue;
+                        }
+                        Date known = updates.get(issue.getId());
+                        if (known == null || updatedOn.after(known)) {
+                            updates.put(issue.getId(), updatedOn);
+                        }
+                        if (newestUpdate == null || updatedOn.after(newestUpdate)) {
+                            newestUpdate = updatedOn;
+                        }
+                    }
+                }
+            }, false);
+        } catch (RedmineException | RuntimeException ex) {
+            reset();
+            throw ex;
+        }
+        if ((pages[0] >= RedmineQuery.MAX_PAGES && !lastPageEmpty[0]) || updates.size() > MAX_TRACKED) {
+            LOG.log(Level.FINE, "Too many updated issues since {0}, delta refresh not possible", updatedSince);
+            reset();
+            return false;
+        }
+        return true;
+    }
+}
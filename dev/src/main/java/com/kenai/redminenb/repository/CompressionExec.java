@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026 RedmineNB contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kenai.redminenb.repository;
+
+import com.kenai.redminenb.RedmineConfig;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpException;
+import org.apache.http.client.entity.DeflateDecompressingEntity;
+import org.apache.http.client.entity.GzipDecompressingEntity;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpExecutionAware;
+import org.apache.http.client.methods.HttpRequestWrapper;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.impl.execchain.ClientExecChain;
+
+/**
+ * Negotiates response compression and decompresses the responses.
+ *
+ * <p>This replaces the content compression of HttpClient, so that the
+ * transferred and decoded bytes can be counted. It sits directly above the
+ * connection level - below the HTTP cache, which so stores decoded
+ * responses. Compression is switched per server (see
+ * {@link RedmineConfig#isHttpCompression(java.lang.String)}).</p>
+ */
+class CompressionExec implements ClientExecChain {
+    private static final String ACCEPT_ENCODING = "Accept-Encoding"; // NOI18N
+
+    private final ClientExecChain backend;
+    private final String serverKey;
+    private final TransferStatistics statistics;
+
+    public CompressionExec(ClientExecChain backend, String serverKey, TransferStatistics statistics) {
+        this.backend = backend;
+        this.serverKey = serverKey;
+        this.statistics = statistics;
+    }
+
+    @Override
+    public CloseableHttpResponse execute(HttpRoute route, HttpRequestWrapper request,
+            HttpClientContext clientContext, HttpExecutionAware execAware)
+            throws IOException, HttpException {
+        if (RedmineConfig.getInstance().isHttpCompression(serverKey)) {
+            request.setHeader(ACCEPT_ENCODING, "gzip,deflate"); // NOI18N
+        } else {
+            // redmine-java-api always asks for gzip
+            request.removeHeaders(ACCEPT_ENCODING);
+        }
+        CloseableHttpResponse response = backend.execute(route, request, clientContext, execAware);
+        HttpEntity entity = response.getEntity();
+        if (entity == null) {
+            statistics.responseReceived(false);
+            return response;
+        }
+        Header contentEncoding = entity.getContentEncoding();
+        String encoding = contentEncoding != null && contentEncoding.getValue() != null
+                ? contentEncoding.getValue().trim().toLowerCase(Locale.ROOT) : "";
+        boolean gzip = "gzip".equals(encoding) || "x-gzip".equals(encoding); // NOI18N
+        boolean deflate = "deflate".equals(encoding); // NOI18N
+        boolean compressed = gzip || deflate;
+        statistics.responseReceived(compressed);
+        HttpEntity decoded = new CountingEntity(entity, compressed, true);
+        if (gzip) {
+            decoded = new GzipDecompressingEntity(decoded);
+        } else if (deflate) {
+            decoded = new DeflateDecompressingEntity(decoded);
+        }
+        if (compressed) {
+            response.removeHeaders("Content-Length"); // NOI18N
+            response.removeHeaders("Content-Encoding"); // NOI18N
+            response.removeHeaders("Content-MD5"); // NOI18N
+            decoded = new CountingEntity(decoded, true, false);
+        }
+        response.setEntity(decoded);
+        return response;
+    }
+
+    /**
+     * Counts the bytes read from the wrapped entity - either as received
+     * bytes, or as decoded bytes. Uncompressed entities are counted as
+     * both.
+     */
+    private class CountingEntity extends HttpEntityWrapper {
+        private final boolean compressed;
+        private final boolean received;
+
+        public CountingEntity(HttpEntity wrappedEntity, boolean compressed, boolean received) {
+            super(wrappedEntity);
+            this.compressed = compressed;
+            this.received = received;
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            return new FilterInputStream(super.getContent()) {
+                @Override
+                public int read() throws IOException {
+                    int result = super.read();
+                    if (result >= 0) {
+                        count(1);
+                    }
+                    return result;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    int result = super.read(b, off, len);
+                    if (result > 0) {
+                        count(result);
+                    }
+                    return result;
+                }
+            };
+        }
+
+        @Override
+        public void writeTo(OutputStream outstream) throws IOException {
+            try (InputStream is = getContent()) {
+                byte[] buffer = new byte[4096];
+                int read;
+                while ((read = is.read(buffer)) >= 0) {
+                    outstream.write(buffer, 0, read);
+                }
+            }
+        }
+
+        private void count(long count) {
+            if (received) {
+                statistics.bytesReceived(compressed, count);
+            }
+            if (!(received && compressed)) {
+                statistics.bytesDecoded(compressed, count);
+            }
+        }
+    }
+}
@@ -18,24 +18,48 @@ package com.kenai.redminenb.repository;
 
 import com.kenai.redminenb.issue.RedmineIssue;
 import com.taskadapter.redmineapi.bean.Issue;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Cache class to ensure issues are only opened/used once.
  * 
  * Every time a new RedmineIssue is to be created from backend issue data
- * the creation process has to go through cachedRedmineIssue. That method
- * is synchronized, so even if to threads try to create a RedmineIssue in
- * parallel from the same backend data they will get the same RedmineIssue
- * instance.
+ * the creation process has to go through cachedRedmineIssue. The creation
+ * of new instances is synchronized, so even if to threads try to create a
+ * RedmineIssue in parallel from the same backend data they will get the
+ * same RedmineIssue instance. Lookups don't lock.
+ * 
+ * <p>Issues are referenced weakly, entries of collected issues are removed
+ * when the cache is accessed. Additionally the most recently used issues
+ * are held strongly, so that switching between issues does not require
+ * reloading them.</p>
  * 
  * @author matthias
  */
 public class IssueCache {
+    /**
+     * Number of recently used issues held strongly
+     */
+    private static final int RECENT_CAPACITY = 64;
+
     private RedmineRepository repository;
-    private final Map<String,WeakReference<RedmineIssue>> cache = new HashMap<>();
+    private final ConcurrentMap<String, IssueReference> cache = new ConcurrentHashMap<>();
+    private final ReferenceQueue<RedmineIssue> collected = new ReferenceQueue<>();
+    private final Map<String, RedmineIssue> recent = new LinkedHashMap<String, RedmineIssue>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, RedmineIssue> eldest) {
+            return size() > RECENT_CAPACITY;
+        }
+    };
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong collectedCount = new AtomicLong();
 
     public IssueCache(RedmineRepository repository) {
         this.repository = repository;
@@ -58,7 +82,8 @@ public class IssueCache {
     }
     
     /**
-     * Access cached RedmineIssue by ID. 
+     * Access cached RedmineIssue by ID. The issue is marked as recently
+     * used.
      * 
      * ID is in this case string, as the issue uses string ids.
      * 
@@ -66,12 +91,11 @@ public class IssueCache {
      * @return 
      */
     public RedmineIssue get(String id) {
-        WeakReference<RedmineIssue> valueReference = cache.get(id);
-        if(valueReference == null) {
-            return null;
-        } else {
-            return valueReference.get();
+        RedmineIssue result = lookup(id);
+        if (result != null) {
+            touch(result);
         }
+        return result;
     }
     
     /**
@@ -81,11 +105,13 @@ public class IssueCache {
      * 
      * @param ri 
      */
-    public synchronized void put(RedmineIssue ri) {
+    public void put(RedmineIssue ri) {
         if(ri.getID() == null || "0".equals(ri.getID())) {
             return;
         }
-        cache.put(ri.getID(), new WeakReference<>(ri));
+        expungeCollected();
+        cache.put(ri.getID(), new IssueReference(ri.getID(), ri, collected));
+        touch(ri);
     }
     
     /**
@@ -96,14 +122,96 @@ public class IssueCache {
      * @param issue backend issue data
      * @return 
      */
-    public synchronized RedmineIssue cachedRedmineIssue(Issue issue) {
-        RedmineIssue cached = get(issue.getId());
-        if(cached != null) {
+    public RedmineIssue cachedRedmineIssue(Issue issue) {
+        String id = issue.getId() != null ? issue.getId().toString() : null;
+        RedmineIssue cached = lookup(id);
+        if (cached != null) {
             return cached;
-        } else {
+        }
+        synchronized (this) {
+            cached = peek(id);
+            if (cached != null) {
+                return cached;
+            }
+            expungeCollected();
             RedmineIssue ri = new RedmineIssue(repository, issue);
-            put(ri);
+            if (ri.getID() != null && !"0".equals(ri.getID())) {
+                cache.put(ri.getID(), new IssueReference(ri.getID(), ri, collected));
+            }
             return ri;
         }
     }
+
+    /**
+     * @return number of lookups that found a cached issue
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * @return number of lookups that did not find a cached issue
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * @return number of entries removed after their issue was garbage
+     * collected
+     */
+    public long getCollectedCount() {
+        return collectedCount.get();
+    }
+
+    /**
+     * @return number of cached entries, including entries of collected but
+     * not yet expunged issues
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    private RedmineIssue lookup(String id) {
+        if (id == null) {
+            return null;
+        }
+        expungeCollected();
+        RedmineIssue result = peek(id);
+        if (result == null) {
+            missCount.incrementAndGet();
+        } else {
+            hitCount.incrementAndGet();
+        }
+        return result;
+    }
+
+    private RedmineIssue peek(String id) {
+        IssueReference valueReference = id == null ? null : cache.get(id);
+        return valueReference == null ? null : valueReference.get();
+    }
+
+    private void touch(RedmineIssue ri) {
+        synchronized (recent) {
+            recent.put(ri.getID(), ri);
+        }
+    }
+
+    private void expungeCollected() {
+        IssueReference ref;
+        while ((ref = (IssueReference) collected.poll()) != null) {
+            if (cache.remove(ref.id, ref)) {
+                collectedCount.incrementAndGet();
+            }
+        }
+    }
+
+    private static class IssueReference extends WeakReference<RedmineIssue> {
+        private final String id;
+
+        public IssueReference(String id, RedmineIssue referent, ReferenceQueue<? super RedmineIssue> q) {
+            super(referent, q);
+            this.id = id;
+        }
+    }
 }
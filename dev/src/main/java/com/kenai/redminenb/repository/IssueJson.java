@@ -0,0 +1,247 @@
+/*
+ * Copyright 2026 RedmineNB contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kenai.redminenb.repository;
+
+import com.taskadapter.redmineapi.bean.Attachment;
+import com.taskadapter.redmineapi.bean.CustomField;
+import com.taskadapter.redmineapi.bean.Issue;
+import com.taskadapter.redmineapi.bean.IssueCategory;
+import com.taskadapter.redmineapi.bean.IssueRelation;
+import com.taskadapter.redmineapi.bean.Journal;
+import com.taskadapter.redmineapi.bean.JournalDetail;
+import com.taskadapter.redmineapi.bean.Tracker;
+import com.taskadapter.redmineapi.bean.User;
+import com.taskadapter.redmineapi.bean.Version;
+import com.taskadapter.redmineapi.bean.Watcher;
+import com.taskadapter.redmineapi.internal.RedmineJSONParser;
+import java.text.SimpleDateFormat;
+import java.util.Collection;
+import java.util.Date;
+import java.util.TimeZone;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONStringer;
+import org.json.JSONWriter;
+
+/**
+ * Converts issues to and from the JSON representation used by the redmine
+ * REST API.
+ *
+ * <p>The redmine java api only serializes the writable subset of an issue,
+ * so the read representation (including journals, attachments, watchers and
+ * relations) is written here. Reading is delegated to the parser of the
+ * redmine java api, so a stored issue is indistinguishable from an issue
+ * fetched from the server.</p>
+ */
+final class IssueJson {
+
+    private IssueJson() {
+    }
+
+    static String toJson(Issue issue) throws JSONException {
+        JSONStringer writer = new JSONStringer();
+        writer.object();
+        put(writer, "id", issue.getId());
+        writeReference(writer, "project", issue.getProjectId(), issue.getProjectName());
+        Tracker tracker = issue.getTracker();
+        if (tracker != null) {
+            writeReference(writer, "tracker", tracker.getId(), tracker.getName());
+        }
+        writeReference(writer, "status", issue.getStatusId(), issue.getStatusName());
+        writeReference(writer, "priority", issue.getPriorityId(), issue.getPriorityText());
+        writeReference(writer, "author", issue.getAuthorId(), issue.getAuthorName());
+        writeReference(writer, "assigned_to", issue.getAssigneeId(), issue.getAssigneeName());
+        IssueCategory category = issue.getCategory();
+        if (category != null) {
+            writeReference(writer, "category", category.getId(), category.getName());
+        }
+        Version version = issue.getTargetVersion();
+        if (version != null) {
+            writeReference(writer, "fixed_version", version.getId(), version.getName());
+        }
+        if (issue.getParentId() != null) {
+            writer.key("parent").object();
+            put(writer, "id", issue.getParentId());
+            writer.endObject();
+        }
+        put(writer, "subject", issue.getSubject());
+        put(writer, "description", issue.getDescription());
+        put(writer, "start_date", formatShortDate(issue.getStartDate()));
+        put(writer, "due_date", formatShortDate(issue.getDueDate()));
+        put(writer, "done_ratio", issue.getDoneRatio());
+        put(writer, "estimated_hours", issue.getEstimatedHours());
+        put(writer, "spent_hours", issue.getSpentHours());
+        writer.key("is_private").value(issue.isPrivateIssue());
+        put(writer, "created_on", formatDate(issue.getCreatedOn()));
+        put(writer, "updated_on", formatDate(issue.getUpdatedOn()));
+        put(writer, "closed_on", formatDate(issue.getClosedOn()));
+        writeCustomFields(writer, issue.getCustomFields());
+        writeJournals(writer, issue.getJournals());
+        writeAttachments(writer, issue.getAttachments());
+        writeWatchers(writer, issue.getWatchers());
+        writeRelations(writer, issue.getRelations());
+        writer.endObject();
+        return writer.toString();
+    }
+
+    static Issue fromJson(String json) throws JSONException {
+        return RedmineJSONParser.parseIssue(new JSONObject(json));
+    }
+
+    private static void writeCustomFields(JSONWriter writer, Collection<CustomField> customFields) throws JSONException {
+        if (customFields == null || customFields.isEmpty()) {
+            return;
+        }
+        writer.key("custom_fields").array();
+        for (CustomField cf : customFields) {
+            writer.object();
+            put(writer, "id", cf.getId());
+            put(writer, "name", cf.getName());
+            if (cf.isMultiple()) {
+                writer.key("multiple").value(true);
+                writer.key("value").array();
+                if (cf.getValues() != null) {
+                    for (String value : cf.getValues()) {
+                        writer.value(value);
+                    }
+                }
+                writer.endArray();
+            } else {
+                put(writer, "value", cf.getValue());
+            }
+            writer.endObject();
+        }
+        writer.endArray();
+    }
+
+    private static void writeJournals(JSONWriter writer, Collection<Journal> journals) throws JSONException {
+        if (journals == null || journals.isEmpty()) {
+            return;
+        }
+        writer.key("journals").array();
+        for (Journal journal : journals) {
+            writer.object();
+            put(writer, "id", journal.getId());
+            writeUser(writer, "user", journal.getUser());
+            put(writer, "notes", journal.getNotes());
+            put(writer, "created_on", formatDate(journal.getCreatedOn()));
+            writer.key("details").array();
+            if (journal.getDetails() != null) {
+                for (JournalDetail detail : journal.getDetails()) {
+                    writer.object();
+                    put(writer, "property", detail.getProperty());
+                    put(writer, "name", detail.getName());
+                    put(writer, "old_value", detail.getOldValue());
+                    put(writer, "new_value", detail.getNewValue());
+                    writer.endObject();
+                }
+            }
+            writer.endArray();
+            writer.endObject();
+        }
+        writer.endArray();
+    }
+
+    private static void writeAttachments(JSONWriter writer, Collection<Attachment> attachments) throws JSONException {
+        if (attachments == null || attachments.isEmpty()) {
+            return;
+        }
+        writer.key("attachments").array();
+        for (Attachment attachment : attachments) {
+            writer.object();
+            put(writer, "id", attachment.getId());
+            put(writer, "filename", attachment.getFileName());
+            put(writer, "filesize", attachment.getFileSize());
+            put(writer, "content_type", attachment.getContentType());
+            put(writer, "content_url", attachment.getContentURL());
+            put(writer, "description", attachment.getDescription());
+            put(writer, "created_on", formatDate(attachment.getCreatedOn()));
+            writeUser(writer, "author", attachment.getAuthor());
+            writer.endObject();
+        }
+        writer.endArray();
+    }
+
+    private static void writeWatchers(JSONWriter writer, Collection<Watcher> watchers) throws JSONException {
+        if (watchers == null || watchers.isEmpty()) {
+            return;
+        }
+        writer.key("watchers").array();
+        for (Watcher watcher : watchers) {
+            writer.object();
+            put(writer, "id", watcher.getId());
+            put(writer, "name", watcher.getName());
+            writer.endObject();
+        }
+        writer.endArray();
+    }
+
+    private static void writeRelations(JSONWriter writer, Collection<IssueRelation> relations) throws JSONException {
+        if (relations == null || relations.isEmpty()) {
+            return;
+        }
+        writer.key("relations").array();
+        for (IssueRelation relation : relations) {
+            writer.object();
+            put(writer, "id", relation.getId());
+            put(writer, "issue_id", relation.getIssueId());
+            put(writer, "issue_to_id", relation.getIssueToId());
+            put(writer, "relation_type", relation.getType());
+            put(writer, "delay", relation.getDelay());
+            writer.endObject();
+        }
+        writer.endArray();
+    }
+
+    private static void writeUser(JSONWriter writer, String key, User user) throws JSONException {
+        if (user != null) {
+            writeReference(writer, key, user.getId(), user.getFullName());
+        }
+    }
+
+    private static void writeReference(JSONWriter writer, String key, Integer id, String name) throws JSONException {
+        if (id == null) {
+            return;
+        }
+        writer.key(key).object();
+        put(writer, "id", id);
+        put(writer, "name", name);
+        writer.endObject();
+    }
+
+    private static void put(JSONWriter writer, String key, Object value) throws JSONException {
+        if (value != null) {
+            writer.key(key).value(value);
+        }
+    }
+
+    private static String formatDate(Date date) {
+        if (date == null) {
+            return null;
+        }
+        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'"); // NOI18N
+        sdf.setTimeZone(TimeZone.getTimeZone("UTC")); // NOI18N
+        return sdf.format(date);
+    }
+
+    private static String formatShortDate(Date date) {
+        if (date == null) {
+            return null;
+        }
+        return new SimpleDateFormat("yyyy-MM-dd").format(date); // NOI18N
+    }
+}
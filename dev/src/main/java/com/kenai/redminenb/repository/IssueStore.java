@@ -0,0 +1,714 @@
+/*
+ * Copyright 2026 RedmineNB contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kenai.redminenb.repository;
+
+import com.taskadapter.redmineapi.bean.Issue;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import org.json.JSONException;
+import org.openide.util.RequestProcessor;
+
+/**
+ * Persistent store of issue snapshots for one repository.
+ *
+ * <p>Issues are stored in the JSON representation of the REST API (see
+ * {@link IssueJson}) together with the issue ids last found by each named
+ * query. The store is used to show issues and query results directly after
+ * startup, while the data is revalidated against the server in the
+ * background.</p>
+ *
+ * <p>The snapshots are appended as individually compressed records to a
+ * data file. Only an index (id, modification time and record location) is
+ * held in memory, records are read on demand. Snapshots not yet written are
+ * held in memory until the store is saved shortly after modifications. The
+ * data file is rewritten when most of it is occupied by superseded
+ * records.</p>
+ *
+ * <p>The index is loaded lazily on first access - so access should not
+ * happen on the EDT.</p>
+ */
+public final class IssueStore {
+    private static final Logger LOG = Logger.getLogger(IssueStore.class.getName());
+    private static final int FORMAT_VERSION = 2;
+    /**
+     * Size of the file header (format version).
+     */
+    private static final int FILE_HEADER = 4;
+    /**
+     * Size of the record header (id, updatedOn, detailed, data length).
+     */
+    private static final int RECORD_HEADER = 4 + 8 + 1 + 4;
+    /**
+     * Maximum number of issues kept - the least recently used issues are
+     * dropped first.
+     */
+    private static final int MAX_ISSUES = 10000;
+    /**
+     * Superseded records are only dropped if the data file is larger than
+     * this (in bytes).
+     */
+    private static final long MIN_COMPACT_SIZE = 1024 * 1024;
+    /**
+     * Delay between the first modification and writing the store in ms.
+     */
+    private static final int SAVE_DELAY = 10 * 1000;
+    private static final RequestProcessor RP = new RequestProcessor("Redmine issue store", 1); // NOI18N
+    private static final Set<IssueStore> openStores = Collections.newSetFromMap(new WeakHashMap<IssueStore, Boolean>());
+
+    private final File file;
+    private final File queryFile;
+    private final Map<Integer, Entry> issues = new LinkedHashMap<Integer, Entry>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+            return size() > MAX_ISSUES;
+        }
+    };
+    private final Map<String, List<Integer>> queryResults = new HashMap<>();
+    /**
+     * Serializes saving - the data file is only written while holding this
+     * lock, reading records only requires the store lock.
+     */
+    private final Object saveLock = new Object();
+    private FileChannel channel;
+    /**
+     * End of the last complete record in the data file.
+     */
+    private long fileLength;
+    private boolean loaded;
+    private boolean dirty;
+    private boolean queriesDirty;
+    private long hitCount;
+    private long missCount;
+    private final RequestProcessor.Task saveTask = RP.create(new Runnable() {
+        @Override
+        public void run() {
+            save();
+        }
+    });
+
+    public IssueStore(File file) {
+        this.file = file;
+        this.queryFile = new File(file.getParentFile(), file.getName() + ".queries"); // NOI18N
+        synchronized (openStores) {
+            openStores.add(this);
+        }
+    }
+
+    /**
+     * Write all modified stores - called on shutdown.
+     */
+    public static void saveAll() {
+        List<IssueStore> stores;
+        synchronized (openStores) {
+            stores = new ArrayList<>(openStores);
+        }
+        for (IssueStore store : stores) {
+            store.save();
+        }
+    }
+
+    /**
+     * @param id issue id
+     * @return stored snapshot of the issue or null if the issue is unknown
+     */
+    public Issue get(Integer id) {
+        Entry entry;
+        String json = null;
+        byte[] data = null;
+        synchronized (this) {
+            ensureLoaded();
+            entry = id == null ? null : issues.get(id);
+            if (entry == null) {
+                missCount++;
+                return null;
+            }
+            try {
+                if (entry.json != null) {
+                    json = entry.json;
+                } else {
+                    data = readRecord(entry);
+                }
+                hitCount++;
+            } catch (IOException ex) {
+                LOG.log(Level.INFO, "Dropping unreadable issue snapshot " + id, ex);
+                issues.remove(id);
+                missCount++;
+                return null;
+            }
+        }
+        try {
+            if (json == null) {
+                json = inflate(data);
+            }
+            return IssueJson.fromJson(json);
+        } catch (DataFormatException | JSONException | RuntimeException ex) {
+            LOG.log(Level.INFO, "Dropping unreadable issue snapshot " + id, ex);
+            synchronized (this) {
+                issues.remove(id, entry);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Store a snapshot of the issue.
+     *
+     * <p>Issues from query results don't carry journals, attachments and
+     * watchers. If the stored snapshot has the same modification time and
+     * carries these, it is kept.</p>
+     */
+    public void put(Issue issue) {
+        if (issue == null || issue.getId() == null) {
+            return;
+        }
+        long updatedOn = issue.getUpdatedOn() != null ? issue.getUpdatedOn().getTime() : 0;
+        boolean detailed = !(issue.getJournals().isEmpty()
+                && issue.getAttachments().isEmpty()
+                && issue.getWatchers().isEmpty());
+        synchronized (this) {
+            ensureLoaded();
+            if (isCurrent(issue.getId(), updatedOn, detailed)) {
+                return;
+            }
+        }
+        String json;
+        try {
+            json = IssueJson.toJson(issue);
+        } catch (JSONException | RuntimeException ex) {
+            LOG.log(Level.INFO, "Failed to store issue " + issue.getId(), ex);
+            return;
+        }
+        synchronized (this) {
+            if (isCurrent(issue.getId(), updatedOn, detailed)) {
+                return;
+            }
+            issues.put(issue.getId(), new Entry(updatedOn, detailed, json));
+            markDirty();
+        }
+    }
+
+    public void putAll(Collection<Issue> issueList) {
+        for (Issue issue : issueList) {
+            put(issue);
+        }
+    }
+
+    /**
+     * @param queryName name of the query
+     * @return stored snapshots of the issues last found by the query - issues
+     * not present anymore in the store are skipped. null is returned if no
+     * result is stored for the query.
+     */
+    public List<Issue> getQueryResult(String queryName) {
+        List<Integer> ids;
+        synchronized (this) {
+            ensureLoaded();
+            ids = queryResults.get(queryName);
+        }
+        if (ids == null) {
+            return null;
+        }
+        List<Issue> result = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            Issue issue = get(id);
+            if (issue != null) {
+                result.add(issue);
+            }
+        }
+        return result;
+    }
+
+    public synchronized void putQueryResult(String queryName, Collection<Integer> ids) {
+        ensureLoaded();
+        List<Integer> newIds = Collections.unmodifiableList(new ArrayList<>(ids));
+        if (!newIds.equals(queryResults.get(queryName))) {
+            queryResults.put(queryName, newIds);
+            queriesDirty = true;
+            markDirty();
+        }
+    }
+
+    public synchronized void removeQueryResult(String queryName) {
+        ensureLoaded();
+        if (queryResults.remove(queryName) != null) {
+            queriesDirty = true;
+            markDirty();
+        }
+    }
+
+    /**
+     * @return number of lookups that found a stored issue
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return number of lookups that did not find a stored issue
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return number of stored issues
+     */
+    public synchronized int size() {
+        ensureLoaded();
+        return issues.size();
+    }
+
+    private boolean isCurrent(Integer id, long updatedOn, boolean detailed) {
+        assert Thread.holdsLock(this);
+        Entry existing = issues.get(id);
+        return existing != null && existing.updatedOn == updatedOn
+                && (existing.detailed || !detailed);
+    }
+
+    private void markDirty() {
+        if (!dirty) {
+            dirty = true;
+            saveTask.schedule(SAVE_DELAY);
+        }
+    }
+
+    private void ensureLoaded() {
+        assert Thread.holdsLock(this);
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        loadQueryResults();
+        loadIndex();
+    }
+
+    private void loadQueryResults() {
+        if (!queryFile.canRead()) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(new FileInputStream(queryFile))))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                LOG.log(Level.FINE, "Ignoring query results with unknown format: {0}", queryFile);
+                return;
+            }
+            int queryCount = in.readInt();
+            for (int i = 0; i < queryCount; i++) {
+                String name = in.readUTF();
+                int idCount = in.readInt();
+                List<Integer> ids = new ArrayList<>(idCount);
+                for (int j = 0; j < idCount; j++) {
+                    ids.add(in.readInt());
+                }
+                queryResults.put(name, Collections.unmodifiableList(ids));
+            }
+        } catch (IOException | RuntimeException ex) {
+            LOG.log(Level.INFO, "Failed to read query results " + queryFile, ex);
+            queryResults.clear();
+        }
+    }
+
+    /**
+     * Read the record headers of the data file. Later records of an issue
+     * supersede earlier ones, an incomplete record at the end of the file
+     * (interrupted write) is dropped.
+     */
+    private void loadIndex() {
+        long position = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new FileInputStream(file), 64 * 1024))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                LOG.log(Level.FINE, "Ignoring issue store with unknown format: {0}", file);
+            } else {
+                position = FILE_HEADER;
+                while (true) {
+                    int id = in.readInt();
+                    long updatedOn = in.readLong();
+                    boolean detailed = in.readBoolean();
+                    int length = in.readInt();
+                    if (length < 0) {
+                        break;
+                    }
+                    skipFully(in, length);
+                    issues.put(id, new Entry(updatedOn, detailed, position, length));
+                    position += RECORD_HEADER + length;
+                }
+            }
+        } catch (FileNotFoundException ex) {
+            // First use, the store is created below
+        } catch (EOFException ex) {
+            // End of the last complete record reached
+        } catch (IOException | RuntimeException ex) {
+            LOG.log(Level.INFO, "Failed to read issue store " + file, ex);
+            issues.clear();
+            position = 0;
+        }
+        try {
+            file.getParentFile().mkdirs();
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            if (position == 0) {
+                issues.clear();
+                channel.truncate(0);
+                writeFully(channel, ByteBuffer.allocate(FILE_HEADER).putInt(0, FORMAT_VERSION), 0);
+                position = FILE_HEADER;
+            } else if (channel.size() > position) {
+                channel.truncate(position);
+            }
+            fileLength = position;
+        } catch (IOException ex) {
+            LOG.log(Level.INFO, "Failed to open issue store " + file, ex);
+            issues.clear();
+            closeChannel();
+        }
+        LOG.log(Level.FINE, "Loaded index of {0} issues from {1}", new Object[]{issues.size(), file});
+    }
+
+    private byte[] readRecord(Entry entry) throws IOException {
+        assert Thread.holdsLock(this);
+        if (channel == null) {
+            throw new IOException("Issue store is not open"); // NOI18N
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(entry.length);
+        readFully(channel, buffer, entry.offset + RECORD_HEADER);
+        return buffer.array();
+    }
+
+    /**
+     * Write the store to disk.
+     *
+     * <p>The modified data is collected while holding the store lock, it is
+     * written without holding it, so that lookups are not blocked by disk
+     * IO. New snapshots are appended to the data file, if most of the data
+     * file is occupied by superseded records, a new data file is written,
+     * that replaces the old one.</p>
+     */
+    private void save() {
+        synchronized (saveLock) {
+            List<Integer> pendingIds = new ArrayList<>();
+            List<Entry> pending = new ArrayList<>();
+            List<Integer> liveIds = new ArrayList<>();
+            List<Entry> live = new ArrayList<>();
+            Map<String, List<Integer>> queries = null;
+            FileChannel source;
+            long appendPosition;
+            boolean compact;
+            synchronized (this) {
+                if (!dirty) {
+                    return;
+                }
+                dirty = false;
+                long liveLength = 0;
+                for (Map.Entry<Integer, Entry> e : issues.entrySet()) {
+                    if (e.getValue().json != null) {
+                        pendingIds.add(e.getKey());
+                        pending.add(e.getValue());
+                    } else {
+                        liveIds.add(e.getKey());
+                        live.add(e.getValue());
+                        liveLength += RECORD_HEADER + e.getValue().length;
+                    }
+                }
+                if (queriesDirty) {
+                    queriesDirty = false;
+                    queries = new HashMap<>(queryResults);
+                }
+                source = channel;
+                appendPosition = fileLength;
+                long superseded = fileLength - FILE_HEADER - liveLength;
+                compact = source == null
+                        || (fileLength > MIN_COMPACT_SIZE && superseded > liveLength);
+            }
+            if (queries != null) {
+                saveQueryResults(queries);
+            }
+            if (pending.isEmpty() && !compact) {
+                return;
+            }
+            if (compact) {
+                rewrite(source, liveIds, live, pendingIds, pending);
+            } else {
+                append(source, appendPosition, pendingIds, pending);
+            }
+        }
+    }
+
+    private void append(FileChannel target, long position, List<Integer> ids, List<Entry> entries) {
+        long[] offsets = new long[entries.size()];
+        int[] lengths = new int[entries.size()];
+        try {
+            for (int i = 0; i < entries.size(); i++) {
+                byte[] data = deflate(entries.get(i).json);
+                writeFully(target, record(ids.get(i), entries.get(i), data), position);
+                offsets[i] = position;
+                lengths[i] = data.length;
+                position += RECORD_HEADER + data.length;
+            }
+        } catch (IOException ex) {
+            // Unwritten snapshots stay in memory and are retried with the
+            // next save
+            LOG.log(Level.INFO, "Failed to write issue store " + file, ex);
+            synchronized (this) {
+                markDirty();
+            }
+            return;
+        }
+        synchronized (this) {
+            for (int i = 0; i < entries.size(); i++) {
+                entries.get(i).stored(offsets[i], lengths[i]);
+            }
+            fileLength = position;
+        }
+    }
+
+    /**
+     * Copy the live records of the current data file and the pending
+     * snapshots into a new data file, that replaces the current one.
+     */
+    private void rewrite(FileChannel source, List<Integer> liveIds, List<Entry> live,
+            List<Integer> pendingIds, List<Entry> pending) {
+        File dir = file.getParentFile();
+        dir.mkdirs();
+        File tempFile = new File(dir, file.getName() + ".tmp"); // NOI18N
+        List<Entry> written = new ArrayList<>(live.size() + pending.size());
+        List<Long> offsets = new ArrayList<>(live.size() + pending.size());
+        List<Integer> lengths = new ArrayList<>(live.size() + pending.size());
+        long position = FILE_HEADER;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new FileOutputStream(tempFile), 64 * 1024))) {
+            out.writeInt(FORMAT_VERSION);
+            for (int i = 0; source != null && i < live.size(); i++) {
+                Entry entry = live.get(i);
+                ByteBuffer data = ByteBuffer.allocate(entry.length);
+                readFully(source, data, entry.offset + RECORD_HEADER);
+                out.write(record(liveIds.get(i), entry, data.array()).array());
+                written.add(entry);
+                offsets.add(position);
+                lengths.add(entry.length);
+                position += RECORD_HEADER + entry.length;
+            }
+            for (int i = 0; i < pending.size(); i++) {
+                Entry entry = pending.get(i);
+                byte[] data = deflate(entry.json);
+                out.write(record(pendingIds.get(i), entry, data).array());
+                written.add(entry);
+                offsets.add(position);
+                lengths.add(data.length);
+                position += RECORD_HEADER + data.length;
+            }
+        } catch (IOException ex) {
+            LOG.log(Level.INFO, "Failed to write issue store " + file, ex);
+            if (!tempFile.delete()) {
+                tempFile.deleteOnExit();
+            }
+            synchronized (this) {
+                markDirty();
+            }
+            return;
+        }
+        synchronized (this) {
+            try {
+                closeChannel();
+                Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                        StandardOpenOption.READ, StandardOpenOption.WRITE);
+                for (int i = 0; i < written.size(); i++) {
+                    written.get(i).stored(offsets.get(i), lengths.get(i));
+                }
+                fileLength = position;
+            } catch (IOException ex) {
+                // The index can't be trusted anymore - start over
+                LOG.log(Level.INFO, "Failed to replace issue store " + file, ex);
+                issues.clear();
+                closeChannel();
+            }
+        }
+    }
+
+    private void saveQueryResults(Map<String, List<Integer>> queries) {
+        File dir = queryFile.getParentFile();
+        dir.mkdirs();
+        File tempFile = new File(dir, queryFile.getName() + ".tmp"); // NOI18N
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(new FileOutputStream(tempFile))))) {
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(queries.size());
+                for (Map.Entry<String, List<Integer>> e : queries.entrySet()) {
+                    out.writeUTF(e.getKey());
+                    out.writeInt(e.getValue().size());
+                    for (Integer id : e.getValue()) {
+                        out.writeInt(id);
+                    }
+                }
+            }
+            Files.move(tempFile.toPath(), queryFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ex) {
+            LOG.log(Level.INFO, "Failed to write query results " + queryFile, ex);
+            if (!tempFile.delete()) {
+                tempFile.deleteOnExit();
+            }
+        }
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ex) {
+                LOG.log(Level.FINE, "Failed to close issue store " + file, ex);
+            }
+            channel = null;
+        }
+    }
+
+    private static ByteBuffer record(int id, Entry entry, byte[] data) {
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER + data.length);
+        buffer.putInt(id);
+        buffer.putLong(entry.updatedOn);
+        buffer.put((byte) (entry.detailed ? 1 : 0));
+        buffer.putInt(data.length);
+        buffer.put(data);
+        buffer.flip();
+        return buffer;
+    }
+
+    private static byte[] deflate(String json) {
+        Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(json.getBytes(StandardCharsets.UTF_8));
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(json.length() / 4 + 16);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                int count = deflater.deflate(buffer);
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static String inflate(byte[] data) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("Truncated issue snapshot"); // NOI18N
+                }
+                out.write(buffer, 0, count);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int count = channel.read(buffer, position + buffer.position());
+            if (count < 0) {
+                throw new EOFException();
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    private static void skipFully(DataInputStream in, int length) throws IOException {
+        int remaining = length;
+        while (remaining > 0) {
+            int skipped = in.skipBytes(remaining);
+            if (skipped <= 0) {
+                throw new EOFException();
+            }
+            remaining -= skipped;
+        }
+    }
+
+    /**
+     * Index entry - holds the snapshot until it is written to the data file,
+     * the location of the record afterwards. Only modified while holding the
+     * store lock.
+     */
+    private static class Entry {
+        private final long updatedOn;
+        private final boolean detailed;
+        private String json;
+        private long offset;
+        private int length;
+
+        public Entry(long updatedOn, boolean detailed, String json) {
+            this.updatedOn = updatedOn;
+            this.detailed = detailed;
+            this.json = json;
+        }
+
+        public Entry(long updatedOn, boolean detailed, long offset, int length) {
+            this.updatedOn = updatedOn;
+            this.detailed = detailed;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        void stored(long offset, int length) {
+            this.offset = offset;
+            this.length = length;
+            this.json = null;
+        }
+    }
+}
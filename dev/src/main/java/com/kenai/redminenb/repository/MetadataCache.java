@@ -0,0 +1,504 @@
+/*
+ * Copyright 2026 RedmineNB contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kenai.redminenb.repository;
+
+import com.kenai.redminenb.RedmineConfig;
+import com.taskadapter.redmineapi.RedmineException;
+import com.taskadapter.redmineapi.bean.CustomFieldDefinition;
+import com.taskadapter.redmineapi.bean.IssuePriority;
+import com.taskadapter.redmineapi.bean.IssueStatus;
+import com.taskadapter.redmineapi.bean.Role;
+import com.taskadapter.redmineapi.bean.TimeEntryActivity;
+import com.taskadapter.redmineapi.bean.Tracker;
+import com.taskadapter.redmineapi.internal.RedmineJSONParser;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONStringer;
+import org.json.JSONWriter;
+import org.openide.util.RequestProcessor;
+
+/**
+ * Persistent cache of the server metadata (trackers, statuses, priorities,
+ * time entry activities and custom field definitions) of one repository.
+ *
+ * <p>Cached lists are served directly, also right after startup, when they
+ * are read from disk. Lists older than the configured time to live are
+ * reloaded in the background, while the old value is still served. Only if
+ * no value is known the list is loaded synchronously - concurrent requests
+ * for the same list wait for a single load.</p>
+ *
+ * <p>The returned lists are unmodifiable and the same instance is returned
+ * until the list is reloaded.</p>
+ *
+ * <p>The lists are stored in the JSON representation of the REST API and
+ * read back with the parser of the redmine java api.</p>
+ */
+public final class MetadataCache {
+    private static final Logger LOG = Logger.getLogger(MetadataCache.class.getName());
+    private static final int FORMAT_VERSION = 1;
+    private static final RequestProcessor RP = new RequestProcessor("Redmine metadata cache", 1); // NOI18N
+
+    /**
+     * Loads the current value from the server.
+     */
+    public interface Loader<T> {
+        List<T> load() throws RedmineException;
+    }
+
+    /**
+     * Kind of cached metadata - binds the storage key to the JSON
+     * conversion.
+     */
+    public static abstract class Type<T> {
+        private final String key;
+        private final String displayName;
+
+        Type(String key, String displayName) {
+            this.key = key;
+            this.displayName = displayName;
+        }
+
+        abstract void write(JSONWriter writer, T item) throws JSONException;
+
+        abstract T read(JSONObject object) throws JSONException;
+    }
+
+    public static final Type<Tracker> TRACKERS = new Type<Tracker>("trackers", "issue trackers") { // NOI18N
+        @Override
+        void write(JSONWriter writer, Tracker item) throws JSONException {
+            writer.object();
+            writeValue(writer, "id", item.getId());
+            writeValue(writer, "name", item.getName());
+            writer.endObject();
+        }
+
+        @Override
+        Tracker read(JSONObject object) throws JSONException {
+            return RedmineJSONParser.parseTracker(object);
+        }
+    };
+
+    public static final Type<IssueStatus> STATUSES = new Type<IssueStatus>("issue_statuses", "issue statuses") { // NOI18N
+        @Override
+        void write(JSONWriter writer, IssueStatus item) throws JSONException {
+            writer.object();
+            writeValue(writer, "id", item.getId());
+            writeValue(writer, "name", item.getName());
+            writer.key("is_default").value(item.isDefaultStatus());
+            writer.key("is_closed").value(item.isClosed());
+            writer.endObject();
+        }
+
+        @Override
+        IssueStatus read(JSONObject object) throws JSONException {
+            return RedmineJSONParser.parseStatus(object);
+        }
+    };
+
+    public static final Type<IssuePriority> PRIORITIES = new Type<IssuePriority>("issue_priorities", "issue priorities") { // NOI18N
+        @Override
+        void write(JSONWriter writer, IssuePriority item) throws JSONException {
+            writer.object();
+            writeValue(writer, "id", item.getId());
+            writeValue(writer, "name", item.getName());
+            writer.key("is_default").value(item.isDefault());
+            writer.endObject();
+        }
+
+        @Override
+        IssuePriority read(JSONObject object) throws JSONException {
+            return RedmineJSONParser.parseIssuePriority(object);
+        }
+    };
+
+    public static final Type<TimeEntryActivity> ACTIVITIES = new Type<TimeEntryActivity>("time_entry_activities", "time entry activities") { // NOI18N
+        @Override
+        void write(JSONWriter writer, TimeEntryActivity item) throws JSONException {
+            writer.object();
+            writeValue(writer, "id", item.getId());
+            writeValue(writer, "name", item.getName());
+            writer.key("is_default").value(item.isDefault());
+            writer.endObject();
+        }
+
+        @Override
+        TimeEntryActivity read(JSONObject object) throws JSONException {
+            return RedmineJSONParser.parseTimeEntryActivity(object);
+        }
+    };
+
+    public static final Type<CustomFieldDefinition> CUSTOM_FIELDS = new Type<CustomFieldDefinition>("custom_fields", "custom field definitions") { // NOI18N
+        @Override
+        void write(JSONWriter writer, CustomFieldDefinition item) throws JSONException {
+            writer.object();
+            writeValue(writer, "id", item.getId());
+            writeValue(writer, "name", item.getName());
+            writeValue(writer, "customized_type", item.getCustomizedType());
+            writeValue(writer, "field_format", item.getFieldFormat());
+            writeValue(writer, "regexp", item.getRegexp());
+            writeValue(writer, "min_length", item.getMinLength());
+            writeValue(writer, "max_length", item.getMaxLength());
+            writer.key("is_required").value(item.isRequired());
+            writer.key("is_filter").value(item.isFilter());
+            writer.key("searchable").value(item.isSearchable());
+            writer.key("multiple").value(item.isMultiple());
+            writeValue(writer, "default_value", item.getDefaultValue());
+            writer.key("visible").value(item.isVisible());
+            writer.key("possible_values").array();
+            for (String value : item.getPossibleValues()) {
+                writer.object();
+                writeValue(writer, "value", value);
+                writer.endObject();
+            }
+            writer.endArray();
+            writer.key("trackers").array();
+            for (Tracker tracker : item.getTrackers()) {
+                TRACKERS.write(writer, tracker);
+            }
+            writer.endArray();
+            writer.key("roles").array();
+            for (Role role : item.getRoles()) {
+                writer.object();
+                writeValue(writer, "id", role.getId());
+                writeValue(writer, "name", role.getName());
+                writer.endObject();
+            }
+            writer.endArray();
+            writer.endObject();
+        }
+
+        @Override
+        CustomFieldDefinition read(JSONObject object) throws JSONException {
+            return RedmineJSONParser.parseCustomFieldDefinition(object);
+        }
+    };
+
+    private final File file;
+    private final Map<String, Entry> entries = new HashMap<>();
+    /**
+     * Synchronous loads in flight, by type key.
+     */
+    private final Map<String, FutureTask<?>> loading = new HashMap<>();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private boolean loaded;
+    /**
+     * Incremented by {@link #clear()}, loads started before are not cached.
+     */
+    private long generation;
+
+    public MetadataCache(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Get the cached list or load it from the server if it is not known.
+     *
+     * @throws RedmineException if no cached value exists and loading failed
+     */
+    public <T> List<T> get(final Type<T> type, final Loader<T> loader) throws RedmineException {
+        FutureTask<List<T>> task;
+        boolean owner = false;
+        synchronized (this) {
+            List<T> cached = getCached(type, loader);
+            if (cached != null) {
+                hitCount.incrementAndGet();
+                return cached;
+            }
+            @SuppressWarnings("unchecked")
+            FutureTask<List<T>> pending = (FutureTask<List<T>>) loading.get(type.key);
+            task = pending;
+            if (task == null) {
+                final long loadGeneration = generation;
+                task = new FutureTask<>(new Callable<List<T>>() {
+                    @Override
+                    public List<T> call() throws RedmineException {
+                        return put(type, loader.load(), true, loadGeneration);
+                    }
+                });
+                loading.put(type.key, task);
+                owner = true;
+            }
+        }
+        if (owner) {
+            missCount.incrementAndGet();
+            try {
+                task.run();
+            } finally {
+                synchronized (this) {
+                    loading.remove(type.key, task);
+                }
+            }
+        } else {
+            hitCount.incrementAndGet();
+        }
+        try {
+            return task.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RedmineException("Interrupted while waiting for " + type.displayName, ex);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RedmineException) {
+                throw (RedmineException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            } else {
+                throw new RedmineException(cause);
+            }
+        }
+    }
+
+    /**
+     * Get the cached list or load it from the server if it is not known.
+     * If loading fails, the fallback is used until the time to live expires.
+     */
+    public <T> List<T> get(Type<T> type, Loader<T> loader, List<T> fallback) {
+        try {
+            return get(type, loader);
+        } catch (RedmineException | RuntimeException ex) {
+            LOG.log(Level.INFO, "Can't get " + type.displayName + " from Redmine, using defaults", ex);
+            synchronized (this) {
+                return put(type, fallback, false, generation);
+            }
+        }
+    }
+
+    /**
+     * @return number of requests answered from the cache
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * @return number of requests, that had to load the data
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Drop all cached values - used when the repository configuration
+     * changes.
+     */
+    public synchronized void clear() {
+        generation++;
+        loaded = true;
+        entries.clear();
+        loading.clear();
+        if (file.exists() && !file.delete()) {
+            LOG.log(Level.INFO, "Failed to remove metadata cache {0}", file);
+        }
+    }
+
+    private synchronized <T> List<T> getCached(final Type<T> type, final Loader<T> loader) {
+        ensureLoaded();
+        final Entry entry = entries.get(type.key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.value == null) {
+            try {
+                entry.value = readList(type, entry.json);
+            } catch (JSONException | RuntimeException ex) {
+                LOG.log(Level.INFO, "Dropping unreadable " + type.displayName, ex);
+                entries.remove(type.key);
+                return null;
+            }
+        }
+        long ttl = TimeUnit.MINUTES.toMillis(RedmineConfig.getInstance().getMetadataTimeToLive());
+        if (!entry.revalidating && System.currentTimeMillis() - entry.timestamp > ttl) {
+            entry.revalidating = true;
+            final long loadGeneration = generation;
+            RP.post(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        put(type, loader.load(), true, loadGeneration);
+                    } catch (RedmineException | RuntimeException ex) {
+                        LOG.log(Level.FINE, "Failed to revalidate " + type.displayName, ex);
+                        synchronized (MetadataCache.this) {
+                            // Retry after the next time to live
+                            entry.timestamp = System.currentTimeMillis();
+                            entry.revalidating = false;
+                        }
+                    }
+                }
+            });
+        }
+        @SuppressWarnings("unchecked")
+        List<T> value = (List<T>) entry.value;
+        return value;
+    }
+
+    /**
+     * @param loadGeneration generation the load of the value was started in,
+     * values of an older generation are returned, but not cached
+     */
+    private synchronized <T> List<T> put(Type<T> type, List<T> value, boolean persist, long loadGeneration) {
+        ensureLoaded();
+        List<T> unmodifiable = Collections.unmodifiableList(new ArrayList<>(value));
+        if (loadGeneration != generation) {
+            LOG.log(Level.FINE, "Dropping {0} loaded before the cache was cleared", type.displayName);
+            return unmodifiable;
+        }
+        Entry entry = new Entry(System.currentTimeMillis());
+        entry.value = unmodifiable;
+        if (persist) {
+            try {
+                entry.json = writeList(type, value);
+            } catch (JSONException | RuntimeException ex) {
+                LOG.log(Level.INFO, "Failed to serialize " + type.displayName, ex);
+            }
+        }
+        entries.put(type.key, entry);
+        if (persist) {
+            save();
+        }
+        return unmodifiable;
+    }
+
+    private static <T> String writeList(Type<T> type, List<T> value) throws JSONException {
+        JSONStringer writer = new JSONStringer();
+        writer.array();
+        for (T item : value) {
+            type.write(writer, item);
+        }
+        writer.endArray();
+        return writer.toString();
+    }
+
+    private static <T> List<T> readList(Type<T> type, String json) throws JSONException {
+        JSONArray array = new JSONArray(json);
+        List<T> result = new ArrayList<>(array.length());
+        for (int i = 0; i < array.length(); i++) {
+            result.add(type.read(array.getJSONObject(i)));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private static void writeValue(JSONWriter writer, String key, Object value) throws JSONException {
+        if (value != null) {
+            writer.key(key).value(value);
+        }
+    }
+
+    private void ensureLoaded() {
+        assert Thread.holdsLock(this);
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        if (!file.canRead()) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                return;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String key = in.readUTF();
+                Entry entry = new Entry(in.readLong());
+                byte[] json = new byte[in.readInt()];
+                in.readFully(json);
+                entry.json = new String(json, StandardCharsets.UTF_8);
+                entries.put(key, entry);
+            }
+        } catch (IOException | RuntimeException ex) {
+            LOG.log(Level.INFO, "Failed to read metadata cache " + file, ex);
+            entries.clear();
+        }
+    }
+
+    /**
+     * Write the persistable entries - saving to a temp file first, that
+     * replaces the cache file after it was written completely.
+     */
+    private void save() {
+        assert Thread.holdsLock(this);
+        File dir = file.getParentFile();
+        dir.mkdirs();
+        File tempFile = new File(dir, file.getName() + ".tmp"); // NOI18N
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+                List<Map.Entry<String, Entry>> persistable = new ArrayList<>();
+                for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                    if (e.getValue().json != null) {
+                        persistable.add(e);
+                    }
+                }
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(persistable.size());
+                for (Map.Entry<String, Entry> e : persistable) {
+                    byte[] json = e.getValue().json.getBytes(StandardCharsets.UTF_8);
+                    out.writeUTF(e.getKey());
+                    out.writeLong(e.getValue().timestamp);
+                    out.writeInt(json.length);
+                    out.write(json);
+                }
+            }
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ex) {
+            LOG.log(Level.INFO, "Failed to write metadata cache " + file, ex);
+            if (!tempFile.delete()) {
+                tempFile.deleteOnExit();
+            }
+        }
+    }
+
+    private static class Entry {
+        private long timestamp;
+        private boolean revalidating;
+        /**
+         * Persisted form - null for values that must not be persisted
+         */
+        private String json;
+        private List<?> value;
+
+        public Entry(long timestamp) {
+            this.timestamp = timestamp;
+        }
+    }
+}
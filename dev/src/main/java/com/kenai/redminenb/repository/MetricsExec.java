@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 RedmineNB contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kenai.redminenb.repository;
+
+import com.kenai.redminenb.diagnostics.Metrics;
+import java.io.IOException;
+import java.net.URI;
+import java.util.regex.Pattern;
+import org.apache.http.HttpException;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpExecutionAware;
+import org.apache.http.client.methods.HttpRequestWrapper;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.execchain.ClientExecChain;
+
+/**
+ * Records the latency (time until the response headers are received) of
+ * the requests sent to the server per endpoint.
+ *
+ * <p>Endpoints are named by method and path, numeric path segments are
+ * replaced by a placeholder - so all calls of one manager method share the
+ * statistics.</p>
+ */
+class MetricsExec implements ClientExecChain {
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=[/.]|$)"); // NOI18N
+
+    private final ClientExecChain backend;
+    private final TransferStatistics statistics;
+
+    public MetricsExec(ClientExecChain backend, TransferStatistics statistics) {
+        this.backend = backend;
+        this.statistics = statistics;
+    }
+
+    @Override
+    public CloseableHttpResponse execute(HttpRoute route, HttpRequestWrapper request,
+            HttpClientContext clientContext, HttpExecutionAware execAware)
+            throws IOException, HttpException {
+        String endpoint = getEndpoint(request);
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            CloseableHttpResponse response = backend.execute(route, request, clientContext, execAware);
+            int status = response.getStatusLine().getStatusCode();
+            if (status == HttpStatus.SC_NOT_MODIFIED) {
+                statistics.notModifiedReceived();
+            }
+            success = status < 400;
+            return response;
+        } finally {
+            Metrics.record(endpoint, start, success);
+        }
+    }
+
+    static String getEndpoint(HttpRequestWrapper request) {
+        URI uri = request.getURI();
+        String path = uri != null && uri.getRawPath() != null ? uri.getRawPath() : "";
+        return request.getMethod() + " " + NUMERIC_SEGMENT.matcher(path).replaceAll("/{id}"); // NOI18N
+    }
+}
@@ -20,81 +20,77 @@ import com.taskadapter.redmineapi.RedmineManager;
 import com.taskadapter.redmineapi.internal.Transport;
 import java.io.IOException;
 import java.lang.reflect.Field;
-import java.net.ProxySelector;
 import java.security.AccessController;
-import java.security.NoSuchAlgorithmException;
 import java.security.PrivilegedAction;
 import java.security.cert.X509Certificate;
 import javax.net.ssl.HttpsURLConnection;
-import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLException;
 import javax.net.ssl.SSLSession;
 import javax.net.ssl.SSLSocket;
 import org.apache.http.client.HttpClient;
-import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.conn.ssl.SSLSocketFactory;
 import org.apache.http.conn.ssl.X509HostnameVerifier;
-import org.apache.http.impl.client.HttpClientBuilder;
-import org.apache.http.impl.conn.SystemDefaultRoutePlanner;
 
 class RedmineManagerFactoryHelper {
 
-    public static HttpClient getTransportConfig() {
-        /**
+    /**
+     * Get the HttpClient to be used for the redmine instance at the supplied
+     * base URL. The client is shared between all managers connecting to the
+     * same server with the same credentials (see {@link TransportRegistry}).
+     *
+     * @param baseUrl base url of the redmine instance
+     * @param credentials values identifying the account
+     * @return shared, pooling http client
+     */
+    public static HttpClient getTransportConfig(String baseUrl, String... credentials) {
+        return TransportRegistry.getHttpClient(baseUrl, credentials);
+    }
+
+    /**
      * Implement a minimal hostname verifier. This is needed to be able to use
      * hosts with certificates, that don't match the used hostname (VServer).
-         *
-         * This is implemented by first trying the "Browser compatible" hostname
-         * verifier and if that fails, fall back to the default java hostname
-         * verifier.
-         *
-         * If the default case the hostname verifier in java always rejects, but
-         * for netbeans the "SSL Certificate Exception" module is available that
-         * catches this and turns a failure into a request to the GUI user.
-         */
-        X509HostnameVerifier hostnameverified = new X509HostnameVerifier() {
-            @Override
-            public void verify(String string, SSLSocket ssls) throws IOException {
-                if(SSLSocketFactory.BROWSER_COMPATIBLE_HOSTNAME_VERIFIER.verify(string, ssls.getSession())) {
-                    return;
-                }
-                if (!HttpsURLConnection.getDefaultHostnameVerifier().verify(string, ssls.getSession())) {
-                    throw new SSLException("Hostname did not verify");
-                }
-            }
+     *
+     * This is implemented by first trying the "Browser compatible" hostname
+     * verifier and if that fails, fall back to the default java hostname
+     * verifier.
+     *
+     * If the default case the hostname verifier in java always rejects, but
+     * for netbeans the "SSL Certificate Exception" module is available that
+     * catches this and turns a failure into a request to the GUI user.
+     */
+    static X509HostnameVerifier getHostnameVerifier() {
+        return HOSTNAME_VERIFIER;
+    }
 
-            @Override
-            public void verify(String string, X509Certificate xc) throws SSLException {
-                throw new SSLException("Check not implemented yet");
+    private static final X509HostnameVerifier HOSTNAME_VERIFIER = new X509HostnameVerifier() {
+        @Override
+        public void verify(String string, SSLSocket ssls) throws IOException {
+            if (SSLSocketFactory.BROWSER_COMPATIBLE_HOSTNAME_VERIFIER.verify(string, ssls.getSession())) {
+                return;
             }
-
-            @Override
-            public void verify(String string, String[] strings, String[] strings1) throws SSLException {
-                throw new SSLException("Check not implemented yet");
+            if (!HttpsURLConnection.getDefaultHostnameVerifier().verify(string, ssls.getSession())) {
+                throw new SSLException("Hostname did not verify");
             }
+        }
 
-            @Override
-            public boolean verify(String string, SSLSession ssls) {
-                if (SSLSocketFactory.BROWSER_COMPATIBLE_HOSTNAME_VERIFIER.verify(string, ssls)) {
-                    return true;
-                }
-                return HttpsURLConnection.getDefaultHostnameVerifier().verify(string, ssls);
-            }
-        };
-
-        try {
-            SSLConnectionSocketFactory scsf = new SSLConnectionSocketFactory(SSLContext.getDefault(), hostnameverified);
+        @Override
+        public void verify(String string, X509Certificate xc) throws SSLException {
+            throw new SSLException("Check not implemented yet");
+        }
 
-            HttpClient hc = HttpClientBuilder.create()
-                    .setRoutePlanner(new SystemDefaultRoutePlanner(ProxySelector.getDefault()))
-                    .setSSLSocketFactory(scsf)
-                    .build();
+        @Override
+        public void verify(String string, String[] strings, String[] strings1) throws SSLException {
+            throw new SSLException("Check not implemented yet");
+        }
 
-            return hc;
-        } catch (NoSuchAlgorithmException ex) {
-            throw new RuntimeException(ex);
+        @Override
+        public boolean verify(String string, SSLSession ssls) {
+            if (SSLSocketFactory.BROWSER_COMPATIBLE_HOSTNAME_VERIFIER.verify(string, ssls)) {
+                return true;
+            }
+            return HttpsURLConnection.getDefaultHostnameVerifier().verify(string, ssls);
         }
-    }
+    };
     
     public static Transport getTransportFromManager(final RedmineManager rm) {
         return AccessController.doPrivileged(new PrivilegedAction<Transport>() {
@@ -22,13 +22,20 @@ import com.kenai.redminenb.RedmineConnector;
 import com.kenai.redminenb.issue.RedmineIssue;
 import com.kenai.redminenb.query.RedmineQuery;
 import com.kenai.redminenb.query.RedmineQueryController;
+import com.kenai.redminenb.query.SearchCoalescer;
+import com.kenai.redminenb.query.UpdatedIssueTracker;
 import com.kenai.redminenb.user.RedmineUser;
 
 import com.kenai.redminenb.api.AuthMode;
 import static com.kenai.redminenb.repository.RedmineManagerFactoryHelper.getTransportFromManager;
 import com.kenai.redminenb.util.AssigneeWrapper;
 import com.kenai.redminenb.util.ExceptionHandler;
+import com.kenai.redminenb.util.IdIndex;
+import com.kenai.redminenb.util.LoadingCache;
 import com.kenai.redminenb.util.NestedProject;
+import com.kenai.redminenb.util.SequentialExecutor;
+import com.kenai.redminenb.util.ThrottledRequestProcessor;
+import com.kenai.redminenb.util.markup.TextileCache;
 import com.taskadapter.redmineapi.AttachmentManager;
 import com.taskadapter.redmineapi.IssueManager;
 import com.taskadapter.redmineapi.MembershipManager;
@@ -56,6 +63,7 @@ import com.taskadapter.redmineapi.bean.User;
 import com.taskadapter.redmineapi.bean.Version;
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
+import java.io.File;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -64,15 +72,25 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.swing.SwingUtilities;
 import org.netbeans.api.annotations.common.NonNull;
+import org.netbeans.api.progress.ProgressHandle;
 import org.netbeans.modules.bugtracking.spi.RepositoryController;
 import org.netbeans.modules.bugtracking.spi.RepositoryInfo;
 import org.netbeans.modules.bugtracking.spi.RepositoryProvider;
@@ -81,6 +99,8 @@ import org.openide.NotifyDescriptor;
 import org.openide.util.Lookup;
 import org.openide.util.NbBundle;
 import org.openide.util.RequestProcessor;
+import org.openide.util.Task;
+import org.openide.util.TaskListener;
 import org.openide.util.lookup.AbstractLookup;
 import org.openide.util.lookup.InstanceContent;
 
@@ -98,6 +118,27 @@ import org.openide.util.lookup.InstanceContent;
 })
 public class RedmineRepository {    
     private static final Logger LOG = Logger.getLogger(RedmineRepository.class.getName());
+    /**
+     * Maximum number of ids passed in one issue_id filter - matches the
+     * maximum page size of the issue list.
+     */
+    private static final int ISSUE_ID_CHUNK_SIZE = 100;
+    /**
+     * Delay in ms before background refreshes are retried, if interactive
+     * work is pending.
+     */
+    private static final int BACKGROUND_DEFER_DELAY = 2000;
+    /**
+     * Maximum time in ms background work is deferred in favour of
+     * interactive work - prevents starving background work.
+     */
+    private static final long MAX_INTERACTIVE_WAIT = 5000;
+    /**
+     * Shared pool for membership loading - its throughput bounds the number
+     * of concurrent membership requests.
+     */
+    private static final ThrottledRequestProcessor MEMBERSHIP_LOADER
+            = new ThrottledRequestProcessor("Redmine membership loader"); // NOI18N
     
     static final String PROPERTY_AUTH_MODE = "authMode";                // NOI18N  
     static final String PROPERTY_ACCESS_KEY = "accessKey";              // NOI18N  
@@ -132,8 +173,13 @@ public class RedmineRepository {
     private RepositoryInfo info;
     private transient RepositoryController controller;
     private Map<String, RedmineQuery> queries = null;
-    private transient RedmineManager manager;
-    private transient RedmineUser currentUser;
+    /**
+     * Guards the creation and reset of the manager - the fields are read
+     * without it.
+     */
+    private final Object managerLock = new Object();
+    private transient volatile RedmineManager manager;
+    private transient volatile RedmineUser currentUser;
     private transient Lookup lookup;
     private final transient InstanceContent ic;
 
@@ -142,18 +188,101 @@ public class RedmineRepository {
     private RequestProcessor.Task refreshIssuesTask;
     private RequestProcessor.Task refreshQueryTask;
     private RequestProcessor requestProcessor;
+    private int requestProcessorWorkers;
+    private volatile boolean removed;
+    /**
+     * Number of queued or running interactive tasks - guarded by itself.
+     */
+    private final int[] pendingInteractive = new int[1];
 
     private final IssueCache issueCache = new IssueCache(this);
+    private final SearchCoalescer searchCoalescer = new SearchCoalescer();
+    private final UpdatedIssueTracker updatedIssueTracker = new UpdatedIssueTracker(searchCoalescer);
+    // Chars are two bytes, a KiB holds 512 of them
+    private final TextileCache textileCache = new TextileCache(
+            RedmineConfig.getInstance().getMarkupCacheSize() * 512L);
+    private IssueStore issueStore;
 
     private final Set<RedmineIssue> newIssues = Collections.synchronizedSet(new HashSet<RedmineIssue>());
-    private Map<Integer, NestedProject> projects;
-    private final Map<Integer, List<Membership>> userCache = Collections.synchronizedMap(new HashMap<Integer,List<Membership>>());
-    private final Map<Integer, List<IssueCategory>> categoryCache = Collections.synchronizedMap(new HashMap<Integer, List<IssueCategory>>());
-    private final Map<Integer, List<Version>> versionCache = Collections.synchronizedMap(new HashMap<Integer, List<Version>>());
-    private List<IssueStatus> statusCache = null;
-    private List<TimeEntryActivity> timeEntryActivityCache = null;
-    private List<Tracker> trackerCache = null;
-    private List<CustomFieldDefinition> customFieldsCache = null;
+    /**
+     * Guards loading and reset of the project list - the field is read
+     * without it.
+     */
+    private final Object projectsLock = new Object();
+    private volatile Map<Integer, NestedProject> projects;
+    private final LoadingCache<Integer, List<Membership>> userCache = new LoadingCache<>(
+            new LoadingCache.Loader<Integer, List<Membership>>() {
+                @Override
+                public List<Membership> load(Integer projectId) throws RedmineException {
+                    return getMembershipManager().getMemberships(projectId.toString());
+                }
+            }, getProjectCacheExpiry());
+    private final LoadingCache<Integer, List<IssueCategory>> categoryCache = new LoadingCache<>(
+            new LoadingCache.Loader<Integer, List<IssueCategory>>() {
+                @Override
+                public List<IssueCategory> load(Integer projectId) throws RedmineException {
+                    List<IssueCategory> cats = getIssueManager().getCategories(projectId);
+                    for (IssueCategory cat : cats) {
+                        cat.setProjectId(null);
+                        cat.setAssigneeId(null);
+                    }
+                    return Collections.unmodifiableList(cats);
+                }
+            }, getProjectCacheExpiry());
+    private final LoadingCache<Integer, List<Version>> versionCache = new LoadingCache<>(
+            new LoadingCache.Loader<Integer, List<Version>>() {
+                @Override
+                public List<Version> load(Integer projectId) throws RedmineException {
+                    return getProjectManager().getVersions(projectId);
+                }
+            }, getProjectCacheExpiry());
+    private MetadataCache metadataCache;
+    // Id lookup tables - rebuilt when the cached lists are replaced
+    private final IdIndex<Tracker> trackerIndex = new IdIndex<>(new IdIndex.IdFunction<Tracker>() {
+        @Override
+        public Integer getId(Tracker item) {
+            return item.getId();
+        }
+    });
+    private final IdIndex<IssueStatus> statusIndex = new IdIndex<>(new IdIndex.IdFunction<IssueStatus>() {
+        @Override
+        public Integer getId(IssueStatus item) {
+            return item.getId();
+        }
+    });
+    private final IdIndex<IssuePriority> priorityIndex = new IdIndex<>(new IdIndex.IdFunction<IssuePriority>() {
+        @Override
+        public Integer getId(IssuePriority item) {
+            return item.getId();
+        }
+    });
+    private final IdIndex<CustomFieldDefinition> customFieldIndex = new IdIndex<>(new IdIndex.IdFunction<CustomFieldDefinition>() {
+        @Override
+        public Integer getId(CustomFieldDefinition item) {
+            return item.getId();
+        }
+    });
+    private final ConcurrentMap<Integer, IdIndex<IssueCategory>> categoryIndexes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, IdIndex<Version>> versionIndexes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, IdIndex<Membership>> membershipIndexes = new ConcurrentHashMap<>();
+    private static final IdIndex.IdFunction<IssueCategory> CATEGORY_ID = new IdIndex.IdFunction<IssueCategory>() {
+        @Override
+        public Integer getId(IssueCategory item) {
+            return item.getId();
+        }
+    };
+    private static final IdIndex.IdFunction<Version> VERSION_ID = new IdIndex.IdFunction<Version>() {
+        @Override
+        public Integer getId(Version item) {
+            return item.getId();
+        }
+    };
+    private static final IdIndex.IdFunction<Membership> MEMBERSHIP_ID = new IdIndex.IdFunction<Membership>() {
+        @Override
+        public Integer getId(Membership item) {
+            return item.getUserId() != null ? item.getUserId() : item.getGroupId();
+        }
+    };
     
     // Make sure we know all instances we created - a crude hack, but API does
     // not allow ourselfes ....
@@ -163,6 +292,12 @@ public class RedmineRepository {
     {
         repositoryList.add(new WeakReference<>(this));
     }
+
+    /**
+     * Worker threads assigned to the request processors of all repositories
+     * - guarded by repositoryList.
+     */
+    private static int allocatedWorkers;
     
     public static RedmineRepository getInstanceyById(@NonNull String id) {
         if( id == null ) {
@@ -185,6 +320,25 @@ public class RedmineRepository {
             return result;
         }
     }
+
+    /**
+     * @return all live repository instances
+     */
+    public static List<RedmineRepository> getInstances() {
+        synchronized(repositoryList) {
+            List<RedmineRepository> result = new ArrayList<>(repositoryList.size());
+            Iterator<WeakReference<RedmineRepository>> it = repositoryList.iterator();
+            while(it.hasNext()) {
+                RedmineRepository hard = it.next().get();
+                if(hard == null) {
+                    it.remove();
+                } else {
+                    result.add(hard);
+                }
+            }
+            return result;
+        }
+    }
     
     /**
      * Default constructor required for deserializing.
@@ -202,6 +356,92 @@ public class RedmineRepository {
         return issueCache;
     }
 
+    /**
+     * @return number of requests for memberships, categories and versions
+     * served by the per project caches
+     */
+    public long getProjectCacheHitCount() {
+        return userCache.getHitCount() + categoryCache.getHitCount() + versionCache.getHitCount();
+    }
+
+    /**
+     * @return number of requests for memberships, categories and versions,
+     * that had to be loaded from the server
+     */
+    public long getProjectCacheMissCount() {
+        return userCache.getMissCount() + categoryCache.getMissCount() + versionCache.getMissCount();
+    }
+
+    /**
+     * @return transfer counters of the server hosting this repository
+     */
+    public TransferStatistics getTransferStatistics() {
+        return TransportRegistry.getTransferStatistics(getUrl());
+    }
+
+    /**
+     * @return shares identical issue searches of this repository
+     */
+    public SearchCoalescer getSearchCoalescer() {
+        return searchCoalescer;
+    }
+
+    /**
+     * @return issues updated since a point in time, shared by the delta
+     * refreshes of all queries of this repository
+     */
+    public UpdatedIssueTracker getUpdatedIssueTracker() {
+        return updatedIssueTracker;
+    }
+
+    /**
+     * @return rendered Textile markup of journal notes and descriptions
+     */
+    public TextileCache getTextileCache() {
+        return textileCache;
+    }
+
+    /**
+     * @return persistent store of issue snapshots for this repository
+     */
+    public synchronized IssueStore getIssueStore() {
+        if (issueStore == null) {
+            issueStore = new IssueStore(getCacheFile("issues.data")); // NOI18N
+        }
+        return issueStore;
+    }
+
+    /**
+     * @return the issue store or null if it was not used yet - diagnostics
+     * use this to avoid loading the store
+     */
+    public synchronized IssueStore peekIssueStore() {
+        return issueStore;
+    }
+
+    /**
+     * @return the metadata cache or null if it was not used yet
+     */
+    public synchronized MetadataCache peekMetadataCache() {
+        return metadataCache;
+    }
+
+    /**
+     * @return persistent cache of the server metadata
+     */
+    public synchronized MetadataCache getMetadataCache() {
+        if (metadataCache == null) {
+            metadataCache = new MetadataCache(getCacheFile("metadata.data")); // NOI18N
+        }
+        return metadataCache;
+    }
+
+    private File getCacheFile(String name) {
+        String id = info != null ? info.getID() : "default"; // NOI18N
+        String fileName = id.replaceAll("[^A-Za-z0-9._-]", "_") + "-" + name; // NOI18N
+        return new File(RedmineConfig.getInstance().getCacheDirectory(), fileName);
+    }
+
     public RepositoryInfo getInfo() {
         return info;
     }
@@ -225,20 +465,34 @@ public class RedmineRepository {
         info = ri;
         setAccessKey(accessKey);
         setAuthMode(authMode);
-        this.projects = null;
+        synchronized (projectsLock) {
+            this.projects = null;
+        }
     }
 
+    /**
+     * The project list is loaded once - concurrent callers wait for the
+     * running load.
+     *
+     * @return the projects by id, null if loading failed
+     */
     public Map<Integer, NestedProject> getProjects() {
-        try {
-            if (projects == null) {
-                Map<Integer, NestedProject> projectMap = 
-                        convertProjectList(getProjectManager().getProjects());
-                projects = Collections.unmodifiableMap(projectMap);
+        Map<Integer, NestedProject> current = projects;
+        if (current != null) {
+            return current;
+        }
+        synchronized (projectsLock) {
+            try {
+                if (projects == null) {
+                    Map<Integer, NestedProject> projectMap =
+                            convertProjectList(getProjectManager().getProjects());
+                    projects = Collections.unmodifiableMap(projectMap);
+                }
+            } catch (Exception ex) {
+                Redmine.LOG.log(Level.WARNING, "Failed to retrieve project list", ex);
             }
-        } catch (Exception ex) {
-            Redmine.LOG.log(Level.WARNING, "Failed to retrieve project list", ex);
+            return projects;
         }
-        return projects;
     }
 
     public static Map<Integer, NestedProject> convertProjectList(List<Project> projects) {
@@ -287,7 +541,7 @@ public class RedmineRepository {
     public void setAuthMode(AuthMode authMode) {
         AuthMode old = getAuthMode();
         if (!Objects.equals(old, authMode)) {
-            manager = null;
+            resetManager();
         }
         info.putValue(PROPERTY_AUTH_MODE, authMode == null ? null : authMode.name());
     }
@@ -302,7 +556,7 @@ public class RedmineRepository {
     public void setAccessKey(String accessKey) {
         String old = getAccessKey();
         if (!Objects.equals(old, accessKey)) {
-            manager = null; // force reconnect
+            resetManager(); // force reconnect
         }
         info.putValue(PROPERTY_ACCESS_KEY, accessKey);
     }
@@ -350,7 +604,20 @@ public class RedmineRepository {
             redmineIssue = issueCache.get(issueId);
             if (redmineIssue == null) {
                 try {
+                    Issue stored = getIssueStore().get(Integer.valueOf(issueId));
+                    if (stored != null) {
+                        // Show the stored snapshot and revalidate in background
+                        final RedmineIssue storedIssue = issueCache.cachedRedmineIssue(stored);
+                        post(new Runnable() {
+                            @Override
+                            public void run() {
+                                storedIssue.refresh();
+                            }
+                        }, RequestPriority.PREFETCH);
+                        return storedIssue;
+                    }
                     Issue issue = getIssueManager().getIssueById(Integer.valueOf(issueId));
+                    getIssueStore().put(issue);
                     redmineIssue = issueCache.cachedRedmineIssue(issue);
                 } catch (NotFoundException ex) {
                     // do nothing
@@ -362,10 +629,61 @@ public class RedmineRepository {
         return redmineIssue;
     }
 
+    /**
+     * Get multiple issues.
+     *
+     * <p>Cached issues are served directly, the remaining issues are fetched
+     * with issue list requests filtered by id. Only issues missing from
+     * these results are requested one by one.</p>
+     */
     public Collection<RedmineIssue> getIssues(final String... ids) {
+        final RedmineIssue[] found = new RedmineIssue[ids.length];
+        final Map<Integer, List<Integer>> missing = new LinkedHashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == null) {
+                continue;
+            }
+            found[i] = issueCache.get(ids[i]);
+            if (found[i] == null) {
+                try {
+                    Integer id = Integer.valueOf(ids[i]);
+                    if (!missing.containsKey(id)) {
+                        missing.put(id, new ArrayList<Integer>(1));
+                    }
+                    missing.get(id).add(i);
+                } catch (NumberFormatException ex) {
+                    // not a valid redmine id
+                }
+            }
+        }
+
+        if (missing.size() > 1) {
+            try {
+                List<Issue> issues = getIssuesByIds(new ArrayList<>(missing.keySet()));
+                getIssueStore().putAll(issues);
+                for (Issue issue : issues) {
+                    List<Integer> positions = missing.remove(issue.getId());
+                    if (positions != null) {
+                        RedmineIssue redmineIssue = issueCache.cachedRedmineIssue(issue);
+                        for (Integer position : positions) {
+                            found[position] = redmineIssue;
+                        }
+                    }
+                }
+            } catch (RedmineException | RuntimeException ex) {
+                LOG.log(Level.INFO, "Bulk retrieval of issues failed, falling back to single requests", ex);
+            }
+        }
+
+        for (List<Integer> positions : missing.values()) {
+            RedmineIssue redmineIssue = getIssue(ids[positions.get(0)]);
+            for (Integer position : positions) {
+                found[position] = redmineIssue;
+            }
+        }
+
         final List<RedmineIssue> ret = new ArrayList<>(ids.length);
-        for (String id : ids) {
-            RedmineIssue issue = getIssue(id);
+        for (RedmineIssue issue : found) {
             if (issue != null) {
                 ret.add(issue);
             }
@@ -374,11 +692,41 @@ public class RedmineRepository {
     }
 
     public void remove() {
+        RequestProcessor processor;
+        synchronized (this) {
+            removed = true;
+            if (refreshIssuesTask != null) {
+                refreshIssuesTask.cancel();
+            }
+            if (refreshQueryTask != null) {
+                refreshQueryTask.cancel();
+            }
+            processor = requestProcessor;
+            requestProcessor = null;
+            synchronized (repositoryList) {
+                allocatedWorkers -= requestProcessorWorkers;
+                requestProcessorWorkers = 0;
+            }
+        }
+        if (processor != null) {
+            // Interrupts running and cancels queued work, so the workers
+            // are really released
+            processor.shutdown();
+        }
     }
 
     synchronized void resetRepository(boolean keepConfiguration) {
         if (!keepConfiguration) {
-            manager = null;
+            resetManager();
+            getMetadataCache().clear();
+            userCache.invalidateAll();
+            categoryCache.invalidateAll();
+            versionCache.invalidateAll();
+            categoryIndexes.clear();
+            versionIndexes.clear();
+            membershipIndexes.clear();
+            searchCoalescer.clear();
+            updatedIssueTracker.clear();
         }
     }
 
@@ -461,21 +809,109 @@ public class RedmineRepository {
         if(p == null) {
             return Collections.<Membership>emptyList();
         }
-        if (!userCache.containsKey(p.getId())) {
-            try {
-                userCache.put(p.getId(), getMembershipManager().getMemberships(p.getId().toString()));
-            } catch (RedmineException | RuntimeException ex) {
-                ExceptionHandler.handleException(LOG, "Can't get Redmine Users", ex);
-            }
-        }
-        List<Membership> memberships = userCache.get(p.getId());
-        if(memberships == null) {
+        try {
+            return userCache.get(p.getId());
+        } catch (ExecutionException ex) {
+            ExceptionHandler.handleException(LOG, "Can't get Redmine Users", getCause(ex));
             return Collections.<Membership>emptyList();
-        } else {
-            return memberships;
         }
     }
+
+    /**
+     * Per project data (memberships, categories, versions) is reloaded after
+     * the metadata time to live.
+     */
+    private static long getProjectCacheExpiry() {
+        return TimeUnit.MINUTES.toMillis(RedmineConfig.getInstance().getMetadataTimeToLive());
+    }
+
+    private static Exception getCause(ExecutionException ex) {
+        return ex.getCause() instanceof Exception ? (Exception) ex.getCause() : ex;
+    }
     
+    /**
+     * Make sure the memberships of all supplied projects are loaded.
+     *
+     * <p>Memberships not yet cached are fetched concurrently, bounded by
+     * the configured membership parallelism. Failures for single projects
+     * are logged and reported once.</p>
+     *
+     * @param projects projects to load memberships for
+     * @param progress progress handle to report the loaded projects to, the
+     * handle is switched to determinate mode (may be null)
+     */
+    public void loadMemberships(Collection<Project> projects, ProgressHandle progress) {
+        final Map<Integer, Future<List<Membership>>> pending = new LinkedHashMap<>();
+        RequestProcessor loader = MEMBERSHIP_LOADER.get(
+                RedmineConfig.getInstance().getMembershipLoadParallelism());
+        for (Project p : projects) {
+            if (p == null || userCache.isLoaded(p.getId()) || pending.containsKey(p.getId())) {
+                continue;
+            }
+            pending.put(p.getId(), userCache.load(p.getId(), loader));
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        if (progress != null) {
+            progress.switchToDeterminate(pending.size());
+        }
+        Exception failure = null;
+        int done = 0;
+        try {
+            for (Map.Entry<Integer, Future<List<Membership>>> e : pending.entrySet()) {
+                try {
+                    e.getValue().get();
+                } catch (ExecutionException | CancellationException ex) {
+                    Exception cause = ex instanceof ExecutionException ? getCause((ExecutionException) ex) : ex;
+                    LOG.log(Level.FINE, "Can't get memberships of project " + e.getKey(), cause);
+                    if (failure == null) {
+                        failure = cause;
+                    }
+                }
+                if (progress != null) {
+                    progress.progress(++done);
+                }
+            }
+        } catch (InterruptedException ex) {
+            // The loads are shared with other callers, so they are not
+            // cancelled
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (failure != null) {
+            ExceptionHandler.handleException(LOG, "Can't get Redmine Users", failure);
+        }
+    }
+
+    /**
+     * Possible assignees (users and groups) of the supplied projects - each
+     * user or group is reported once.
+     */
+    public Collection<AssigneeWrapper> getAssigneeWrappers(Collection<Project> projects) {
+        Map<Integer, AssigneeWrapper> users = new HashMap<>();
+        Map<Integer, AssigneeWrapper> groups = new HashMap<>();
+        if (currentUser != null) {
+            users.put(currentUser.getId(), new AssigneeWrapper(currentUser.getId(), currentUser.toString(), true, false));
+        }
+        for (Project p : projects) {
+            for (Membership m : getMemberships(p)) {
+                if (m.getUserId() != null) {
+                    if (!users.containsKey(m.getUserId())) {
+                        users.put(m.getUserId(), new AssigneeWrapper(m.getUserId(), m.getUserName(), false, false));
+                    }
+                } else if (m.getGroupId() != null && !groups.containsKey(m.getGroupId())) {
+                    groups.put(m.getGroupId(), new AssigneeWrapper(m.getGroupId(), m.getGroupName(), false, true));
+                }
+            }
+        }
+        List<AssigneeWrapper> assignees = new ArrayList<>(users.size() + groups.size());
+        assignees.addAll(users.values());
+        assignees.addAll(groups.values());
+        Collections.sort(assignees);
+        return assignees;
+    }
+
     public Collection<RedmineUser> getUsers(Project p) {
         ArrayList<RedmineUser> users = new ArrayList<>();
         Collection<Membership> memberships = getMemberships(p);
@@ -502,6 +938,40 @@ public class RedmineRepository {
         return groups;
     }
     
+    /**
+     * @return the current user or the member (user or group) of the project
+     * with the id, null if the id is unknown
+     */
+    public AssigneeWrapper getAssigneeWrapper(Project p, int id) {
+        RedmineUser user = currentUser;
+        if (user != null && user.getId() != null && user.getId() == id) {
+            return new AssigneeWrapper(user.getId(), user.toString(), true, false);
+        }
+        if (p == null || p.getId() == null) {
+            return null;
+        }
+        Membership m = getProjectIndex(membershipIndexes, p, MEMBERSHIP_ID).get(getMemberships(p), id);
+        if (m == null) {
+            return null;
+        } else if (m.getUserId() != null) {
+            return new AssigneeWrapper(m.getUserId(), m.getUserName(), false, false);
+        } else {
+            return new AssigneeWrapper(m.getGroupId(), m.getGroupName(), false, true);
+        }
+    }
+
+    private static <T> IdIndex<T> getProjectIndex(ConcurrentMap<Integer, IdIndex<T>> indexes, Project p, IdIndex.IdFunction<T> idFunction) {
+        IdIndex<T> index = indexes.get(p.getId());
+        if (index == null) {
+            index = new IdIndex<>(idFunction);
+            IdIndex<T> existing = indexes.putIfAbsent(p.getId(), index);
+            if (existing != null) {
+                index = existing;
+            }
+        }
+        return index;
+    }
+
     public Collection<AssigneeWrapper> getAssigneeWrappers(Project p) {
         ArrayList<AssigneeWrapper> assignees = new ArrayList<>();
         Collection<Membership> memberships = getMemberships(p);
@@ -520,138 +990,137 @@ public class RedmineRepository {
     }
 
     public List<Tracker> getTrackers() {
-        if(trackerCache == null) {
-            try {
-                trackerCache = getIssueManager().getTrackers();
-            } catch (RedmineException | RuntimeException ex) {
-                ExceptionHandler.handleException(LOG, "Can't get Redmine Issue Trackers", ex);
-            }
+        try {
+            return getMetadataCache().get(MetadataCache.TRACKERS, new MetadataCache.Loader<Tracker>() {
+                @Override
+                public List<Tracker> load() throws RedmineException {
+                    return getIssueManager().getTrackers();
+                }
+            });
+        } catch (RedmineException | RuntimeException ex) {
+            ExceptionHandler.handleException(LOG, "Can't get Redmine Issue Trackers", ex);
         }
-        return trackerCache;
+        return null;
+    }
+
+    public Tracker getTracker(int id) {
+        return trackerIndex.get(getTrackers(), id);
     }
     
     public List<TimeEntryActivity> getTimeEntryActivities() {
-        if (timeEntryActivityCache == null) {
-            try {
-                timeEntryActivityCache = getTimeEntryManager().getTimeEntryActivities();
-            } catch (RedmineException | RuntimeException ex) {
-                LOG.log(Level.INFO
-                        , "Failed to Redmine Time Entry Activities (either API is missing or no permission)"
-                        , ex);
-                timeEntryActivityCache = fallbackTimeActivityEntries;
+        return getMetadataCache().get(MetadataCache.ACTIVITIES, new MetadataCache.Loader<TimeEntryActivity>() {
+            @Override
+            public List<TimeEntryActivity> load() throws RedmineException {
+                return getTimeEntryManager().getTimeEntryActivities();
             }
-        }
-        return timeEntryActivityCache;
+        }, fallbackTimeActivityEntries);
     }
 
     public IssueStatus getStatus(int id) {
-        for (IssueStatus issueStatus : getStatuses()) {
-            if (id == issueStatus.getId()) {
-                return issueStatus;
-            }
-        }
-        return null;
+        return statusIndex.get(getStatuses(), id);
     }
 
     public Collection<? extends IssueStatus> getStatuses() {
-        if (statusCache == null) {
-            try {
-                statusCache = getIssueManager().getStatuses();
-            } catch (NotFoundException ex) {
-                DialogDisplayer.getDefault().notify(new NotifyDescriptor.Message(
-                        "Can't get Issue Statuses from Redmine:\n"
-                        + ex.getMessage(), NotifyDescriptor.ERROR_MESSAGE));
-                Redmine.LOG.log(Level.SEVERE, "Can't get Issue Statuses from Redmine", ex);
-            } catch (Exception ex) {
-                Redmine.LOG.log(Level.SEVERE, "Can't get Issue Statuses from Redmine", ex);
-            }
+        try {
+            return getMetadataCache().get(MetadataCache.STATUSES, new MetadataCache.Loader<IssueStatus>() {
+                @Override
+                public List<IssueStatus> load() throws RedmineException {
+                    return getIssueManager().getStatuses();
+                }
+            });
+        } catch (NotFoundException ex) {
+            DialogDisplayer.getDefault().notify(new NotifyDescriptor.Message(
+                    "Can't get Issue Statuses from Redmine:\n"
+                    + ex.getMessage(), NotifyDescriptor.ERROR_MESSAGE));
+            Redmine.LOG.log(Level.SEVERE, "Can't get Issue Statuses from Redmine", ex);
+        } catch (Exception ex) {
+            Redmine.LOG.log(Level.SEVERE, "Can't get Issue Statuses from Redmine", ex);
         }
 
-        return statusCache;
+        return null;
     }
 
     public Collection<? extends IssueCategory> reloadIssueCategories(Project p) {
-        categoryCache.remove(p.getId());
+        categoryCache.invalidate(p.getId());
         return getIssueCategories(p);
     }
 
     public Collection<? extends IssueCategory> getIssueCategories(Project p) {
-        if (p != null && (!categoryCache.containsKey(p.getId()))) {
-            try {
-                List<IssueCategory> cats = getIssueManager().getCategories(p.getId());
-                for(IssueCategory cat: cats) {
-                    cat.setProjectId(null);
-                    cat.setAssigneeId(null);
-                }
-                categoryCache.put(p.getId(), Collections.unmodifiableList(cats));
-            } catch (NotFoundException ex) {
+        if (p == null) {
+            return Collections.EMPTY_LIST;
+        }
+        try {
+            return categoryCache.get(p.getId());
+        } catch (ExecutionException ex) {
+            Exception cause = getCause(ex);
+            if (cause instanceof NotFoundException) {
                 DialogDisplayer.getDefault().notify(new NotifyDescriptor.Message(
                         "Can't get Issue Categories for Redmine Project "
                         + p.getName()
-                        + ":\n" + ex.getMessage(), NotifyDescriptor.ERROR_MESSAGE));
-                Redmine.LOG.log(Level.SEVERE, "Can't get Issue Categories for Redmine Project "
-                        + p.getName(), ex);
-            } catch (Exception ex) {
-                Redmine.LOG.log(Level.SEVERE, "Can't get Issue Categories for Redmine Project "
-                        + p.getName(), ex);
+                        + ":\n" + cause.getMessage(), NotifyDescriptor.ERROR_MESSAGE));
             }
+            Redmine.LOG.log(Level.SEVERE, "Can't get Issue Categories for Redmine Project "
+                    + p.getName(), cause);
         }
-        if(p == null || (!categoryCache.containsKey(p.getId()))) {
-            return Collections.EMPTY_LIST;
+        return Collections.EMPTY_LIST;
+    }
+
+    public IssueCategory getIssueCategory(Project p, int id) {
+        if (p == null || p.getId() == null) {
+            return null;
         }
-        return categoryCache.get(p.getId());
+        return getProjectIndex(categoryIndexes, p, CATEGORY_ID).get(getIssueCategories(p), id);
     }
     
     public Collection<? extends Version> reloadVersions(Project p) {
-        versionCache.remove(p.getId());
+        versionCache.invalidate(p.getId());
         return getVersions(p);
     }
 
     public List<Version> getVersions(Project p) {      
-        if (p != null && (!versionCache.containsKey(p.getId()))) {
-            try {
-                versionCache.put(p.getId(), getProjectManager().getVersions(p.getId()));
-            } catch (Exception ex) {
-                Redmine.LOG.log(Level.SEVERE, "Can't get versions for project " + p.getName(), ex);
-            }
-        }
-        if(p == null || (!versionCache.containsKey(p.getId()))) {
+        if (p == null) {
             return Collections.EMPTY_LIST;
         }
-        return versionCache.get(p.getId());
+        try {
+            return versionCache.get(p.getId());
+        } catch (ExecutionException ex) {
+            Redmine.LOG.log(Level.SEVERE, "Can't get versions for project " + p.getName(), getCause(ex));
+        }
+        return Collections.EMPTY_LIST;
+    }
+
+    public Version getVersion(Project p, int id) {
+        if (p == null || p.getId() == null) {
+            return null;
+        }
+        return getProjectIndex(versionIndexes, p, VERSION_ID).get(getVersions(p), id);
     }
 
     public List<IssuePriority> getIssuePriorities() {
-        if (issuePriorities == null) {
-            try {
-                // since Redmine V2.2.0
-                issuePriorities = getIssueManager().getIssuePriorities();
-                Collections.reverse(issuePriorities);
-            } catch (Exception ex) {
-                // LOG on info level, as SEVERE causes 
-                issuePriorities = fallbackIssuePriorities;
-                Redmine.LOG.log(Level.INFO, "Can't get issue priorities, using defaults", ex);
+        // since Redmine V2.2.0
+        return getMetadataCache().get(MetadataCache.PRIORITIES, new MetadataCache.Loader<IssuePriority>() {
+            @Override
+            public List<IssuePriority> load() throws RedmineException {
+                List<IssuePriority> priorities = getIssueManager().getIssuePriorities();
+                Collections.reverse(priorities);
+                return priorities;
             }
-        }
-        return issuePriorities;
+        }, fallbackIssuePriorities);
     }
     
-    public void initCustomFieldDefinitions() {
-        if (customFieldsCache == null) {
-            try {
-                // since Redmine V2.4.0
-                customFieldsCache = getManager().getCustomFieldManager().getCustomFieldDefinitions();
-            } catch (Exception ex) {
-                LOG.info("Custom Fields are not available - query failed");
-                customFieldsCache = Collections.EMPTY_LIST;
+    private List<CustomFieldDefinition> getCustomFieldDefinitions() {
+        // since Redmine V2.4.0
+        return getMetadataCache().get(MetadataCache.CUSTOM_FIELDS, new MetadataCache.Loader<CustomFieldDefinition>() {
+            @Override
+            public List<CustomFieldDefinition> load() throws RedmineException {
+                return getManager().getCustomFieldManager().getCustomFieldDefinitions();
             }
-        }
+        }, Collections.<CustomFieldDefinition>emptyList());
     }
     
     public List<CustomFieldDefinition> getCustomFieldDefinitions(String type, Project proj, Tracker t) {
-        initCustomFieldDefinitions();
         List<CustomFieldDefinition> result = new ArrayList<>();
-        for(CustomFieldDefinition cfd: customFieldsCache) {
+        for(CustomFieldDefinition cfd: getCustomFieldDefinitions()) {
             if (type.equals(cfd.getCustomizedType())
                     && (cfd.getTrackers().contains(t))
                     && cfd.getFieldFormat() != null)
@@ -680,13 +1149,7 @@ public class RedmineRepository {
     }
     
     public CustomFieldDefinition getCustomFieldDefinitionById(int id) {
-        initCustomFieldDefinitions();
-        for(CustomFieldDefinition cfd: customFieldsCache) {
-            if(cfd.getId().equals(id)) {
-                return cfd;
-            }
-        }
-        return null;  
+        return customFieldIndex.get(getCustomFieldDefinitions(), id);
     }
 
     public Collection<RedmineIssue> simpleSearch(String string) {
@@ -722,37 +1185,62 @@ public class RedmineRepository {
         return lookup;
     }
     
+    /**
+     * The manager is created once per configuration - concurrent callers
+     * wait for the running connect.
+     */
     public final RedmineManager getManager() throws RedmineException {
         assert (! SwingUtilities.isEventDispatchThread()) : "Access to Redmine Manager must happen outside EDT!";
-        AuthMode authMode = getAuthMode();
-        if (manager == null) {
-            if (authMode == null) {
-                throw new IllegalArgumentException("authMode must be set");
-            }
-            if (authMode == AuthMode.AccessKey) {
-                manager = RedmineManagerFactory.createWithApiKey(
-                        getUrl(), 
-                        getAccessKey(), 
-                        RedmineManagerFactoryHelper.getTransportConfig()
-                );
-                if(getInfo().getHttpUsername() != null && (! getInfo().getHttpUsername().isEmpty())
-                        && getInfo().getHttpPassword() != null && getInfo().getHttpPassword().length > 0) {
-                    getTransportFromManager(manager).setCredentials(
-                            getInfo().getHttpUsername(),
-                            new String(getInfo().getHttpPassword()));
+        RedmineManager current = manager;
+        if (current != null) {
+            return current;
+        }
+        synchronized (managerLock) {
+            if (manager == null) {
+                AuthMode authMode = getAuthMode();
+                if (authMode == null) {
+                    throw new IllegalArgumentException("authMode must be set");
                 }
-            } else {
-                manager = RedmineManagerFactory.createWithUserAuth(
-                        getUrl(), 
-                        getUsername(),
-                        getPassword() == null ? "" : String.valueOf(getPassword()),
-                        RedmineManagerFactoryHelper.getTransportConfig()
-                );
+                RedmineManager created;
+                if (authMode == AuthMode.AccessKey) {
+                    boolean httpAuth = getInfo().getHttpUsername() != null && (! getInfo().getHttpUsername().isEmpty())
+                            && getInfo().getHttpPassword() != null && getInfo().getHttpPassword().length > 0;
+                    created = RedmineManagerFactory.createWithApiKey(
+                            getUrl(),
+                            getAccessKey(),
+                            RedmineManagerFactoryHelper.getTransportConfig(getUrl(),
+                                    authMode.name(),
+                                    getAccessKey(),
+                                    httpAuth ? getInfo().getHttpUsername() : null,
+                                    httpAuth ? new String(getInfo().getHttpPassword()) : null)
+                    );
+                    if(httpAuth) {
+                        getTransportFromManager(created).setCredentials(
+                                getInfo().getHttpUsername(),
+                                new String(getInfo().getHttpPassword()));
+                    }
+                } else {
+                    String password = getPassword() == null ? "" : String.valueOf(getPassword());
+                    created = RedmineManagerFactory.createWithUserAuth(
+                            getUrl(),
+                            getUsername(),
+                            password,
+                            RedmineManagerFactoryHelper.getTransportConfig(getUrl(),
+                                    authMode.name(), getUsername(), password)
+                    );
+                }
+                currentUser = new RedmineUser(created.getUserManager().getCurrentUser(), true);
+                created.setObjectsPerPage(100);
+                manager = created;
             }
-            currentUser = new RedmineUser(manager.getUserManager().getCurrentUser(), true);
-            manager.setObjectsPerPage(100);
+            return manager;
+        }
+    }
+
+    private void resetManager() {
+        synchronized (managerLock) {
+            manager = null;
         }
-        return manager;
     }
 
     public IssueManager getIssueManager() throws RedmineException {
@@ -779,41 +1267,276 @@ public class RedmineRepository {
         return currentUser;
     }
 
-    public RequestProcessor getRequestProcessor() {
+    /**
+     * Request processor for independent work - tasks posted here run in
+     * parallel. Tasks should be posted with a priority through
+     * {@link #post(Runnable, RequestPriority)}. Work that has to run in order has to go through a
+     * {@link #createSequentialExecutor(RequestPriority) sequential executor}.
+     *
+     * <p>The number of workers is configured per repository and capped by
+     * the maximum number of workers of all repositories together - every
+     * repository gets at least one worker.</p>
+     *
+     * @throws IllegalStateException if the repository was removed - its
+     * workers are released and not allocated again
+     */
+    public synchronized RequestProcessor getRequestProcessor() {
+        if (removed) {
+            throw new IllegalStateException("Repository was removed: " + getDisplayName()); // NOI18N
+        }
         if (requestProcessor == null) {
-            requestProcessor = new RequestProcessor("Redmine repository processor - " + getDisplayName(), 1, true); // NOI18N
+            RedmineConfig config = RedmineConfig.getInstance();
+            synchronized (repositoryList) {
+                int available = config.getMaxWorkers() - allocatedWorkers;
+                requestProcessorWorkers = Math.max(1, Math.min(config.getRepositoryWorkers(), available));
+                allocatedWorkers += requestProcessorWorkers;
+            }
+            LOG.log(Level.FINE, "Using {0} workers for repository {1}", new Object[]{requestProcessorWorkers, getDisplayName()});
+            requestProcessor = new RequestProcessor("Redmine repository processor - " + getDisplayName(), requestProcessorWorkers, true); // NOI18N
         }
         return requestProcessor;
     }
 
+    /**
+     * Post work with the supplied priority to the repository request
+     * processor.
+     *
+     * <p>Interactive work is tracked from posting until it finished or was
+     * cancelled, so that background work can yield to it.</p>
+     */
+    public RequestProcessor.Task post(Runnable runnable, RequestPriority priority) {
+        if (priority != RequestPriority.INTERACTIVE) {
+            RequestProcessor.Task task = getRequestProcessor().create(runnable);
+            task.setPriority(priority.getThreadPriority());
+            task.schedule(0);
+            return task;
+        }
+        final InteractiveWork work = new InteractiveWork(runnable);
+        RequestProcessor.Task task = getRequestProcessor().create(work);
+        task.setPriority(priority.getThreadPriority());
+        synchronized (pendingInteractive) {
+            pendingInteractive[0]++;
+        }
+        task.schedule(0);
+        // A task cancelled before it ran is only reported to listeners
+        task.addTaskListener(new TaskListener() {
+            @Override
+            public void taskFinished(Task task) {
+                work.finished();
+            }
+        });
+        return task;
+    }
+
+    /**
+     * @return executor posting the submitted tasks with the supplied
+     * priority
+     */
+    public Executor getExecutor(final RequestPriority priority) {
+        return new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                post(command, priority);
+            }
+        };
+    }
+
+    /**
+     * @return executor running the submitted tasks one after another on the
+     * repository request processor
+     */
+    public Executor createSequentialExecutor(RequestPriority priority) {
+        return new SequentialExecutor(getExecutor(priority));
+    }
+
+    /**
+     * @return true if interactive work is queued or running
+     */
+    public boolean hasPendingInteractiveWork() {
+        synchronized (pendingInteractive) {
+            return pendingInteractive[0] > 0;
+        }
+    }
+
+    private class InteractiveWork implements Runnable {
+        private final Runnable delegate;
+        private final AtomicBoolean finished = new AtomicBoolean();
+
+        public InteractiveWork(Runnable delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void run() {
+            try {
+                delegate.run();
+            } finally {
+                finished();
+            }
+        }
+
+        void finished() {
+            if (finished.compareAndSet(false, true)) {
+                synchronized (pendingInteractive) {
+                    pendingInteractive[0]--;
+                    pendingInteractive.notifyAll();
+                }
+            }
+        }
+    }
+
     private void setupIssueRefreshTask() {
         if (refreshIssuesTask == null) {
             refreshIssuesTask = getRequestProcessor().create(new Runnable() {
                 @Override
                 public void run() {
-                    Set<String> ids;
-                    synchronized (issuesToRefresh) {
-                        ids = new HashSet<>(issuesToRefresh);
+                    if (removed) {
+                        return;
                     }
-                    if (ids.isEmpty()) {
-                        Redmine.LOG.log(Level.FINE, "no issues to refresh {0}",
-                                getDisplayName()); // NOI18N
+                    if (hasPendingInteractiveWork()) {
+                        refreshIssuesTask.schedule(BACKGROUND_DEFER_DELAY);
                         return;
                     }
-                    Redmine.LOG.log(Level.FINER, "preparing to refresh issue {0} - {1}",
-                            new Object[]{getDisplayName(), ids}); // NOI18N
-                    scheduleIssueRefresh();
+                    try {
+                        Set<String> ids;
+                        synchronized (issuesToRefresh) {
+                            ids = new HashSet<>(issuesToRefresh);
+                        }
+                        if (ids.isEmpty()) {
+                            Redmine.LOG.log(Level.FINE, "no issues to refresh {0}",
+                                    getDisplayName()); // NOI18N
+                            return;
+                        }
+                        Redmine.LOG.log(Level.FINER, "preparing to refresh issue {0} - {1}",
+                                new Object[]{getDisplayName(), ids}); // NOI18N
+                        refreshIssues(ids);
+                    } finally {
+                        scheduleIssueRefresh();
+                    }
                 }
             });
+            refreshIssuesTask.setPriority(RequestPriority.BACKGROUND.getThreadPriority());
             scheduleIssueRefresh();
         }
     }
 
+    /**
+     * Refresh the supplied issues, if they were modified on the server.
+     *
+     * <p>The modification times of all issues are fetched with list requests
+     * (see {@link #getIssuesByIds(java.util.List)}), only the issues that
+     * changed are reloaded completely.</p>
+     */
+    private void refreshIssues(Collection<String> ids) {
+        List<Integer> issueIds = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            try {
+                issueIds.add(Integer.valueOf(id));
+            } catch (NumberFormatException ex) {
+                // New issues have no valid id yet
+            }
+        }
+        List<Issue> current;
+        try {
+            current = getIssuesByIds(issueIds);
+        } catch (RedmineException | RuntimeException ex) {
+            LOG.log(Level.INFO, "Failed to check issues for modifications", ex);
+            return;
+        }
+        List<RedmineIssue> modified = new ArrayList<>();
+        for (Issue issue : current) {
+            RedmineIssue redmineIssue = issueCache.get(issue.getId());
+            if (redmineIssue == null) {
+                continue;
+            }
+            if (!Objects.equals(issue.getUpdatedOn(), redmineIssue.getIssue().getUpdatedOn())) {
+                modified.add(redmineIssue);
+            }
+        }
+        refreshModifiedIssues(modified, 0);
+    }
+
+    /**
+     * Reload the modified issues one after another. When interactive work
+     * is pending, the remaining issues are rescheduled as new background
+     * work and the worker is returned - a worker never blocks waiting for
+     * interactive work. Deferring stops after {@link #MAX_INTERACTIVE_WAIT}
+     * ms, so background work is not starved.
+     *
+     * @param deferredSince time the refresh was first deferred, 0 if it was
+     * not deferred
+     */
+    private void refreshModifiedIssues(final List<RedmineIssue> modified, long deferredSince) {
+        for (int i = 0; i < modified.size(); i++) {
+            if (removed) {
+                return;
+            }
+            if (hasPendingInteractiveWork()) {
+                long now = System.currentTimeMillis();
+                final long since = deferredSince == 0 ? now : deferredSince;
+                if (now - since < MAX_INTERACTIVE_WAIT) {
+                    final List<RedmineIssue> remaining = new ArrayList<>(modified.subList(i, modified.size()));
+                    RequestProcessor.Task task = getRequestProcessor().create(new Runnable() {
+                        @Override
+                        public void run() {
+                            refreshModifiedIssues(remaining, since);
+                        }
+                    });
+                    task.setPriority(RequestPriority.BACKGROUND.getThreadPriority());
+                    task.schedule(BACKGROUND_DEFER_DELAY);
+                    return;
+                }
+            }
+            deferredSince = 0;
+            RedmineIssue redmineIssue = modified.get(i);
+            Redmine.LOG.log(Level.FINE, "refreshing modified issue {0} - {1}",
+                    new Object[]{getDisplayName(), redmineIssue.getID()}); // NOI18N
+            redmineIssue.refresh();
+        }
+    }
+
+    /**
+     * Fetch issues by id using the issue_id filter of the issue list.
+     *
+     * <p>The request is split into chunks of at most {@value #ISSUE_ID_CHUNK_SIZE}
+     * ids, which keeps the request URL well below common length limits. The
+     * list representation of the issues does not contain journals,
+     * attachments and watchers. Issues not visible to the user are
+     * silently missing from the result.</p>
+     */
+    private List<Issue> getIssuesByIds(List<Integer> ids) throws RedmineException {
+        List<Issue> result = new ArrayList<>(ids.size());
+        for (int start = 0; start < ids.size(); start += ISSUE_ID_CHUNK_SIZE) {
+            List<Integer> chunk = ids.subList(start, Math.min(ids.size(), start + ISSUE_ID_CHUNK_SIZE));
+            StringBuilder idList = new StringBuilder();
+            for (Integer id : chunk) {
+                if (idList.length() > 0) {
+                    idList.append(',');
+                }
+                idList.append(id);
+            }
+            Map<String, String> parameters = new HashMap<>();
+            parameters.put("issue_id", idList.toString()); // NOI18N
+            // Include closed issues
+            parameters.put("status_id", "*"); // NOI18N
+            parameters.put("limit", Integer.toString(ISSUE_ID_CHUNK_SIZE)); // NOI18N
+            result.addAll(getIssueManager().getIssues(parameters).getResults());
+        }
+        return result;
+    }
+
     private void setupQueryRefreshTask() {
         if (refreshQueryTask == null) {
             refreshQueryTask = getRequestProcessor().create(new Runnable() {
                 @Override
                 public void run() {
+                    if (removed) {
+                        return;
+                    }
+                    if (hasPendingInteractiveWork()) {
+                        refreshQueryTask.schedule(BACKGROUND_DEFER_DELAY);
+                        return;
+                    }
                     try {
                         Set<RedmineQuery> queries;
                         synchronized (refreshQueryTask) {
@@ -835,11 +1558,15 @@ public class RedmineRepository {
                     }
                 }
             });
+            refreshQueryTask.setPriority(RequestPriority.BACKGROUND.getThreadPriority());
             scheduleQueryRefresh();
         }
     }
 
     private void scheduleIssueRefresh() {
+        if (removed) {
+            return;
+        }
         int delay = RedmineConfig.getInstance().getIssueRefreshInterval();
         Redmine.LOG.log(Level.FINE, "scheduling issue refresh for repository {0} in {1} minute(s)",
                 new Object[]{getDisplayName(), delay}); // NOI18N
@@ -852,6 +1579,9 @@ public class RedmineRepository {
     }
 
     private void scheduleQueryRefresh() {
+        if (removed) {
+            return;
+        }
         String schedule = System.getProperty("netbeans.t9y.redmine.force.refresh.schedule", "");
         if (!schedule.isEmpty()) {
             int delay = Integer.parseInt(schedule);
@@ -987,14 +1717,10 @@ public class RedmineRepository {
         return ip;
     }
 
-    private List<IssuePriority> issuePriorities;
-
     public IssuePriority getIssuePriority(Integer id) {
-        for(IssuePriority ip: getIssuePriorities()) {
-            if(ip.getId().equals(id)) {
-                return ip;
-            }
+        if (id == null) {
+            return null;
         }
-        return null;
+        return priorityIndex.get(getIssuePriorities(), id);
     }
 }
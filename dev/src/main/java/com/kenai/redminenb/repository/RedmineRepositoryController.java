@@ -446,21 +446,28 @@ public class RedmineRepositoryController implements RepositoryController, Docume
     private RedmineManager getManager() {
         RedmineManager manager;
         if (getAuthMode() == AuthMode.AccessKey) {
+            boolean httpAuth = panel.httpAuthEnabled.isSelected();
             manager = RedmineManagerFactory.createWithApiKey(
                     getUrl()
                     , getAccessKey()
-                    , RedmineManagerFactoryHelper.getTransportConfig()
+                    , RedmineManagerFactoryHelper.getTransportConfig(getUrl()
+                            , AuthMode.AccessKey.name()
+                            , getAccessKey()
+                            , httpAuth ? getHttpUser() : null
+                            , httpAuth ? new String(getHttpPassword()) : null)
             );
-            if(panel.httpAuthEnabled.isSelected()) {
+            if(httpAuth) {
                 RedmineManagerFactoryHelper.getTransportFromManager(manager)
                         .setCredentials(getHttpUser(), new String(getHttpPassword()));
             }
         } else {
+            String password = new String(getPassword());
             manager = RedmineManagerFactory.createWithUserAuth(
                     getUrl()
                     , getUser()
-                    , new String(getPassword())
-                    , RedmineManagerFactoryHelper.getTransportConfig()
+                    , password
+                    , RedmineManagerFactoryHelper.getTransportConfig(getUrl()
+                            , AuthMode.Credentials.name(), getUser(), password)
             );
         }
         return manager;
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 RedmineNB contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kenai.redminenb.repository;
+
+/**
+ * Lanes of work posted to the repository request processor.
+ *
+ * <p>Queued tasks are ordered by priority. Background work additionally
+ * defers itself while interactive work is pending (see
+ * {@link RedmineRepository#hasPendingInteractiveWork()}).</p>
+ */
+public enum RequestPriority {
+    /**
+     * Work the user waits for - opening issues, searching, saving.
+     */
+    INTERACTIVE(Thread.MAX_PRIORITY),
+    /**
+     * Work that will likely be needed soon - revalidating shown data.
+     */
+    PREFETCH(Thread.NORM_PRIORITY),
+    /**
+     * Periodic refreshes.
+     */
+    BACKGROUND(Thread.MIN_PRIORITY);
+
+    private final int threadPriority;
+
+    private RequestPriority(int threadPriority) {
+        this.threadPriority = threadPriority;
+    }
+
+    /**
+     * @return priority of the request processor task
+     */
+    public int getThreadPriority() {
+        return threadPriority;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 RedmineNB contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kenai.redminenb.repository;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Transfer counters of the HTTP client of one redmine server.
+ *
+ * <p>Only responses received from the server are counted - responses
+ * served from the HTTP cache are not.</p>
+ */
+public final class TransferStatistics {
+    private final AtomicLong responses = new AtomicLong();
+    private final AtomicLong compressedResponses = new AtomicLong();
+    private final AtomicLong notModifiedResponses = new AtomicLong();
+    private final AtomicLong receivedBytes = new AtomicLong();
+    private final AtomicLong decodedBytes = new AtomicLong();
+    private final AtomicLong compressedReceivedBytes = new AtomicLong();
+    private final AtomicLong compressedDecodedBytes = new AtomicLong();
+
+    /**
+     * @return number of responses received from the server
+     */
+    public long getResponses() {
+        return responses.get();
+    }
+
+    /**
+     * @return number of responses received with gzip or deflate encoding
+     */
+    public long getCompressedResponses() {
+        return compressedResponses.get();
+    }
+
+    /**
+     * @return number of "304 Not Modified" responses - the body was served
+     * from the HTTP cache
+     */
+    public long getNotModifiedResponses() {
+        return notModifiedResponses.get();
+    }
+
+    /**
+     * @return number of body bytes received from the server
+     */
+    public long getReceivedBytes() {
+        return receivedBytes.get();
+    }
+
+    /**
+     * @return number of body bytes after decompression
+     */
+    public long getDecodedBytes() {
+        return decodedBytes.get();
+    }
+
+    /**
+     * @return bytes, that were not transferred because responses were
+     * compressed
+     */
+    public long getSavedBytes() {
+        return compressedDecodedBytes.get() - compressedReceivedBytes.get();
+    }
+
+    void responseReceived(boolean compressed) {
+        responses.incrementAndGet();
+        if (compressed) {
+            compressedResponses.incrementAndGet();
+        }
+    }
+
+    void notModifiedReceived() {
+        notModifiedResponses.incrementAndGet();
+    }
+
+    void bytesReceived(boolean compressed, long count) {
+        receivedBytes.addAndGet(count);
+        if (compressed) {
+            compressedReceivedBytes.addAndGet(count);
+        }
+    }
+
+    void bytesDecoded(boolean compressed, long count) {
+        decodedBytes.addAndGet(count);
+        if (compressed) {
+            compressedDecodedBytes.addAndGet(count);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "TransferStatistics{" + "responses=" + responses + ", compressedResponses=" + compressedResponses // NOI18N
+                + ", notModifiedResponses=" + notModifiedResponses // NOI18N
+                + ", receivedBytes=" + receivedBytes + ", decodedBytes=" + decodedBytes // NOI18N
+                + ", savedBytes=" + getSavedBytes() + '}'; // NOI18N
+    }
+}
@@ -0,0 +1,332 @@
+/*
+ * Copyright 2026 RedmineNB contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kenai.redminenb.repository;
+
+import com.kenai.redminenb.RedmineConfig;
+import java.io.File;
+import java.net.MalformedURLException;
+import java.net.ProxySelector;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.net.ssl.SSLContext;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpRequestRetryHandler;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.IdleConnectionEvictor;
+import org.apache.http.impl.client.cache.CacheConfig;
+import org.apache.http.impl.client.cache.CachingHttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.conn.SystemDefaultRoutePlanner;
+import org.apache.http.impl.execchain.ClientExecChain;
+import org.apache.http.impl.execchain.RetryExec;
+import org.apache.http.protocol.HttpContext;
+
+/**
+ * Registry of HTTP clients for the redmine servers.
+ *
+ * <p>Each server (scheme, host and port of the base URL) gets exactly one
+ * pooling connection manager. Connections are kept alive between requests,
+ * so reconnecting managers and periodic refreshes reuse established TCP/TLS
+ * connections instead of doing a full handshake for every request. All
+ * pools share one SSL socket factory, so that TLS sessions can be resumed
+ * when a new connection has to be opened.</p>
+ *
+ * <p>Idle and expired connections are evicted in the background.</p>
+ *
+ * <p>GET responses carrying validators (ETag / Last-Modified) are cached.
+ * The cache is private, so a response can only be reused for the account it
+ * was fetched for: there is one HttpClient (and cache) per server and
+ * credential identity (authentication mode, access key or user/password and
+ * HTTP user). Repositories using the same account on the same server share
+ * the client, repositories of different accounts only share the connection
+ * pool.</p>
+ *
+ * <p>Compressed responses are requested (configurable per server) and the
+ * transferred bytes are counted (see {@link CompressionExec}). The latency
+ * of the requests is recorded per endpoint (see {@link MetricsExec}).</p>
+ */
+final class TransportRegistry {
+    private static final Logger LOG = Logger.getLogger(TransportRegistry.class.getName());
+
+    /**
+     * Maximum time a connection is kept alive, if the server does not
+     * send a keep-alive header.
+     */
+    private static final long DEFAULT_KEEP_ALIVE_MS = 60 * 1000;
+    /**
+     * Responses larger than this (in bytes) are not cached.
+     */
+    private static final long MAX_CACHED_RESPONSE_SIZE = 2 * 1024 * 1024;
+
+    private static final Map<String, HttpClient> clients = new ConcurrentHashMap<>();
+    private static final Map<String, PoolingHttpClientConnectionManager> connectionManagers = new HashMap<>();
+    private static final ConcurrentMap<String, TransferStatistics> statistics = new ConcurrentHashMap<>();
+
+    private TransportRegistry() {
+    }
+
+    /**
+     * Get the HttpClient for the server hosting the supplied redmine base URL
+     * and the account identified by the supplied credentials.
+     *
+     * @param baseUrl base url of the redmine instance
+     * @param credentials values identifying the account (for example access
+     *     key or user and password) - responses are only cached for requests
+     *     with the same credentials
+     * @return client shared by all users of the account on the server
+     */
+    public static HttpClient getHttpClient(String baseUrl, String... credentials) {
+        String serverKey = getServerKey(baseUrl);
+        String key = serverKey + "#" + getCredentialKey(credentials); // NOI18N
+        HttpClient client = clients.get(key);
+        if (client == null) {
+            synchronized (clients) {
+                client = clients.get(key);
+                if (client == null) {
+                    LOG.log(Level.FINE, "Creating pooled http client for {0}", serverKey);
+                    client = createHttpClient(serverKey, key);
+                    clients.put(key, client);
+                }
+            }
+        }
+        return client;
+    }
+
+    /**
+     * @param baseUrl base url of the redmine instance
+     * @return transfer counters of the server hosting the redmine instance
+     */
+    public static TransferStatistics getTransferStatistics(String baseUrl) {
+        return getStatistics(getServerKey(baseUrl));
+    }
+
+    private static TransferStatistics getStatistics(String key) {
+        TransferStatistics result = statistics.get(key);
+        if (result == null) {
+            TransferStatistics newStatistics = new TransferStatistics();
+            result = statistics.putIfAbsent(key, newStatistics);
+            if (result == null) {
+                result = newStatistics;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The server key is build from scheme, host and port of the supplied
+     * URL - context paths of different redmine instances on the same server
+     * share the connection pool.
+     */
+    static String getServerKey(String baseUrl) {
+        if (baseUrl == null) {
+            return "";
+        }
+        try {
+            URL url = new URL(baseUrl.trim());
+            int port = url.getPort() != -1 ? url.getPort() : url.getDefaultPort();
+            return url.getProtocol().toLowerCase(Locale.ROOT)
+                    + "://" + url.getHost().toLowerCase(Locale.ROOT)
+                    + ":" + port;
+        } catch (MalformedURLException ex) {
+            return baseUrl.trim();
+        }
+    }
+
+    /**
+     * The credentials are only kept as digest, so that the client key does
+     * not reveal them (it is used as name of the disk cache directory).
+     */
+    static String getCredentialKey(String... credentials) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256"); // NOI18N
+            for (String credential : credentials) {
+                if (credential != null) {
+                    digest.update(credential.getBytes(StandardCharsets.UTF_8));
+                }
+                // Separator, so that ("ab", "c") and ("a", "bc") differ
+                digest.update((byte) 0);
+            }
+            StringBuilder sb = new StringBuilder();
+            for (byte b : digest.digest()) {
+                sb.append(String.format("%02x", b & 0xff)); // NOI18N
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static HttpClient createHttpClient(String serverKey, String key) {
+        RedmineConfig config = RedmineConfig.getInstance();
+
+        // The pool is shared by all clients of the server, it is never
+        // closed by one of them
+        return createHttpClientBuilder(serverKey, key, config)
+                .setRoutePlanner(new SystemDefaultRoutePlanner(ProxySelector.getDefault()))
+                .setConnectionManager(getConnectionManager(serverKey, config))
+                .setConnectionManagerShared(true)
+                .setKeepAliveStrategy(KEEP_ALIVE_STRATEGY)
+                .build();
+    }
+
+    private static PoolingHttpClientConnectionManager getConnectionManager(String serverKey, RedmineConfig config) {
+        synchronized (connectionManagers) {
+            PoolingHttpClientConnectionManager connectionManager = connectionManagers.get(serverKey);
+            if (connectionManager == null) {
+                connectionManager = new PoolingHttpClientConnectionManager(SocketFactoryHolder.REGISTRY);
+                connectionManager.setDefaultMaxPerRoute(config.getHttpMaxConnectionsPerRoute());
+                connectionManager.setMaxTotal(config.getHttpMaxConnectionsTotal());
+                // Stale connection check for connections that were idle longer
+                // than 2 seconds
+                connectionManager.setValidateAfterInactivity(2000);
+                // HttpClientBuilder only evicts connections of pools it owns
+                long idleTimeout = config.getHttpIdleConnectionTimeout();
+                new IdleConnectionEvictor(connectionManager,
+                        idleTimeout, TimeUnit.SECONDS,
+                        idleTimeout, TimeUnit.SECONDS).start();
+                connectionManagers.put(serverKey, connectionManager);
+            }
+            return connectionManager;
+        }
+    }
+
+    private static HttpClientBuilder createHttpClientBuilder(String serverKey, String key, RedmineConfig config) {
+        int cacheEntries = config.getHttpCacheEntries();
+        if (cacheEntries <= 0) {
+            return new ServerHttpClientBuilder(serverKey)
+                    .disableContentCompression();
+        }
+        // Private cache: responses marked "private" are cached too, this
+        // is only safe, because the client is not shared between accounts
+        CacheConfig cacheConfig = CacheConfig.custom()
+                .setMaxCacheEntries(cacheEntries)
+                .setMaxObjectSize(MAX_CACHED_RESPONSE_SIZE)
+                .setSharedCache(false)
+                .build();
+        CachingHttpClientBuilder builder = new CachingServerHttpClientBuilder(serverKey);
+        builder.setCacheConfig(cacheConfig);
+        builder.disableAutomaticRetries();
+        builder.disableContentCompression();
+        if (config.isHttpCacheOnDisk()) {
+            // Cache entries are only held for the session - bodies left
+            // from a previous session can't be used anymore
+            File cacheDir = new File(new File(config.getCacheDirectory(), "http"), // NOI18N
+                    key.replaceAll("[^a-zA-Z0-9.-]", "_")); // NOI18N
+            deleteContent(cacheDir);
+            if (cacheDir.isDirectory() || cacheDir.mkdirs()) {
+                builder.setCacheDir(cacheDir);
+            } else {
+                LOG.log(Level.INFO, "Failed to create http cache directory {0}", cacheDir);
+            }
+        }
+        return builder;
+    }
+
+    private static void deleteContent(File dir) {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File f : files) {
+            if (!f.delete()) {
+                f.deleteOnExit();
+            }
+        }
+    }
+
+    private static class ServerHttpClientBuilder extends HttpClientBuilder {
+        private final String key;
+
+        public ServerHttpClientBuilder(String key) {
+            this.key = key;
+        }
+
+        @Override
+        protected ClientExecChain decorateMainExec(ClientExecChain mainExec) {
+            return new MetricsExec(new CompressionExec(mainExec, key, getStatistics(key)), getStatistics(key));
+        }
+    }
+
+    /**
+     * The cache answers a failed revalidation of a must-revalidate response
+     * with "504 Gateway Timeout" - so requests are retried (for example
+     * after hitting a connection the server closed) below the cache.
+     */
+    private static class CachingServerHttpClientBuilder extends CachingHttpClientBuilder {
+        private final String key;
+
+        public CachingServerHttpClientBuilder(String key) {
+            this.key = key;
+        }
+
+        @Override
+        protected ClientExecChain decorateMainExec(ClientExecChain mainExec) {
+            return super.decorateMainExec(new RetryExec(
+                    new MetricsExec(new CompressionExec(mainExec, key, getStatistics(key)), getStatistics(key)),
+                    DefaultHttpRequestRetryHandler.INSTANCE));
+        }
+    }
+
+    private static final ConnectionKeepAliveStrategy KEEP_ALIVE_STRATEGY = new ConnectionKeepAliveStrategy() {
+        @Override
+        public long getKeepAliveDuration(HttpResponse response, HttpContext context) {
+            long duration = DefaultConnectionKeepAliveStrategy.INSTANCE
+                    .getKeepAliveDuration(response, context);
+            if (duration < 0) {
+                return DEFAULT_KEEP_ALIVE_MS;
+            }
+            return duration;
+        }
+    };
+
+    private static class SocketFactoryHolder {
+
+        private static final Registry<ConnectionSocketFactory> REGISTRY = createRegistry();
+
+        private static Registry<ConnectionSocketFactory> createRegistry() {
+            try {
+                SSLConnectionSocketFactory scsf = new SSLConnectionSocketFactory(
+                        SSLContext.getDefault(),
+                        RedmineManagerFactoryHelper.getHostnameVerifier());
+                return RegistryBuilder.<ConnectionSocketFactory>create()
+                        .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                        .register("https", scsf)
+                        .build();
+            } catch (NoSuchAlgorithmException ex) {
+                throw new RuntimeException(ex);
+            }
+        }
+    }
+}
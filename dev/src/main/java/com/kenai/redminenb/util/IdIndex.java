@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 RedmineNB contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kenai.redminenb.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Lookup table from id to item for a list of metadata (statuses, trackers,
+ * versions, ...).
+ *
+ * <p>The table is built from a list instance and rebuilt, when a different
+ * instance is passed in - the repository caches replace the list instance
+ * when the data is reloaded, so a refresh swaps the complete table. Lookups
+ * binary search sorted primitive ids and do not allocate.</p>
+ *
+ * @param <T> item type
+ */
+public final class IdIndex<T> {
+
+    public interface IdFunction<T> {
+        /**
+         * @return id of the item, items without id are not indexed
+         */
+        Integer getId(T item);
+    }
+
+    private final IdFunction<? super T> idFunction;
+    private volatile Table<T> table;
+
+    public IdIndex(IdFunction<? super T> idFunction) {
+        this.idFunction = idFunction;
+    }
+
+    /**
+     * @param source current list of items, may be null
+     * @return the first item of the list with the id or null
+     */
+    public T get(Collection<? extends T> source, int id) {
+        if (source == null) {
+            return null;
+        }
+        Table<T> current = table;
+        if (current == null || current.source != source) {
+            current = new Table<>(source, idFunction);
+            table = current;
+        }
+        return current.get(id);
+    }
+
+    private static final class Table<T> {
+        private final Collection<? extends T> source;
+        private final int[] ids;
+        private final Object[] items;
+
+        Table(Collection<? extends T> source, IdFunction<? super T> idFunction) {
+            this.source = source;
+            Map<Integer, T> sorted = new TreeMap<>();
+            for (T item : source) {
+                Integer id = item == null ? null : idFunction.getId(item);
+                if (id != null && !sorted.containsKey(id)) {
+                    sorted.put(id, item);
+                }
+            }
+            ids = new int[sorted.size()];
+            items = new Object[sorted.size()];
+            int i = 0;
+            for (Map.Entry<Integer, T> e : sorted.entrySet()) {
+                ids[i] = e.getKey();
+                items[i] = e.getValue();
+                i++;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        T get(int id) {
+            int index = Arrays.binarySearch(ids, id);
+            return index < 0 ? null : (T) items[index];
+        }
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2026 RedmineNB contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kenai.redminenb.util;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache, that loads missing values on demand.
+ *
+ * <p>Only one load per key is in flight at any time - concurrent callers
+ * asking for the same key wait for the same load. Failed loads are not
+ * cached, the next request for the key loads again.</p>
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public final class LoadingCache<K, V> {
+
+    public interface Loader<K, V> {
+        V load(K key) throws Exception;
+    }
+
+    private final ConcurrentMap<K, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final Loader<K, V> loader;
+    private final long expiryMillis;
+
+    /**
+     * @param loader loads the value for a key
+     * @param expiryMillis time after which a loaded value is discarded, a
+     * value less or equal zero disables expiry
+     */
+    public LoadingCache(Loader<K, V> loader, long expiryMillis) {
+        this.loader = loader;
+        this.expiryMillis = expiryMillis;
+    }
+
+    public LoadingCache(Loader<K, V> loader) {
+        this(loader, 0);
+    }
+
+    /**
+     * Get the value for the key - the value is loaded in the calling thread,
+     * if it is not present and no other thread loads it.
+     *
+     * @throws ExecutionException wraps the exception raised by the loader,
+     * if the waiting thread is interrupted the cause is an
+     * {@link InterruptedException} and the interrupt flag is set again, a
+     * cancelled load is reported with a {@link CancellationException}
+     */
+    public V get(K key) throws ExecutionException {
+        try {
+            return getOrCreate(key, null).get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ExecutionException(ex);
+        } catch (CancellationException ex) {
+            throw new ExecutionException(ex);
+        }
+    }
+
+    /**
+     * Get the value for the key - if the value is not present and not
+     * already loading, it is loaded by the supplied executor.
+     */
+    public Future<V> load(K key, Executor executor) {
+        return getOrCreate(key, executor);
+    }
+
+    /**
+     * @return true if a successfully loaded, not expired value is present
+     */
+    public boolean isLoaded(K key) {
+        Entry entry = entries.get(key);
+        return entry != null && entry.isDone() && !entry.isExpired();
+    }
+
+    /**
+     * @return number of requests served by a loaded or loading value
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * @return number of requests, that started a load
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    private Entry getOrCreate(K key, Executor executor) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.isExpired()) {
+            entries.remove(key, entry);
+            entry = null;
+        }
+        if (entry == null) {
+            Entry newEntry = new Entry(key);
+            entry = entries.putIfAbsent(key, newEntry);
+            if (entry == null) {
+                missCount.incrementAndGet();
+                entry = newEntry;
+                if (executor == null) {
+                    newEntry.run();
+                } else {
+                    executor.execute(newEntry);
+                }
+                return entry;
+            }
+        }
+        hitCount.incrementAndGet();
+        return entry;
+    }
+
+    /**
+     * Pending or finished load - failed loads remove themselves from the
+     * cache.
+     */
+    private class Entry extends FutureTask<V> {
+        private final K key;
+        private volatile long expires = Long.MAX_VALUE;
+
+        public Entry(final K key) {
+            super(new Callable<V>() {
+                @Override
+                public V call() throws Exception {
+                    return loader.load(key);
+                }
+            });
+            this.key = key;
+        }
+
+        @Override
+        protected void set(V v) {
+            if (expiryMillis > 0) {
+                expires = System.currentTimeMillis() + expiryMillis;
+            }
+            super.set(v);
+        }
+
+        @Override
+        protected void setException(Throwable t) {
+            entries.remove(key, this);
+            super.setException(t);
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled()) {
+                entries.remove(key, this);
+            }
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() > expires;
+        }
+    }
+}
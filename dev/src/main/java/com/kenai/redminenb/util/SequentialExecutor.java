@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 RedmineNB contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kenai.redminenb.util;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Executor, that runs the submitted tasks one after another in submission
+ * order on a shared (possibly multi-threaded) executor.
+ *
+ * <p>Work that depends on previously submitted work (for example updates
+ * of one editor) is submitted to a sequential executor, while independent
+ * work shares the threads of the underlying executor.</p>
+ */
+public final class SequentialExecutor implements Executor {
+    private static final Logger LOG = Logger.getLogger(SequentialExecutor.class.getName());
+
+    private final Executor delegate;
+    private final Queue<Runnable> queue = new ArrayDeque<>();
+    private boolean running;
+
+    public SequentialExecutor(Executor delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        synchronized (queue) {
+            queue.add(command);
+            if (running) {
+                return;
+            }
+            running = true;
+        }
+        try {
+            delegate.execute(worker);
+        } catch (RuntimeException ex) {
+            // Not scheduled (for example rejected after shutdown) - the
+            // next submission has to try again
+            synchronized (queue) {
+                queue.remove(command);
+                running = false;
+            }
+            throw ex;
+        }
+    }
+
+    private final Runnable worker = new Runnable() {
+        @Override
+        public void run() {
+            while (true) {
+                Runnable next;
+                synchronized (queue) {
+                    next = queue.poll();
+                    if (next == null) {
+                        running = false;
+                        return;
+                    }
+                }
+                try {
+                    next.run();
+                } catch (RuntimeException ex) {
+                    LOG.log(Level.WARNING, "Task failed", ex);
+                }
+            }
+        }
+    };
+}
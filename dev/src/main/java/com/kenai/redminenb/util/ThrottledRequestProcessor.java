@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 RedmineNB contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kenai.redminenb.util;
+
+import org.openide.util.RequestProcessor;
+
+/**
+ * Shared request processor, whose throughput follows a configured value.
+ *
+ * <p>The processor is created on first use and replaced when the configured
+ * throughput changes. A replaced processor is not shut down - work already
+ * posted to it finishes and its idle threads expire.</p>
+ */
+public final class ThrottledRequestProcessor {
+
+    private final String name;
+    private RequestProcessor processor;
+    private int throughput;
+
+    /**
+     * @param name name of the processor threads
+     */
+    public ThrottledRequestProcessor(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @param configuredThroughput current configured number of parallel
+     * tasks - values less than one are treated as one
+     * @return processor running at most the configured number of tasks in
+     * parallel
+     */
+    public synchronized RequestProcessor get(int configuredThroughput) {
+        int current = Math.max(1, configuredThroughput);
+        if (processor == null || throughput != current) {
+            processor = new RequestProcessor(name, current, true);
+            throughput = current;
+        }
+        return processor;
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2026 RedmineNB contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kenai.redminenb.util.markup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Size bounded cache of Textile markup rendered to HTML.
+ *
+ * <p>Entries are keyed by the Textile source - rendering only depends on
+ * the source, so identical notes share one entry independent of the
+ * journal or issue they belong to. The size of an entry is the number of
+ * characters of source and HTML, the least recently used entries are
+ * evicted when the size limit is exceeded.</p>
+ */
+public final class TextileCache {
+    private final Map<String, String> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final long maxSize;
+    private long size;
+
+    /**
+     * @param maxSize maximum number of characters (source and HTML) held,
+     * a value less or equal zero disables caching
+     */
+    public TextileCache(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Render the Textile source, a cached result is returned if present.
+     *
+     * @see TextileUtil#convertToHTML(java.lang.String)
+     */
+    public String convertToHTML(String textile) {
+        String html;
+        synchronized (entries) {
+            html = entries.get(textile);
+        }
+        if (html != null) {
+            hitCount.incrementAndGet();
+            return html;
+        }
+        missCount.incrementAndGet();
+        // Rendering happens outside the lock, concurrent misses for the same
+        // source render twice and store the same result
+        html = TextileUtil.convertToHTML(textile);
+        synchronized (entries) {
+            store(textile, html);
+        }
+        return html;
+    }
+
+    /**
+     * Render several Textile sources, the sources missing in the cache are
+     * rendered in parallel.
+     *
+     * @return the HTML of the sources in the order of the sources
+     * @see TextileUtil#convertToHTML(java.util.List)
+     */
+    public List<String> convertToHTML(List<String> textiles) {
+        List<String> result = new ArrayList<>(textiles.size());
+        Map<String, String> missing = new HashMap<>();
+        synchronized (entries) {
+            for (String textile : textiles) {
+                String html = entries.get(textile);
+                if (html == null) {
+                    missing.put(textile, null);
+                }
+                result.add(html);
+            }
+        }
+        hitCount.addAndGet(textiles.size() - missing.size());
+        missCount.addAndGet(missing.size());
+        if (missing.isEmpty()) {
+            return result;
+        }
+        List<String> sources = new ArrayList<>(missing.keySet());
+        List<String> rendered = TextileUtil.convertToHTML(sources);
+        synchronized (entries) {
+            for (int i = 0; i < sources.size(); i++) {
+                missing.put(sources.get(i), rendered.get(i));
+                store(sources.get(i), rendered.get(i));
+            }
+        }
+        for (int i = 0; i < result.size(); i++) {
+            if (result.get(i) == null) {
+                result.set(i, missing.get(textiles.get(i)));
+            }
+        }
+        return result;
+    }
+
+    private void store(String textile, String html) {
+        assert Thread.holdsLock(entries);
+        long entrySize = (long) textile.length() + html.length();
+        if (entrySize > maxSize) {
+            return;
+        }
+        String previous = entries.put(textile, html);
+        if (previous != null) {
+            size -= textile.length() + previous.length();
+        }
+        size += entrySize;
+        Iterator<Map.Entry<String, String>> it = entries.entrySet().iterator();
+        while (size > maxSize && it.hasNext()) {
+            Map.Entry<String, String> eldest = it.next();
+            size -= eldest.getKey().length() + eldest.getValue().length();
+            it.remove();
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            size = 0;
+        }
+    }
+
+    /**
+     * @return number of renderings served from the cache
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * @return number of renderings, that required parsing the source
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * @return number of cached renderings
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+}
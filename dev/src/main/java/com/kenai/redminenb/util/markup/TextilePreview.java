@@ -33,16 +33,7 @@ public class TextilePreview extends JScrollPane {
         this.setOpaque(false);
         
         HTMLEditorKit kit = new HTMLEditorKit();
-        StyleSheet ss = new StyleSheet();
-        try {
-            ss.loadRules(new InputStreamReader(
-                    TextilePreview.class.getResourceAsStream("/com/kenai/redminenb/util/markup/style.css"),
-                    StandardCharsets.UTF_8),
-                    new URL("file:///"));
-        } catch (IOException ex) {
-            Exceptions.printStackTrace(ex);
-        }
-        kit.setStyleSheet(ss);
+        kit.setStyleSheet(SharedStyle.STYLE_SHEET);
         htmlOutputLabel.setOpaque(false);
         htmlOutputLabel.setEditable(false);
         htmlOutputLabel.setContentType("text/html");
@@ -103,4 +94,25 @@ public class TextilePreview extends JScrollPane {
         htmlOutputLabel.setText("<html>" + text + "</html>");
         refreshHeight();
     }
+
+    /**
+     * The style sheet is parsed once and shared by all previews - documents
+     * only reference it.
+     */
+    private static class SharedStyle {
+        private static final StyleSheet STYLE_SHEET = loadStyleSheet();
+
+        private static StyleSheet loadStyleSheet() {
+            StyleSheet ss = new StyleSheet();
+            try {
+                ss.loadRules(new InputStreamReader(
+                        TextilePreview.class.getResourceAsStream("/com/kenai/redminenb/util/markup/style.css"),
+                        StandardCharsets.UTF_8),
+                        new URL("file:///"));
+            } catch (IOException ex) {
+                Exceptions.printStackTrace(ex);
+            }
+            return ss;
+        }
+    }
 }
@@ -17,15 +17,25 @@ package com.kenai.redminenb.util.markup;
 
 import java.io.StringWriter;
 import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import org.eclipse.mylyn.wikitext.core.parser.Attributes;
 import org.eclipse.mylyn.wikitext.core.parser.DocumentBuilder;
 import org.eclipse.mylyn.wikitext.core.parser.MarkupParser;
 import org.eclipse.mylyn.wikitext.core.parser.builder.HtmlDocumentBuilder;
 import org.eclipse.mylyn.wikitext.textile.core.TextileLanguage;
+import org.openide.util.RequestProcessor;
 
 /**
  * Textile Wiki Markup utility.
  *
+ * <p>The markup parser is not thread safe, every thread renders with its
+ * own parser, so documents can be rendered concurrently.</p>
+ *
  * @author Anchialas <anchialas@gmail.com>
  */
 public final class TextileUtil {
@@ -34,8 +44,11 @@ public final class TextileUtil {
         // omitted
     }
 
+    /**
+     * @return the textile parser of the calling thread
+     */
     public static MarkupParser getTextileMarkupParser() {
-        return LazyHolder.SINGLETON;
+        return LazyHolder.PARSERS.get();
     }
 
     public static String convertToHTML(String textile) {
@@ -67,13 +80,99 @@ public final class TextileUtil {
 
         MarkupParser parser = TextileUtil.getTextileMarkupParser();
         parser.setBuilder(builder);
-        parser.parse(textile);
-        parser.setBuilder(null);
+        try {
+            parser.parse(textile);
+        } finally {
+            parser.setBuilder(null);
+        }
+    }
+
+    /**
+     * Render several documents in parallel - the calling thread renders a
+     * share of the documents and waits for the rest.
+     *
+     * @return the HTML of the documents in the order of the sources
+     */
+    public static List<String> convertToHTML(List<String> textiles) {
+        final String[] result = new String[textiles.size()];
+        int chunks = Math.min(textiles.size(), Renderer.PARALLELISM);
+        List<Future<?>> parts = new ArrayList<>(Math.max(0, chunks - 1));
+        for (int i = 1; i < chunks; i++) {
+            parts.add(Renderer.RP.submit(new Renderer(textiles, result,
+                    i * textiles.size() / chunks, (i + 1) * textiles.size() / chunks)));
+        }
+        try {
+            if (chunks > 0) {
+                new Renderer(textiles, result, 0, textiles.size() / chunks).call();
+            }
+            for (Future<?> part : parts) {
+                part.get();
+            }
+        } catch (InterruptedException ex) {
+            cancelAll(parts);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Rendering was interrupted", ex);
+        } catch (ExecutionException ex) {
+            cancelAll(parts);
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            } else {
+                throw new IllegalStateException(cause);
+            }
+        } catch (RuntimeException ex) {
+            cancelAll(parts);
+            throw ex;
+        }
+        return Arrays.asList(result);
+    }
+
+    private static void cancelAll(List<? extends Future<?>> futures) {
+        for (Future<?> f : futures) {
+            f.cancel(true);
+        }
+    }
+
+    /**
+     * Renders a slice of the documents of a batch - the shared pool is
+     * sized to the number of processors as rendering is CPU bound.
+     */
+    private static class Renderer implements Callable<Void> {
+        private static final int PARALLELISM = Math.max(1, Runtime.getRuntime().availableProcessors());
+        private static final RequestProcessor RP = new RequestProcessor(
+                "Textile renderer", PARALLELISM, true); // NOI18N
+
+        private final List<String> textiles;
+        private final String[] result;
+        private final int from;
+        private final int to;
+
+        public Renderer(List<String> textiles, String[] result, int from, int to) {
+            this.textiles = textiles;
+            this.result = result;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public Void call() {
+            for (int i = from; i < to; i++) {
+                result[i] = convertToHTML(textiles.get(i));
+            }
+            return null;
+        }
     }
 
     private static class LazyHolder {
 
-        private static final MarkupParser SINGLETON = createMarkupParser();
+        private static final ThreadLocal<MarkupParser> PARSERS = new ThreadLocal<MarkupParser>() {
+            @Override
+            protected MarkupParser initialValue() {
+                return createMarkupParser();
+            }
+        };
 
         private static MarkupParser createMarkupParser() {
             MarkupParser markupParser = new MarkupParser();
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 RedmineNB contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kenai.redminenb.issue;
+
+import com.kenai.redminenb.RedmineConfig;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * Issue reference detection with single-word, multi-word and overlapping
+ * keywords.
+ */
+public class RedmineIssueFinderTest {
+
+    private final RedmineIssueFinder finder = RedmineIssueFinder.getTestInstance();
+
+    private String[] find(String keywords, String text) {
+        int[] spans = finder.getIssueSpans(text, IssueReferenceKeywords.compile(keywords));
+        String[] result = new String[spans.length / 2];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = text.substring(spans[2 * i], spans[2 * i + 1]);
+        }
+        return result;
+    }
+
+    @Test
+    public void testSingleWordKeywords() {
+        assertArrayEquals(new String[]{"bug 12", "Issue #13", "#14"},
+                find("bug, issue", "see bug 12, Issue #13 and #14")); // NOI18N
+        assertArrayEquals(new String[0],
+                find("bug, issue", "debug 12, issues 13")); // NOI18N
+    }
+
+    @Test
+    public void testMultiWordKeywords() {
+        assertArrayEquals(new String[]{"12"},
+                find("duplicate of", "duplicate of 12")); // NOI18N
+        assertArrayEquals(new String[]{"#13", "14"},
+                find("duplicate of", "Duplicate\n  OF #13; duplicate\tof 14")); // NOI18N
+        assertArrayEquals(new String[0],
+                find("duplicate of", "duplicate 15, of 16, duplicate the of 17")); // NOI18N
+    }
+
+    @Test
+    public void testOverlappingKeywords() {
+        // The longest keyword ending at the number wins
+        assertArrayEquals(new String[]{"12", "of 13"},
+                find("of, duplicate of", "duplicate of 12, part of 13")); // NOI18N
+        assertArrayEquals(new String[]{"14", "related 15"},
+                find("related, related to", "related to 14, related 15")); // NOI18N
+        // A keyword starting inside a partial match of another keyword
+        assertArrayEquals(new String[]{"16", "17"},
+                find("see also, also fixes", "see also fixes 16, see also 17")); // NOI18N
+        assertArrayEquals(new String[]{"18"},
+                find("a b c, b c d", "a b c d 18")); // NOI18N
+    }
+
+    @Test
+    public void testInvalidKeywordsIgnored() {
+        assertArrayEquals(new String[]{"bug 12"},
+                find("bug, x1, refs-to", "bug 12, x1 13, refs-to 14")); // NOI18N
+    }
+
+    @Test
+    public void testConfigurationChange() throws InterruptedException {
+        RedmineConfig config = RedmineConfig.getInstance();
+        String previous = config.getIssueReferenceKeywords();
+        String text = "refs 12"; // NOI18N
+        try {
+            config.setIssueReferenceKeywords("bug"); // NOI18N
+            assertEquals(0, awaitSpans(text, 0).length);
+            config.setIssueReferenceKeywords("bug, refs"); // NOI18N
+            assertArrayEquals(new int[]{0, 7}, awaitSpans(text, 2));
+        } finally {
+            config.setIssueReferenceKeywords(previous);
+        }
+    }
+
+    /**
+     * Preference changes are delivered asynchronously
+     */
+    private int[] awaitSpans(String text, int expectedLength) throws InterruptedException {
+        int[] spans = finder.getIssueSpans(text);
+        for (int i = 0; i < 100 && spans.length != expectedLength; i++) {
+            Thread.sleep(50);
+            spans = finder.getIssueSpans(text);
+        }
+        return spans;
+    }
+}
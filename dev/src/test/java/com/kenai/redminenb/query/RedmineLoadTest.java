@@ -0,0 +1,411 @@
+/*
+ * Copyright 2026 RedmineNB contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kenai.redminenb.query;
+
+import com.kenai.redminenb.RedmineConnector;
+import com.kenai.redminenb.api.AuthMode;
+import com.kenai.redminenb.diagnostics.LatencyStats;
+import com.kenai.redminenb.diagnostics.Metrics;
+import com.kenai.redminenb.issue.RedmineIssue;
+import com.kenai.redminenb.repository.FakeRedmineServer;
+import com.kenai.redminenb.repository.RedmineRepository;
+import com.kenai.redminenb.repository.TransferStatistics;
+import com.kenai.redminenb.util.NestedProject;
+import com.taskadapter.redmineapi.bean.Project;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.AfterClass;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.netbeans.modules.bugtracking.spi.RepositoryInfo;
+
+/**
+ * End-to-end load test of the repository and query classes against a
+ * {@link FakeRedmineServer}.
+ *
+ * <p>The test drives the real code paths - the repository creates its
+ * RedmineManager on the pooled client of the transport registry, queries
+ * page through the issue list and the issue store is written to a
+ * temporary configuration directory. For each phase throughput, latency
+ * percentiles and heap usage are reported on stdout.</p>
+ *
+ * <p>The test uses the network and its assertions depend on the machine,
+ * so it is excluded from the default build. It is enabled by the
+ * {@code load} profile, which is activated by the property
+ * {@code redminenb.load}. By default a small data set is used, the scale is
+ * configured by system properties, for example:</p>
+ *
+ * <pre>
+ * mvn test -Dredminenb.load -Dtest=RedmineLoadTest \
+ *     -Dredminenb.load.issues=50000 -Dredminenb.load.projects=1000 \
+ *     -Dredminenb.load.latency=20
+ * </pre>
+ *
+ * <p>Supported properties (prefix {@code redminenb.load.}): {@code issues},
+ * {@code projects}, {@code users}, {@code memberships}, {@code versions},
+ * {@code journals}, {@code attachments}, {@code queries}, {@code latency}
+ * (ms per request), {@code iterations} (full query refreshes),
+ * {@code threads} (concurrent clients) and {@code samples} (issues opened
+ * in detail).</p>
+ */
+public class RedmineLoadTest {
+    private static final String PREFIX = "redminenb.load."; // NOI18N
+
+    private static File configDir;
+    private static FakeRedmineServer server;
+    private static RedmineRepository repository;
+    private static final List<Phase> phases = new ArrayList<>();
+
+    @BeforeClass
+    public static void startServer() throws IOException {
+        System.setProperty("java.awt.headless", "true"); // NOI18N
+        configDir = Files.createTempDirectory("redminenb-load").toFile(); // NOI18N
+        System.setProperty("netbeans.t9y.redmine.nb.config.path", configDir.getAbsolutePath()); // NOI18N
+
+        server = new FakeRedmineServer();
+        server.setIssueCount(Integer.getInteger(PREFIX + "issues", 2000)); // NOI18N
+        server.setProjectCount(Integer.getInteger(PREFIX + "projects", 40)); // NOI18N
+        server.setUserCount(Integer.getInteger(PREFIX + "users", 100)); // NOI18N
+        server.setMembershipsPerProject(Integer.getInteger(PREFIX + "memberships", 10)); // NOI18N
+        server.setVersionsPerProject(Integer.getInteger(PREFIX + "versions", 5)); // NOI18N
+        server.setJournalsPerIssue(Integer.getInteger(PREFIX + "journals", 20)); // NOI18N
+        server.setAttachmentsPerIssue(Integer.getInteger(PREFIX + "attachments", 3)); // NOI18N
+        server.setSavedQueryCount(Integer.getInteger(PREFIX + "queries", 20)); // NOI18N
+        server.setLatency(Long.getLong(PREFIX + "latency", 0L)); // NOI18N
+        server.start();
+
+        repository = createRepository("Load test"); // NOI18N
+    }
+
+    @AfterClass
+    public static void stopServer() {
+        if (repository != null) {
+            repository.remove();
+            printReport(System.out);
+        }
+        if (server != null) {
+            server.stop();
+        }
+        deleteRecursively(configDir);
+    }
+
+    private static RedmineRepository createRepository(String name) {
+        RepositoryInfo info = new RepositoryInfo(
+                name + System.nanoTime(),
+                RedmineConnector.ID,
+                server.getUrl(),
+                name,
+                name,
+                null,
+                null,
+                null,
+                null);
+        RedmineRepository result = new RedmineRepository(info);
+        result.setAuthMode(AuthMode.AccessKey);
+        result.setAccessKey(FakeRedmineServer.API_KEY);
+        return result;
+    }
+
+    @Test
+    public void testLoad() throws Exception {
+        int iterations = Integer.getInteger(PREFIX + "iterations", 3); // NOI18N
+        int threads = Integer.getInteger(PREFIX + "threads", 4); // NOI18N
+        int samples = Integer.getInteger(PREFIX + "samples", 50); // NOI18N
+
+        Phase phase = startPhase("connect"); // NOI18N
+        long start = System.nanoTime();
+        assertNotNull(repository.getManager());
+        phase.record(start, 1);
+        phase.finish();
+
+        phase = startPhase("metadata"); // NOI18N
+        start = System.nanoTime();
+        assertEquals(3, repository.getTrackers().size());
+        phase.record(start, 1);
+        start = System.nanoTime();
+        assertEquals(6, repository.getStatuses().size());
+        phase.record(start, 1);
+        start = System.nanoTime();
+        assertEquals(5, repository.getIssuePriorities().size());
+        phase.record(start, 1);
+        start = System.nanoTime();
+        assertEquals(3, repository.getTimeEntryActivities().size());
+        phase.record(start, 1);
+        start = System.nanoTime();
+        assertEquals(server.getSavedQueryCount(), repository.getServersideQueries().size());
+        phase.record(start, server.getSavedQueryCount());
+        phase.finish();
+
+        phase = startPhase("projects"); // NOI18N
+        start = System.nanoTime();
+        Map<Integer, NestedProject> projectMap = repository.getProjects();
+        phase.record(start, projectMap.size());
+        phase.finish();
+        assertEquals(server.getProjectCount(), projectMap.size());
+        List<Project> projects = new ArrayList<>(projectMap.size());
+        for (NestedProject np : projectMap.values()) {
+            projects.add(np.getProject());
+        }
+
+        phase = startPhase("memberships"); // NOI18N
+        start = System.nanoTime();
+        repository.loadMemberships(projects, null);
+        phase.record(start, projects.size());
+        start = System.nanoTime();
+        assertFalse(repository.getAssigneeWrappers(projects).isEmpty());
+        phase.record(start, 1);
+        phase.finish();
+
+        phase = startPhase("versions+categories"); // NOI18N
+        for (Project p : projects.subList(0, Math.min(projects.size(), samples))) {
+            start = System.nanoTime();
+            assertFalse(repository.getVersions(p).isEmpty());
+            repository.getIssueCategories(p);
+            phase.record(start, 1);
+        }
+        phase.finish();
+
+        RedmineQuery query = new RedmineQuery(repository);
+        Map<String, ParameterValue[]> parameters = new HashMap<>();
+        parameters.put("status_id", new ParameterValue[]{new ParameterValue("*")}); // NOI18N
+        query.setParameters(parameters);
+        // Queries stop after MAX_PAGES pages - the newest issues are returned
+        int expected = Math.min(server.getIssueCount(), RedmineQuery.MAX_PAGES * RedmineQuery.PAGE_SIZE);
+        phase = startPhase("query.full"); // NOI18N
+        for (int i = 0; i < iterations; i++) {
+            start = System.nanoTime();
+            query.refresh();
+            phase.record(start, query.getIssues().size());
+            assertEquals(expected, query.getIssues().size());
+        }
+        phase.finish();
+
+        int[] touched = new int[Math.min(10, expected)];
+        for (int i = 0; i < touched.length; i++) {
+            touched[i] = server.getIssueCount() - i * (expected / touched.length);
+        }
+        Date before = repository.getIssue(Integer.toString(touched[0])).getIssue().getUpdatedOn();
+        server.touchIssues(touched);
+        phase = startPhase("query.delta"); // NOI18N
+        start = System.nanoTime();
+        query.refresh(true);
+        phase.record(start, touched.length);
+        phase.finish();
+        assertEquals(expected, query.getIssues().size());
+        Date after = repository.getIssue(Integer.toString(touched[0])).getIssue().getUpdatedOn();
+        assertTrue("Delta refresh must apply updated issues", after.after(before));
+
+        phase = startPhase("query.project x" + threads); // NOI18N
+        runProjectQueries(phase, threads, Math.max(1, samples / threads));
+        phase.finish();
+
+        List<String> ids = new ArrayList<>(samples);
+        Random random = new Random(42);
+        for (int i = 0; i < samples; i++) {
+            ids.add(Integer.toString(1 + random.nextInt(server.getIssueCount())));
+        }
+
+        phase = startPhase("issue.detail"); // NOI18N
+        for (String id : ids) {
+            RedmineIssue issue = repository.getIssue(id);
+            start = System.nanoTime();
+            assertTrue(issue.refresh());
+            phase.record(start, 1);
+            assertEquals(server.getJournalsPerIssue(), issue.getIssue().getJournals().size());
+            assertEquals(server.getAttachmentsPerIssue(), issue.getIssue().getAttachments().size());
+        }
+        phase.finish();
+
+        // Fresh repository - nothing is cached in memory yet
+        RedmineRepository coldRepository = createRepository("Bulk"); // NOI18N
+        try {
+            phase = startPhase("issue.bulk"); // NOI18N
+            start = System.nanoTime();
+            int found = coldRepository.getIssues(ids.toArray(new String[ids.size()])).size();
+            phase.record(start, found);
+            phase.finish();
+            assertEquals(ids.size(), found);
+        } finally {
+            coldRepository.remove();
+        }
+    }
+
+    private void runProjectQueries(final Phase phase, int threads, final int queriesPerThread) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Void>> results = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                final Random random = new Random(t);
+                results.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        for (int i = 0; i < queriesPerThread; i++) {
+                            int projectId = 1 + random.nextInt(server.getProjectCount());
+                            RedmineQuery query = new RedmineQuery(repository);
+                            Map<String, ParameterValue[]> parameters = new HashMap<>();
+                            parameters.put("project_id", new ParameterValue[]{ // NOI18N
+                                new ParameterValue(Integer.toString(projectId))});
+                            query.setParameters(parameters);
+                            long start = System.nanoTime();
+                            query.refresh();
+                            phase.record(start, query.getIssues().size());
+                            Map<String, String> filters = new HashMap<>();
+                            filters.put("project_id", Integer.toString(projectId)); // NOI18N
+                            assertEquals(server.countIssues(filters), query.getIssues().size());
+                        }
+                        return null;
+                    }
+                }));
+            }
+            for (Future<Void> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Phase startPhase(String name) {
+        Phase phase = new Phase(name);
+        phases.add(phase);
+        return phase;
+    }
+
+    private static void printReport(PrintStream out) {
+        out.println();
+        out.printf("Fake redmine: %d issues, %d projects, latency %d ms%n", // NOI18N
+                server.getIssueCount(), server.getProjectCount(), Long.getLong(PREFIX + "latency", 0L)); // NOI18N
+        out.printf("%-22s %6s %9s %10s %9s %9s %9s %9s %9s %9s%n", // NOI18N
+                "phase", "ops", "items", "items/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "heap MB", "peak MB"); // NOI18N
+        for (Phase phase : phases) {
+            phase.print(out);
+        }
+        out.println();
+        out.printf("%-48s %8s %8s %8s %8s %8s%n", "transport", "count", "errors", "mean ms", "p50 ms", "p95 ms"); // NOI18N
+        for (LatencyStats stats : Metrics.getLatencies()) {
+            out.printf("%-48s %8d %8d %8.1f %8d %8d%n", stats.getName(), stats.getCount(), // NOI18N
+                    stats.getErrorCount(), stats.getMeanMillis(), stats.getP50Millis(), stats.getP95Millis());
+        }
+        TransferStatistics transfer = repository.getTransferStatistics();
+        out.println();
+        out.printf("requests: %d, not modified: %d, received: %d KB, decoded: %d KB%n", // NOI18N
+                server.getRequestCount(), server.getNotModifiedCount(),
+                transfer.getReceivedBytes() / 1024, transfer.getDecodedBytes() / 1024);
+    }
+
+    private static void deleteRecursively(File file) {
+        if (file == null) {
+            return;
+        }
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        if (!file.delete()) {
+            file.deleteOnExit();
+        }
+    }
+
+    /**
+     * Latencies and heap usage of one phase of the test.
+     */
+    private static class Phase {
+        private final String name;
+        private final long startNanos = System.nanoTime();
+        private final List<Long> latencies = Collections.synchronizedList(new ArrayList<Long>());
+        private long items;
+        private long durationNanos;
+        private long heapUsed;
+        private long heapPeak;
+
+        Phase(String name) {
+            this.name = name;
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP) {
+                    pool.resetPeakUsage();
+                }
+            }
+        }
+
+        void record(long start, long itemCount) {
+            latencies.add(System.nanoTime() - start);
+            synchronized (this) {
+                items += itemCount;
+            }
+        }
+
+        void finish() {
+            durationNanos = System.nanoTime() - startNanos;
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP) {
+                    heapPeak += pool.getPeakUsage().getUsed();
+                }
+            }
+            // Heap still used after the phase
+            System.gc();
+            heapUsed = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        }
+
+        void print(PrintStream out) {
+            long[] sorted;
+            synchronized (latencies) {
+                sorted = new long[latencies.size()];
+                for (int i = 0; i < sorted.length; i++) {
+                    sorted[i] = latencies.get(i);
+                }
+            }
+            Arrays.sort(sorted);
+            double seconds = durationNanos / 1e9;
+            out.printf("%-22s %6d %9d %10.1f %9.1f %9.1f %9.1f %9.1f %9d %9d%n", // NOI18N
+                    name, sorted.length, items, seconds > 0 ? items / seconds : 0,
+                    percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99),
+                    percentile(sorted, 100),
+                    heapUsed / (1024 * 1024), heapPeak / (1024 * 1024));
+        }
+
+        private static double percentile(long[] sorted, int percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+            return sorted[Math.max(0, rank - 1)] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+}
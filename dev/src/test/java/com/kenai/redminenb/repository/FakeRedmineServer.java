@@ -0,0 +1,1050 @@
+/*
+ * Copyright 2026 RedmineNB contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kenai.redminenb.repository;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Read-only stand-in for the redmine REST API.
+ *
+ * <p>The server answers the JSON requests issued by the plugin (issues,
+ * projects, memberships, versions, categories, journals, attachments,
+ * watchers, saved queries and the enumerations) from synthetic data. The
+ * data is derived from the ids on each request, so even a server with
+ * hundreds of thousands of issues only keeps the issues marked as updated
+ * and a few cached search results in memory - the heap of the client is
+ * not hidden behind the heap of the server.</p>
+ *
+ * <p>Like redmine the server marks responses as private and to be
+ * revalidated, answers conditional requests with "304 Not Modified" and
+ * compresses responses if the client accepts it. A latency can be injected
+ * into every request.</p>
+ *
+ * <p>The scale is configured with the setters before the server is
+ * started.</p>
+ */
+public final class FakeRedmineServer {
+    private static final Logger LOG = Logger.getLogger(FakeRedmineServer.class.getName());
+
+    public static final String API_KEY = "fake-redmine-api-key"; // NOI18N
+    public static final int CURRENT_USER_ID = 1;
+    /**
+     * Redmine is served below a context path, like most installations - the
+     * API client does not resolve paths against a bare server URL.
+     */
+    private static final String CONTEXT_PATH = "/redmine"; // NOI18N
+
+    private static final int MAX_LIMIT = 100;
+    private static final int DEFAULT_LIMIT = 25;
+    private static final int MIN_COMPRESSED_SIZE = 1024;
+    private static final int SEARCH_CACHE_SIZE = 32;
+    /**
+     * Issues are created a minute apart starting from this timestamp.
+     */
+    private static final long BASE_TIME = 1420070400000L; // 2015-01-01T00:00:00Z
+
+    private static final String[] TRACKERS = {"Bug", "Feature", "Support"}; // NOI18N
+    private static final String[] STATUSES = {"New", "In Progress", "Resolved", "Feedback", "Closed", "Rejected"}; // NOI18N
+    private static final int FIRST_CLOSED_STATUS = 5;
+    private static final String[] PRIORITIES = {"Low", "Normal", "High", "Urgent", "Immediate"}; // NOI18N
+    private static final String[] ACTIVITIES = {"Design", "Development", "Testing"}; // NOI18N
+    private static final String[] WORDS = {
+        "editor", "query", "refresh", "timeout", "project", "version",
+        "attachment", "encoding", "proxy", "layout", "crash", "slow",
+        "window", "repository", "login", "export", "import", "filter"
+    }; // NOI18N
+
+    private static final Pattern PROJECT = Pattern.compile("/projects/([^/]+)\\.json"); // NOI18N
+    private static final Pattern PROJECT_RESOURCE = Pattern.compile("/projects/([^/]+)/(memberships|versions|issue_categories)\\.json"); // NOI18N
+    private static final Pattern ISSUE = Pattern.compile("/issues/(\\d+)\\.json"); // NOI18N
+
+    private int issueCount = 1000;
+    private int projectCount = 20;
+    private int userCount = 50;
+    private int membershipsPerProject = 10;
+    private int versionsPerProject = 5;
+    private int categoriesPerProject = 4;
+    private int journalsPerIssue = 10;
+    private int attachmentsPerIssue = 2;
+    private int savedQueryCount = 10;
+    private int threads = 16;
+    private volatile long latencyMillis;
+
+    private final ConcurrentMap<Integer, Long> updatedIssues = new ConcurrentHashMap<>();
+    private final AtomicInteger updateGeneration = new AtomicInteger();
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong notModifiedCount = new AtomicLong();
+    private final Map<String, int[]> searchCache = new LinkedHashMap<String, int[]>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, int[]> eldest) {
+            return size() > SEARCH_CACHE_SIZE;
+        }
+    };
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public int getIssueCount() {
+        return issueCount;
+    }
+
+    public void setIssueCount(int issueCount) {
+        this.issueCount = issueCount;
+    }
+
+    public int getProjectCount() {
+        return projectCount;
+    }
+
+    public void setProjectCount(int projectCount) {
+        this.projectCount = Math.max(1, projectCount);
+    }
+
+    public void setUserCount(int userCount) {
+        this.userCount = Math.max(1, userCount);
+    }
+
+    public int getMembershipsPerProject() {
+        return membershipsPerProject;
+    }
+
+    public void setMembershipsPerProject(int membershipsPerProject) {
+        this.membershipsPerProject = Math.max(1, membershipsPerProject);
+    }
+
+    public void setVersionsPerProject(int versionsPerProject) {
+        this.versionsPerProject = versionsPerProject;
+    }
+
+    public void setCategoriesPerProject(int categoriesPerProject) {
+        this.categoriesPerProject = categoriesPerProject;
+    }
+
+    public int getJournalsPerIssue() {
+        return journalsPerIssue;
+    }
+
+    public void setJournalsPerIssue(int journalsPerIssue) {
+        this.journalsPerIssue = journalsPerIssue;
+    }
+
+    public int getAttachmentsPerIssue() {
+        return attachmentsPerIssue;
+    }
+
+    public void setAttachmentsPerIssue(int attachmentsPerIssue) {
+        this.attachmentsPerIssue = attachmentsPerIssue;
+    }
+
+    public int getSavedQueryCount() {
+        return savedQueryCount;
+    }
+
+    public void setSavedQueryCount(int savedQueryCount) {
+        this.savedQueryCount = savedQueryCount;
+    }
+
+    /**
+     * @param threads number of requests handled concurrently
+     */
+    public void setThreads(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * @param latencyMillis time each request is delayed before it is
+     * answered, may be changed while the server is running
+     */
+    public void setLatency(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    /**
+     * @return number of requests received
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * @return number of requests answered with "304 Not Modified"
+     */
+    public long getNotModifiedCount() {
+        return notModifiedCount.get();
+    }
+
+    public synchronized void start() throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("Server is already running");
+        }
+        executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            private final AtomicInteger counter = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "Fake Redmine " + counter.incrementAndGet()); // NOI18N
+                t.setDaemon(true);
+                return t;
+            }
+        });
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(executor);
+        server.createContext(CONTEXT_PATH, new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                try {
+                    FakeRedmineServer.this.handle(exchange);
+                } finally {
+                    exchange.close();
+                }
+            }
+        });
+        server.start();
+    }
+
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+            executor = null;
+        }
+    }
+
+    /**
+     * @return base URL of the running server
+     */
+    public synchronized String getUrl() {
+        if (server == null) {
+            throw new IllegalStateException("Server is not running");
+        }
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + CONTEXT_PATH; // NOI18N
+    }
+
+    /**
+     * Mark the supplied issues as updated now.
+     */
+    public void touchIssues(int... ids) {
+        long now = System.currentTimeMillis();
+        for (int id : ids) {
+            if (id >= 1 && id <= issueCount) {
+                updatedIssues.put(id, now);
+            }
+        }
+        updateGeneration.incrementAndGet();
+    }
+
+    /**
+     * @return the number of issues matching the supplied filters of the
+     * issue list
+     */
+    public int countIssues(Map<String, String> filters) {
+        return findIssues(filters).length;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        long latency = latencyMillis;
+        if (latency > 0) {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        if (!"GET".equals(exchange.getRequestMethod())) { // NOI18N
+            sendError(exchange, 405);
+            return;
+        }
+        Map<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery());
+        if (!API_KEY.equals(exchange.getRequestHeaders().getFirst("X-Redmine-API-Key")) // NOI18N
+                && !API_KEY.equals(params.get("key"))) { // NOI18N
+            sendError(exchange, 401);
+            return;
+        }
+        String body;
+        try {
+            body = route(exchange.getRequestURI().getPath().substring(CONTEXT_PATH.length()), params);
+        } catch (IllegalArgumentException ex) {
+            sendError(exchange, 422);
+            return;
+        } catch (RuntimeException ex) {
+            LOG.log(Level.WARNING, "Failed to answer " + exchange.getRequestURI(), ex); // NOI18N
+            sendError(exchange, 500);
+            return;
+        }
+        if (body == null) {
+            sendError(exchange, 404);
+            return;
+        }
+        send(exchange, body);
+    }
+
+    private String route(String path, Map<String, String> params) {
+        switch (path) {
+            case "/users/current.json": // NOI18N
+                return userJson(CURRENT_USER_ID);
+            case "/issues.json": // NOI18N
+                return issuesJson(params);
+            case "/projects.json": // NOI18N
+                return projectsJson(params);
+            case "/trackers.json": // NOI18N
+                return namedListJson("trackers", TRACKERS, -1, -1); // NOI18N
+            case "/issue_statuses.json": // NOI18N
+                return namedListJson("issue_statuses", STATUSES, 1, FIRST_CLOSED_STATUS); // NOI18N
+            case "/enumerations/issue_priorities.json": // NOI18N
+                return namedListJson("issue_priorities", PRIORITIES, 2, -1); // NOI18N
+            case "/enumerations/time_entry_activities.json": // NOI18N
+                return namedListJson("time_entry_activities", ACTIVITIES, 2, -1); // NOI18N
+            case "/custom_fields.json": // NOI18N
+                return "{\"custom_fields\":[]}"; // NOI18N
+            case "/queries.json": // NOI18N
+                return queriesJson(params);
+            default:
+                break;
+        }
+        Matcher m = ISSUE.matcher(path);
+        if (m.matches()) {
+            int id = Integer.parseInt(m.group(1));
+            if (id < 1 || id > issueCount) {
+                return null;
+            }
+            String include = params.get("include"); // NOI18N
+            StringBuilder sb = new StringBuilder(4096);
+            sb.append("{\"issue\":"); // NOI18N
+            appendIssue(sb, id, include == null ? "" : include);
+            return sb.append('}').toString();
+        }
+        m = PROJECT_RESOURCE.matcher(path);
+        if (m.matches()) {
+            int projectId = resolveProject(m.group(1));
+            if (projectId < 0) {
+                return null;
+            }
+            switch (m.group(2)) {
+                case "memberships": // NOI18N
+                    return membershipsJson(projectId, params);
+                case "versions": // NOI18N
+                    return versionsJson(projectId);
+                default:
+                    return categoriesJson(projectId);
+            }
+        }
+        m = PROJECT.matcher(path);
+        if (m.matches()) {
+            int projectId = resolveProject(m.group(1));
+            if (projectId < 0) {
+                return null;
+            }
+            StringBuilder sb = new StringBuilder(256);
+            sb.append("{\"project\":"); // NOI18N
+            appendProject(sb, projectId);
+            return sb.append('}').toString();
+        }
+        return null;
+    }
+
+    private void send(HttpExchange exchange, String body) throws IOException {
+        byte[] data = body.getBytes(StandardCharsets.UTF_8);
+        String etag = "\"" + Integer.toHexString(body.hashCode()) + "-" + Integer.toHexString(data.length) + "\""; // NOI18N
+        Headers headers = exchange.getResponseHeaders();
+        headers.set("Cache-Control", "max-age=0, private, must-revalidate"); // NOI18N
+        headers.set("ETag", etag); // NOI18N
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) { // NOI18N
+            notModifiedCount.incrementAndGet();
+            // The JDK server drops the connection after a 304 - announce it,
+            // so the client does not try to reuse it
+            headers.set("Connection", "close"); // NOI18N
+            exchange.sendResponseHeaders(304, -1);
+            return;
+        }
+        headers.set("Content-Type", "application/json; charset=utf-8"); // NOI18N
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding"); // NOI18N
+        if (data.length >= MIN_COMPRESSED_SIZE && acceptEncoding != null
+                && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip")) { // NOI18N
+            ByteArrayOutputStream baos = new ByteArrayOutputStream(data.length / 4);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(baos)) {
+                gzip.write(data);
+            }
+            data = baos.toByteArray();
+            headers.set("Content-Encoding", "gzip"); // NOI18N
+        }
+        exchange.sendResponseHeaders(200, data.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(data);
+        }
+    }
+
+    private static void sendError(HttpExchange exchange, int code) throws IOException {
+        exchange.sendResponseHeaders(code, -1);
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> result = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return result;
+        }
+        try {
+            for (String pair : rawQuery.split("&")) { // NOI18N
+                int idx = pair.indexOf('=');
+                if (idx > 0) {
+                    result.put(URLDecoder.decode(pair.substring(0, idx), "UTF-8"), // NOI18N
+                            URLDecoder.decode(pair.substring(idx + 1), "UTF-8")); // NOI18N
+                }
+            }
+        } catch (UnsupportedEncodingException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return result;
+    }
+
+    /*
+     * Synthetic data - all attributes are derived from the ids
+     */
+
+    private int projectOf(int issueId) {
+        return 1 + (issueId - 1) % projectCount;
+    }
+
+    private static int trackerOf(int issueId) {
+        return 1 + issueId % TRACKERS.length;
+    }
+
+    private static int statusOf(int issueId) {
+        return 1 + (issueId * 7) % STATUSES.length;
+    }
+
+    private static int priorityOf(int issueId) {
+        return 1 + (issueId * 3) % PRIORITIES.length;
+    }
+
+    private int memberOf(int projectId, int index) {
+        return 2 + (projectId * 31 + index * 7) % userCount;
+    }
+
+    private int assigneeOf(int issueId) {
+        return memberOf(projectOf(issueId), issueId % membershipsPerProject);
+    }
+
+    private int authorOf(int issueId) {
+        return memberOf(projectOf(issueId), (issueId / 3) % membershipsPerProject);
+    }
+
+    private int versionOf(int issueId) {
+        if (versionsPerProject <= 0 || issueId % 4 == 0) {
+            return -1;
+        }
+        return (projectOf(issueId) - 1) * versionsPerProject + issueId % versionsPerProject + 1;
+    }
+
+    private int categoryOf(int issueId) {
+        if (categoriesPerProject <= 0 || issueId % 3 == 0) {
+            return -1;
+        }
+        return (projectOf(issueId) - 1) * categoriesPerProject + issueId % categoriesPerProject + 1;
+    }
+
+    private static long createdOn(int issueId) {
+        return BASE_TIME + issueId * 60000L;
+    }
+
+    private long updatedOn(int issueId) {
+        Long updated = updatedIssues.get(issueId);
+        if (updated != null) {
+            return updated;
+        }
+        return createdOn(issueId) + (issueId % 1000) * 1000L;
+    }
+
+    private static String subjectOf(int issueId) {
+        return WORDS[issueId % WORDS.length] + " " + WORDS[(issueId / 7) % WORDS.length] // NOI18N
+                + " " + WORDS[(issueId / 49) % WORDS.length] + " #" + issueId; // NOI18N
+    }
+
+    private static String userName(int userId) {
+        return userId == CURRENT_USER_ID ? "Load Test" : "User " + userId; // NOI18N
+    }
+
+    private static String projectName(int projectId) {
+        return "Project " + projectId; // NOI18N
+    }
+
+    private int resolveProject(String idOrIdentifier) {
+        int id;
+        try {
+            id = Integer.parseInt(idOrIdentifier);
+        } catch (NumberFormatException ex) {
+            if (!idOrIdentifier.startsWith("project-")) { // NOI18N
+                return -1;
+            }
+            try {
+                id = Integer.parseInt(idOrIdentifier.substring("project-".length())); // NOI18N
+            } catch (NumberFormatException ex2) {
+                return -1;
+            }
+        }
+        return id >= 1 && id <= projectCount ? id : -1;
+    }
+
+    /*
+     * Issue search
+     */
+
+    private int[] findIssues(Map<String, String> params) {
+        Map<String, String> filters = new HashMap<>(params);
+        filters.remove("offset"); // NOI18N
+        filters.remove("limit"); // NOI18N
+        filters.remove("key"); // NOI18N
+        filters.remove("sort"); // NOI18N
+        filters.remove("include"); // NOI18N
+        String cacheKey = updateGeneration.get() + " " + new TreeMap<>(filters); // NOI18N
+        synchronized (searchCache) {
+            int[] cached = searchCache.get(cacheKey);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        IssueFilter filter = new IssueFilter(filters);
+        int[] matches = new int[64];
+        int count = 0;
+        // Like redmine, newest issues first
+        for (int id = issueCount; id >= 1; id--) {
+            if (filter.matches(id)) {
+                if (count == matches.length) {
+                    matches = Arrays.copyOf(matches, count * 2);
+                }
+                matches[count++] = id;
+            }
+        }
+        int[] result = Arrays.copyOf(matches, count);
+        synchronized (searchCache) {
+            searchCache.put(cacheKey, result);
+        }
+        return result;
+    }
+
+    private String issuesJson(Map<String, String> params) {
+        int[] matches = findIssues(params);
+        int offset = parseInt(params.get("offset"), 0); // NOI18N
+        int limit = Math.min(MAX_LIMIT, parseInt(params.get("limit"), DEFAULT_LIMIT)); // NOI18N
+        StringBuilder sb = new StringBuilder(limit * 1024);
+        sb.append("{\"issues\":["); // NOI18N
+        for (int i = offset; i < matches.length && i < offset + limit; i++) {
+            if (i > offset) {
+                sb.append(',');
+            }
+            appendIssue(sb, matches[i], ""); // NOI18N
+        }
+        sb.append("],\"total_count\":").append(matches.length) // NOI18N
+                .append(",\"offset\":").append(offset) // NOI18N
+                .append(",\"limit\":").append(limit).append('}'); // NOI18N
+        return sb.toString();
+    }
+
+    private class IssueFilter {
+        private final int[] issueIds;
+        private final int projectId;
+        private final String status;
+        private final int[] trackers;
+        private final int[] priorities;
+        private final int[] assignees;
+        private final int[] versions;
+        private final int[] categories;
+        private final String subject;
+        private final boolean subjectNegated;
+        private final long updatedSince;
+        private final int queryId;
+
+        IssueFilter(Map<String, String> filters) {
+            issueIds = parseIds(filters.get("issue_id")); // NOI18N
+            String project = filters.get("project_id"); // NOI18N
+            projectId = project == null ? -1 : resolveProject(project);
+            if (project != null && projectId < 0) {
+                throw new IllegalArgumentException("Unknown project " + project);
+            }
+            status = filters.containsKey("status_id") ? filters.get("status_id") : "open"; // NOI18N
+            trackers = parseIds(filters.get("tracker_id")); // NOI18N
+            priorities = parseIds(filters.get("priority_id")); // NOI18N
+            String assignee = filters.get("assigned_to_id"); // NOI18N
+            assignees = "me".equals(assignee) ? new int[]{CURRENT_USER_ID} : parseIds(assignee); // NOI18N
+            versions = parseIds(filters.get("fixed_version_id")); // NOI18N
+            categories = parseIds(filters.get("category_id")); // NOI18N
+            String subjectFilter = filters.get("subject"); // NOI18N
+            if (subjectFilter == null) {
+                subject = null;
+                subjectNegated = false;
+            } else if (subjectFilter.startsWith("!~")) { // NOI18N
+                subject = subjectFilter.substring(2).toLowerCase(Locale.ROOT);
+                subjectNegated = true;
+            } else {
+                subject = (subjectFilter.startsWith("~") ? subjectFilter.substring(1) : subjectFilter).toLowerCase(Locale.ROOT); // NOI18N
+                subjectNegated = false;
+            }
+            String updated = filters.get("updated_on"); // NOI18N
+            updatedSince = updated == null ? Long.MIN_VALUE : parseTimestamp(updated.replaceFirst("^>=", "")); // NOI18N
+            queryId = parseInt(filters.get("query_id"), -1); // NOI18N
+        }
+
+        boolean matches(int id) {
+            if (issueIds != null && !contains(issueIds, id)) {
+                return false;
+            }
+            if (projectId > 0 && projectOf(id) != projectId) {
+                return false;
+            }
+            if (!matchesStatus(statusOf(id))) {
+                return false;
+            }
+            if ((trackers != null && !contains(trackers, trackerOf(id)))
+                    || (priorities != null && !contains(priorities, priorityOf(id)))
+                    || (assignees != null && !contains(assignees, assigneeOf(id)))
+                    || (versions != null && !contains(versions, versionOf(id)))
+                    || (categories != null && !contains(categories, categoryOf(id)))) {
+                return false;
+            }
+            if (queryId > 0 && id % (queryId + 1) != 0) {
+                return false;
+            }
+            if (updatedSince != Long.MIN_VALUE && updatedOn(id) < updatedSince) {
+                return false;
+            }
+            return subject == null
+                    || subjectOf(id).toLowerCase(Locale.ROOT).contains(subject) != subjectNegated;
+        }
+
+        private boolean matchesStatus(int statusId) {
+            switch (status) {
+                case "*": // NOI18N
+                    return true;
+                case "open": // NOI18N
+                    return statusId < FIRST_CLOSED_STATUS;
+                case "closed": // NOI18N
+                    return statusId >= FIRST_CLOSED_STATUS;
+                default:
+                    return contains(parseIds(status), statusId);
+            }
+        }
+    }
+
+    private static boolean contains(int[] values, int value) {
+        for (int v : values) {
+            if (v == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return null if no filter value is present
+     */
+    private static int[] parseIds(String value) {
+        if (value == null || value.isEmpty() || "*".equals(value)) { // NOI18N
+            return null;
+        }
+        if ("!*".equals(value)) { // NOI18N
+            // Every synthetic issue has the attribute set
+            return new int[0];
+        }
+        String[] parts = value.split("[,|]"); // NOI18N
+        int[] result = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            try {
+                result[i] = Integer.parseInt(parts[i].trim());
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Invalid id " + parts[i], ex);
+            }
+        }
+        return result;
+    }
+
+    private static int parseInt(String value, int defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid number " + value, ex);
+        }
+    }
+
+    private static long parseTimestamp(String value) {
+        try {
+            return timestampFormat().parse(value).getTime();
+        } catch (ParseException ex) {
+            throw new IllegalArgumentException("Invalid timestamp " + value, ex);
+        }
+    }
+
+    private static SimpleDateFormat timestampFormat() {
+        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'"); // NOI18N
+        sdf.setTimeZone(TimeZone.getTimeZone("UTC")); // NOI18N
+        return sdf;
+    }
+
+    private static SimpleDateFormat dateFormat() {
+        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd"); // NOI18N
+        sdf.setTimeZone(TimeZone.getTimeZone("UTC")); // NOI18N
+        return sdf;
+    }
+
+    /*
+     * JSON rendering
+     */
+
+    private void appendIssue(StringBuilder sb, int id, String include) {
+        SimpleDateFormat timestamps = timestampFormat();
+        int projectId = projectOf(id);
+        int statusId = statusOf(id);
+        long created = createdOn(id);
+        long updated = updatedOn(id);
+        sb.append("{\"id\":").append(id); // NOI18N
+        sb.append(",\"project\":"); // NOI18N
+        appendReference(sb, projectId, projectName(projectId));
+        sb.append(",\"tracker\":"); // NOI18N
+        appendReference(sb, trackerOf(id), TRACKERS[trackerOf(id) - 1]);
+        sb.append(",\"status\":"); // NOI18N
+        appendReference(sb, statusId, STATUSES[statusId - 1]);
+        sb.append(",\"priority\":"); // NOI18N
+        appendReference(sb, priorityOf(id), PRIORITIES[priorityOf(id) - 1]);
+        sb.append(",\"author\":"); // NOI18N
+        appendReference(sb, authorOf(id), userName(authorOf(id)));
+        sb.append(",\"assigned_to\":"); // NOI18N
+        appendReference(sb, assigneeOf(id), userName(assigneeOf(id)));
+        int versionId = versionOf(id);
+        if (versionId > 0) {
+            sb.append(",\"fixed_version\":"); // NOI18N
+            appendReference(sb, versionId, "Version " + versionId); // NOI18N
+        }
+        int categoryId = categoryOf(id);
+        if (categoryId > 0) {
+            sb.append(",\"category\":"); // NOI18N
+            appendReference(sb, categoryId, "Category " + categoryId); // NOI18N
+        }
+        sb.append(",\"subject\":"); // NOI18N
+        appendString(sb, subjectOf(id));
+        sb.append(",\"description\":"); // NOI18N
+        appendString(sb, descriptionOf(id));
+        sb.append(",\"start_date\":\"").append(dateFormat().format(new Date(created))).append('"'); // NOI18N
+        sb.append(",\"done_ratio\":").append((id * 10) % 110); // NOI18N
+        sb.append(",\"is_private\":false"); // NOI18N
+        sb.append(",\"estimated_hours\":").append(id % 16); // NOI18N
+        sb.append(",\"created_on\":\"").append(timestamps.format(new Date(created))).append('"'); // NOI18N
+        sb.append(",\"updated_on\":\"").append(timestamps.format(new Date(updated))).append('"'); // NOI18N
+        if (statusId >= FIRST_CLOSED_STATUS) {
+            sb.append(",\"closed_on\":\"").append(timestamps.format(new Date(updated))).append('"'); // NOI18N
+        }
+        if (include.contains("journals")) { // NOI18N
+            appendJournals(sb, id, timestamps);
+        }
+        if (include.contains("attachments")) { // NOI18N
+            appendAttachments(sb, id, timestamps);
+        }
+        if (include.contains("watchers")) { // NOI18N
+            sb.append(",\"watchers\":["); // NOI18N
+            appendReference(sb, authorOf(id), userName(authorOf(id)));
+            sb.append(',');
+            appendReference(sb, CURRENT_USER_ID, userName(CURRENT_USER_ID));
+            sb.append(']');
+        }
+        if (include.contains("relations")) { // NOI18N
+            sb.append(",\"relations\":[]"); // NOI18N
+        }
+        sb.append('}');
+    }
+
+    private String descriptionOf(int id) {
+        StringBuilder sb = new StringBuilder(512);
+        sb.append("h3. Steps to reproduce\n\n"); // NOI18N
+        for (int i = 0; i < 3; i++) {
+            sb.append("# Open the *").append(WORDS[(id + i) % WORDS.length]) // NOI18N
+                    .append("* dialog and select _").append(WORDS[(id * 3 + i) % WORDS.length]) // NOI18N
+                    .append("_\n"); // NOI18N
+        }
+        sb.append("\nSee also issue #").append(Math.max(1, id - 17)) // NOI18N
+                .append(" and @").append(subjectOf(id)).append("@.\n\n"); // NOI18N
+        sb.append("<pre>\nat com.example.").append(WORDS[id % WORDS.length]) // NOI18N
+                .append(".Main.run(Main.java:").append(id % 500).append(")\n</pre>"); // NOI18N
+        return sb.toString();
+    }
+
+    private void appendJournals(StringBuilder sb, int id, SimpleDateFormat timestamps) {
+        sb.append(",\"journals\":["); // NOI18N
+        for (int j = 0; j < journalsPerIssue; j++) {
+            if (j > 0) {
+                sb.append(',');
+            }
+            int userId = memberOf(projectOf(id), j % membershipsPerProject);
+            sb.append("{\"id\":").append((long) (id - 1) * journalsPerIssue + j + 1); // NOI18N
+            sb.append(",\"user\":"); // NOI18N
+            appendReference(sb, userId, userName(userId));
+            sb.append(",\"notes\":"); // NOI18N
+            appendString(sb, j % 4 == 3 ? "" : "Comment " + (j + 1) + " - the *" // NOI18N
+                    + WORDS[(id + j) % WORDS.length] + "* issue is related to #" // NOI18N
+                    + Math.max(1, id - j) + ", see attachment:file-1.txt"); // NOI18N
+            sb.append(",\"created_on\":\"").append(timestamps.format( // NOI18N
+                    new Date(createdOn(id) + (j + 1) * 3600000L))).append('"');
+            sb.append(",\"details\":["); // NOI18N
+            if (j % 3 == 0) {
+                sb.append("{\"property\":\"attr\",\"name\":\"status_id\",\"old_value\":\"1\",\"new_value\":\"2\"}"); // NOI18N
+            }
+            sb.append("]}"); // NOI18N
+        }
+        sb.append(']');
+    }
+
+    private void appendAttachments(StringBuilder sb, int id, SimpleDateFormat timestamps) {
+        sb.append(",\"attachments\":["); // NOI18N
+        for (int a = 0; a < attachmentsPerIssue; a++) {
+            if (a > 0) {
+                sb.append(',');
+            }
+            long attachmentId = (long) (id - 1) * attachmentsPerIssue + a + 1;
+            sb.append("{\"id\":").append(attachmentId); // NOI18N
+            sb.append(",\"filename\":\"file-").append(a + 1).append(".txt\""); // NOI18N
+            sb.append(",\"filesize\":").append(1024 * (a + 1)); // NOI18N
+            sb.append(",\"content_type\":\"text/plain\""); // NOI18N
+            sb.append(",\"description\":\"\""); // NOI18N
+            sb.append(",\"content_url\":\"").append(getUrl()).append("/attachments/download/") // NOI18N
+                    .append(attachmentId).append("/file-").append(a + 1).append(".txt\""); // NOI18N
+            sb.append(",\"author\":"); // NOI18N
+            appendReference(sb, authorOf(id), userName(authorOf(id)));
+            sb.append(",\"created_on\":\"").append(timestamps.format(new Date(createdOn(id)))).append("\"}"); // NOI18N
+        }
+        sb.append(']');
+    }
+
+    private String userJson(int userId) {
+        StringBuilder sb = new StringBuilder(256);
+        sb.append("{\"user\":{\"id\":").append(userId); // NOI18N
+        sb.append(",\"login\":\"user").append(userId).append('"'); // NOI18N
+        sb.append(",\"firstname\":\"").append(userId == CURRENT_USER_ID ? "Load" : "User").append('"'); // NOI18N
+        sb.append(",\"lastname\":\"").append(userId == CURRENT_USER_ID ? "Test" : Integer.toString(userId)).append('"'); // NOI18N
+        sb.append(",\"mail\":\"user").append(userId).append("@example.org\""); // NOI18N
+        sb.append(",\"created_on\":\"").append(timestampFormat().format(new Date(BASE_TIME))).append("\"}}"); // NOI18N
+        return sb.toString();
+    }
+
+    private String projectsJson(Map<String, String> params) {
+        int offset = parseInt(params.get("offset"), 0); // NOI18N
+        int limit = Math.min(MAX_LIMIT, parseInt(params.get("limit"), DEFAULT_LIMIT)); // NOI18N
+        StringBuilder sb = new StringBuilder(limit * 256);
+        sb.append("{\"projects\":["); // NOI18N
+        for (int id = offset + 1; id <= projectCount && id <= offset + limit; id++) {
+            if (id > offset + 1) {
+                sb.append(',');
+            }
+            appendProject(sb, id);
+        }
+        appendPaging(sb, projectCount, offset, limit);
+        return sb.toString();
+    }
+
+    private void appendProject(StringBuilder sb, int id) {
+        sb.append("{\"id\":").append(id); // NOI18N
+        sb.append(",\"name\":\"").append(projectName(id)).append('"'); // NOI18N
+        sb.append(",\"identifier\":\"project-").append(id).append('"'); // NOI18N
+        sb.append(",\"description\":\"Synthetic project ").append(id).append('"'); // NOI18N
+        if (id > 8) {
+            // Builds a tree with eight root projects
+            sb.append(",\"parent\":"); // NOI18N
+            appendReference(sb, id / 8, projectName(id / 8));
+        }
+        String created = timestampFormat().format(new Date(BASE_TIME));
+        sb.append(",\"created_on\":\"").append(created).append('"'); // NOI18N
+        sb.append(",\"updated_on\":\"").append(created).append("\"}"); // NOI18N
+    }
+
+    private String membershipsJson(int projectId, Map<String, String> params) {
+        int offset = parseInt(params.get("offset"), 0); // NOI18N
+        int limit = Math.min(MAX_LIMIT, parseInt(params.get("limit"), DEFAULT_LIMIT)); // NOI18N
+        StringBuilder sb = new StringBuilder(limit * 128);
+        sb.append("{\"memberships\":["); // NOI18N
+        for (int i = offset; i < membershipsPerProject && i < offset + limit; i++) {
+            if (i > offset) {
+                sb.append(',');
+            }
+            int userId = memberOf(projectId, i);
+            sb.append("{\"id\":").append((projectId - 1) * membershipsPerProject + i + 1); // NOI18N
+            sb.append(",\"project\":"); // NOI18N
+            appendReference(sb, projectId, projectName(projectId));
+            sb.append(",\"user\":"); // NOI18N
+            appendReference(sb, userId, userName(userId));
+            sb.append(",\"roles\":[{\"id\":").append(3 + i % 2) // NOI18N
+                    .append(",\"name\":\"").append(i % 2 == 0 ? "Manager" : "Developer").append("\"}]}"); // NOI18N
+        }
+        appendPaging(sb, membershipsPerProject, offset, limit);
+        return sb.toString();
+    }
+
+    private String versionsJson(int projectId) {
+        String created = timestampFormat().format(new Date(BASE_TIME));
+        StringBuilder sb = new StringBuilder(versionsPerProject * 256);
+        sb.append("{\"versions\":["); // NOI18N
+        for (int i = 0; i < versionsPerProject; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            int id = (projectId - 1) * versionsPerProject + i + 1;
+            sb.append("{\"id\":").append(id); // NOI18N
+            sb.append(",\"project\":"); // NOI18N
+            appendReference(sb, projectId, projectName(projectId));
+            sb.append(",\"name\":\"Version ").append(id).append('"'); // NOI18N
+            sb.append(",\"description\":\"\",\"status\":\"").append(i == 0 ? "closed" : "open").append('"'); // NOI18N
+            sb.append(",\"sharing\":\"none\""); // NOI18N
+            sb.append(",\"created_on\":\"").append(created).append('"'); // NOI18N
+            sb.append(",\"updated_on\":\"").append(created).append("\"}"); // NOI18N
+        }
+        sb.append("],\"total_count\":").append(versionsPerProject).append('}'); // NOI18N
+        return sb.toString();
+    }
+
+    private String categoriesJson(int projectId) {
+        StringBuilder sb = new StringBuilder(categoriesPerProject * 128);
+        sb.append("{\"issue_categories\":["); // NOI18N
+        for (int i = 0; i < categoriesPerProject; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            int id = (projectId - 1) * categoriesPerProject + i + 1;
+            sb.append("{\"id\":").append(id); // NOI18N
+            sb.append(",\"project\":"); // NOI18N
+            appendReference(sb, projectId, projectName(projectId));
+            sb.append(",\"name\":\"Category ").append(id).append("\"}"); // NOI18N
+        }
+        sb.append("],\"total_count\":").append(categoriesPerProject).append('}'); // NOI18N
+        return sb.toString();
+    }
+
+    private String queriesJson(Map<String, String> params) {
+        int offset = parseInt(params.get("offset"), 0); // NOI18N
+        int limit = Math.min(MAX_LIMIT, parseInt(params.get("limit"), DEFAULT_LIMIT)); // NOI18N
+        StringBuilder sb = new StringBuilder(limit * 96);
+        sb.append("{\"queries\":["); // NOI18N
+        for (int id = offset + 1; id <= savedQueryCount && id <= offset + limit; id++) {
+            if (id > offset + 1) {
+                sb.append(',');
+            }
+            sb.append("{\"id\":").append(id); // NOI18N
+            sb.append(",\"name\":\"Query ").append(id).append('"'); // NOI18N
+            sb.append(",\"is_public\":").append(id % 2 == 0); // NOI18N
+            if (id % 3 == 0) {
+                sb.append(",\"project_id\":").append(1 + (id - 1) % projectCount); // NOI18N
+            }
+            sb.append('}');
+        }
+        appendPaging(sb, savedQueryCount, offset, limit);
+        return sb.toString();
+    }
+
+    private static String namedListJson(String name, String[] values, int defaultId, int firstClosedId) {
+        StringBuilder sb = new StringBuilder(64 * values.length);
+        sb.append("{\"").append(name).append("\":["); // NOI18N
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"id\":").append(i + 1).append(",\"name\":"); // NOI18N
+            appendString(sb, values[i]);
+            if (defaultId > 0) {
+                sb.append(",\"is_default\":").append(i + 1 == defaultId); // NOI18N
+            }
+            if (firstClosedId > 0) {
+                sb.append(",\"is_closed\":").append(i + 1 >= firstClosedId); // NOI18N
+            }
+            sb.append('}');
+        }
+        return sb.append("]}").toString(); // NOI18N
+    }
+
+    private static void appendPaging(StringBuilder sb, int total, int offset, int limit) {
+        sb.append("],\"total_count\":").append(total) // NOI18N
+                .append(",\"offset\":").append(offset) // NOI18N
+                .append(",\"limit\":").append(limit).append('}'); // NOI18N
+    }
+
+    private static void appendReference(StringBuilder sb, int id, String name) {
+        sb.append("{\"id\":").append(id).append(",\"name\":"); // NOI18N
+        appendString(sb, name);
+        sb.append('}');
+    }
+
+    private static void appendString(StringBuilder sb, String value) {
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\""); // NOI18N
+                    break;
+                case '\\':
+                    sb.append("\\\\"); // NOI18N
+                    break;
+                case '\n':
+                    sb.append("\\n"); // NOI18N
+                    break;
+                case '\r':
+                    sb.append("\\r"); // NOI18N
+                    break;
+                case '\t':
+                    sb.append("\\t"); // NOI18N
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c)); // NOI18N
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        sb.append('"');
+    }
+}